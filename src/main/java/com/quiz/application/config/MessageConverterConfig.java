@@ -0,0 +1,47 @@
+package com.quiz.application.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.quiz.application.tracing.TracingCborHttpMessageConverter;
+import com.quiz.application.tracing.TracingJacksonHttpMessageConverter;
+import com.quiz.application.tracing.TracingSmileHttpMessageConverter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Jackson converters for the content types the API negotiates on the Accept and Content-Type headers: JSON,
+ * which stays the default, and the binary encodings application/cbor and application/x-jackson-smile, which
+ * carry the same documents in fewer bytes. Each replaces Spring Boot's converter for its type in place and
+ * is configured like the JSON one (dates, time zone), so only the encoding differs.
+ */
+@Configuration
+public class MessageConverterConfig {
+
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new TracingJacksonHttpMessageConverter(objectMapper);
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter mappingJackson2CborHttpMessageConverter(
+            Jackson2ObjectMapperBuilder builder) {
+        return new TracingCborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    // Smile already writes a repeated field name as a back-reference; repeated short values such as
+    // questionType get the same treatment
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter mappingJackson2SmileHttpMessageConverter(
+            Jackson2ObjectMapperBuilder builder) {
+        SmileFactory smileFactory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        return new TracingSmileHttpMessageConverter(builder.factory(smileFactory).build());
+    }
+}
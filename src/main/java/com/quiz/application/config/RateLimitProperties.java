@@ -0,0 +1,52 @@
+package com.quiz.application.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rate limit policies, checked in order; the first policy with a matching path pattern applies.
+ * Requests that match no policy are not limited. Invalid limits fail the startup rather than the first request.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "quiz.rate-limit")
+@Validated
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Upper bound on tracked clients; beyond it new clients of a policy share one overflow bucket
+    @Positive
+    private int maxBuckets = 100_000;
+
+    // How often full (idle) buckets are dropped
+    private Duration sweepInterval = Duration.ofMinutes(1);
+
+    @Valid
+    private List<Policy> policies = new ArrayList<>();
+
+    @Data
+    public static class Policy {
+        private String name;
+        private List<String> patterns = new ArrayList<>();
+        private KeyType key = KeyType.USER;
+        @Positive
+        private int capacity;
+        @Positive
+        private int refillPerMinute;
+    }
+
+    public enum KeyType {
+        // Authenticated user id from the JWT, falling back to the client IP for anonymous requests
+        USER,
+        IP
+    }
+}
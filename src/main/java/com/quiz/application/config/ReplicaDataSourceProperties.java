@@ -0,0 +1,34 @@
+package com.quiz.application.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Read replica that read-only transactions are routed to. The primary stays configured through
+ * {@code spring.datasource.*}; pool settings of the replica go under {@code quiz.datasource.replica.hikari.*}.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "quiz.datasource.replica")
+public class ReplicaDataSourceProperties {
+
+    private boolean enabled = false;
+
+    private String url;
+
+    private String username;
+
+    private String password;
+
+    // Derived from the URL when not set
+    private String driverClassName;
+
+    // Read-only transactions go to the primary while the replica is further behind than this
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    // How often a heartbeat is written to the primary and read back from the replica
+    private Duration heartbeatInterval = Duration.ofSeconds(1);
+}
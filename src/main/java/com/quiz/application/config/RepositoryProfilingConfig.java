@@ -0,0 +1,52 @@
+package com.quiz.application.config;
+
+import com.quiz.application.profiling.RepositoryProfiler;
+import com.quiz.application.profiling.SqlCaptureInspector;
+import com.quiz.application.tracing.RepositoryTracingInterceptor;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * Puts request tracing and, unless disabled, {@link RepositoryProfiler} in front of every Spring Data
+ * repository, outside the repository's own transaction and exception translation, and lets Hibernate report
+ * the SQL it issues to the profiler.
+ */
+@Configuration
+public class RepositoryProfilingConfig {
+
+    // Static so that registering the post-processor does not initialize this configuration early
+    @Bean
+    public static BeanPostProcessor repositoryProfilingPostProcessor(ObjectProvider<RepositoryProfiler> profiler,
+                                                                     Environment environment) {
+        boolean profilingEnabled = environment.getProperty("quiz.profiling.repository.enabled", Boolean.class, true);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repositoryInformation) -> {
+                                Class<?> repositoryInterface = repositoryInformation.getRepositoryInterface();
+                                if (profilingEnabled) {
+                                    proxyFactory.addAdvice(0, profiler.getObject().interceptor(repositoryInterface));
+                                }
+                                proxyFactory.addAdvice(0, new RepositoryTracingInterceptor(repositoryInterface));
+                            }));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "quiz.profiling.repository.enabled", havingValue = "true", matchIfMissing = true)
+    public HibernatePropertiesCustomizer sqlCaptureCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlCaptureInspector());
+    }
+}
@@ -0,0 +1,45 @@
+package com.quiz.application.config;
+
+import com.quiz.application.tracing.RequestTrace;
+import com.quiz.application.tracing.Span;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Request tracing hook into Spring MVC: a span around each controller method. Traces are started by
+ * {@code RequestTracingFilter}; serialization is timed by the converters in {@link MessageConverterConfig}.
+ */
+@Configuration
+public class TracingConfig implements WebMvcConfigurer {
+
+    private static final String HANDLER_SPAN_ATTRIBUTE = TracingConfig.class.getName() + ".handlerSpan";
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                if (handler instanceof HandlerMethod handlerMethod && RequestTrace.current() != null) {
+                    request.setAttribute(HANDLER_SPAN_ATTRIBUTE, RequestTrace.startSpan(
+                            handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName(),
+                            RequestTrace.CATEGORY_APP));
+                }
+                return true;
+            }
+
+            @Override
+            public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                        Exception ex) {
+                if (request.getAttribute(HANDLER_SPAN_ATTRIBUTE) instanceof Span span) {
+                    request.removeAttribute(HANDLER_SPAN_ATTRIBUTE);
+                    RequestTrace.endSpan(span);
+                }
+            }
+        });
+    }
+}
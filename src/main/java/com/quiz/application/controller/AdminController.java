@@ -3,15 +3,34 @@ package com.quiz.application.controller;
 import com.quiz.application.dto.AdminStatsDTO;
 import com.quiz.application.dto.AdminUserCreateRequest;
 import com.quiz.application.dto.ApiResponse;
+import com.quiz.application.dto.AttemptRollupDTO;
+import com.quiz.application.dto.DataSourceStatsDTO;
+import com.quiz.application.dto.EndpointStatsDTO;
+import com.quiz.application.dto.FlightRecordingDTO;
+import com.quiz.application.dto.RepositoryMethodStatsDTO;
+import com.quiz.application.dto.RequestTraceDTO;
 import com.quiz.application.dto.UserDTO;
+import com.quiz.application.profiling.EndpointProfiler;
+import com.quiz.application.profiling.RepositoryProfiler;
 import com.quiz.application.service.AdminService;
+import com.quiz.application.service.AttemptArchiveService;
+import com.quiz.application.service.AttemptRollupService;
+import com.quiz.application.service.AutocompleteService;
+import com.quiz.application.service.DataSourceStatsService;
+import com.quiz.application.service.FlightRecordingService;
+import com.quiz.application.service.QuizAttemptService;
+import com.quiz.application.service.QuizFacetService;
+import com.quiz.application.service.QuizSearchService;
+import com.quiz.application.tracing.RequestTraceStore;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -22,6 +41,39 @@ public class AdminController {
     @Autowired
     private AdminService adminService;
 
+    @Autowired
+    private QuizSearchService quizSearchService;
+
+    @Autowired
+    private QuizFacetService quizFacetService;
+
+    @Autowired
+    private AutocompleteService autocompleteService;
+
+    @Autowired
+    private AttemptRollupService attemptRollupService;
+
+    @Autowired
+    private QuizAttemptService quizAttemptService;
+
+    @Autowired
+    private AttemptArchiveService attemptArchiveService;
+
+    @Autowired
+    private DataSourceStatsService dataSourceStatsService;
+
+    @Autowired
+    private RepositoryProfiler repositoryProfiler;
+
+    @Autowired
+    private EndpointProfiler endpointProfiler;
+
+    @Autowired
+    private FlightRecordingService flightRecordingService;
+
+    @Autowired
+    private RequestTraceStore requestTraceStore;
+
     @GetMapping("/stats")
     public ResponseEntity<ApiResponse<AdminStatsDTO>> getAdminStats() {
         AdminStatsDTO stats = adminService.getAdminStats();
@@ -45,4 +97,118 @@ public class AdminController {
         adminService.deleteUser(id);
         return ResponseEntity.ok(ApiResponse.success(null, "User deleted successfully"));
     }
+
+    @PostMapping("/search/rebuild")
+    public ResponseEntity<ApiResponse<Integer>> rebuildSearchIndex() {
+        int indexed = quizSearchService.rebuild();
+        return ResponseEntity.ok(ApiResponse.success(indexed, "Search index rebuilt successfully"));
+    }
+
+    @PostMapping("/facets/rebuild")
+    public ResponseEntity<ApiResponse<Integer>> rebuildFacetIndex() {
+        int indexed = quizFacetService.rebuild();
+        return ResponseEntity.ok(ApiResponse.success(indexed, "Facet index rebuilt successfully"));
+    }
+
+    @PostMapping("/autocomplete/rebuild")
+    public ResponseEntity<ApiResponse<Integer>> rebuildAutocompleteIndex() {
+        int indexed = autocompleteService.rebuild();
+        return ResponseEntity.ok(ApiResponse.success(indexed, "Autocomplete index rebuilt successfully"));
+    }
+
+    @GetMapping("/analytics/attempts")
+    public ResponseEntity<ApiResponse<List<AttemptRollupDTO>>> getAttemptTimeSeries(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "hour") String granularity,
+            @RequestParam(required = false) Long quizId) {
+        List<AttemptRollupDTO> series = attemptRollupService.getTimeSeries(from, to, granularity, quizId);
+        return ResponseEntity.ok(ApiResponse.success(series, "Attempt analytics retrieved successfully"));
+    }
+
+    @GetMapping("/analytics/quizzes")
+    public ResponseEntity<ApiResponse<List<AttemptRollupDTO>>> getQuizTotals(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        List<AttemptRollupDTO> totals = attemptRollupService.getQuizTotals(from, to);
+        return ResponseEntity.ok(ApiResponse.success(totals, "Quiz analytics retrieved successfully"));
+    }
+
+    @PostMapping("/analytics/rebuild")
+    public ResponseEntity<ApiResponse<Integer>> rebuildAnalytics() {
+        int attempts = attemptRollupService.rebuild();
+        return ResponseEntity.ok(ApiResponse.success(attempts, "Attempt analytics rebuilt successfully"));
+    }
+
+    @PostMapping("/answers/migrate-option-storage")
+    public ResponseEntity<ApiResponse<Integer>> migrateOptionStorage() {
+        int migrated = quizAttemptService.migrateOptionStorage();
+        return ResponseEntity.ok(ApiResponse.success(migrated, "Answer options migrated successfully"));
+    }
+
+    @PostMapping("/archive/run")
+    public ResponseEntity<ApiResponse<Integer>> archiveAttempts() {
+        int archived = attemptArchiveService.archive();
+        return ResponseEntity.ok(ApiResponse.success(archived, "Attempts archived successfully"));
+    }
+
+    @GetMapping("/datasource")
+    public ResponseEntity<ApiResponse<DataSourceStatsDTO>> getDataSourceStats() {
+        DataSourceStatsDTO stats = dataSourceStatsService.getStats();
+        return ResponseEntity.ok(ApiResponse.success(stats, "Datasource statistics retrieved successfully"));
+    }
+
+    @GetMapping("/profiling/repositories")
+    public ResponseEntity<ApiResponse<List<RepositoryMethodStatsDTO>>> getRepositoryProfile(
+            @RequestParam(defaultValue = "total") String sort,
+            @RequestParam(defaultValue = "20") int limit) {
+        List<RepositoryMethodStatsDTO> methods = repositoryProfiler.getTopMethods(sort, limit);
+        return ResponseEntity.ok(ApiResponse.success(methods, "Repository profile retrieved successfully"));
+    }
+
+    @GetMapping("/profiling/endpoints")
+    public ResponseEntity<ApiResponse<List<EndpointStatsDTO>>> getEndpointProfile(
+            @RequestParam(defaultValue = "total") String sort,
+            @RequestParam(defaultValue = "20") int limit) {
+        List<EndpointStatsDTO> endpoints = endpointProfiler.getTopEndpoints(sort, limit);
+        return ResponseEntity.ok(ApiResponse.success(endpoints, "Endpoint profile retrieved successfully"));
+    }
+
+    @GetMapping("/traces")
+    public ResponseEntity<ApiResponse<List<RequestTraceDTO>>> getSlowTraces(
+            @RequestParam(defaultValue = "20") int limit) {
+        List<RequestTraceDTO> traces = requestTraceStore.getSlowTraces(limit);
+        return ResponseEntity.ok(ApiResponse.success(traces, "Slow traces retrieved successfully"));
+    }
+
+    @GetMapping("/traces/{id}")
+    public ResponseEntity<ApiResponse<RequestTraceDTO>> getSlowTrace(@PathVariable long id) {
+        RequestTraceDTO trace = requestTraceStore.getSlowTrace(id);
+        return ResponseEntity.ok(ApiResponse.success(trace, "Trace retrieved successfully"));
+    }
+
+    @GetMapping("/jfr")
+    public ResponseEntity<ApiResponse<FlightRecordingDTO>> getFlightRecording() {
+        FlightRecordingDTO recording = flightRecordingService.getStatus();
+        return ResponseEntity.ok(ApiResponse.success(recording, "Flight recording status retrieved successfully"));
+    }
+
+    @PostMapping("/jfr/start")
+    public ResponseEntity<ApiResponse<FlightRecordingDTO>> startFlightRecording(
+            @RequestParam(defaultValue = "profile") String settings) {
+        FlightRecordingDTO recording = flightRecordingService.start(settings);
+        return ResponseEntity.ok(ApiResponse.success(recording, "Flight recording started successfully"));
+    }
+
+    @PostMapping("/jfr/dump")
+    public ResponseEntity<ApiResponse<FlightRecordingDTO>> dumpFlightRecording() {
+        FlightRecordingDTO recording = flightRecordingService.dump();
+        return ResponseEntity.ok(ApiResponse.success(recording, "Flight recording dumped successfully"));
+    }
+
+    @PostMapping("/jfr/stop")
+    public ResponseEntity<ApiResponse<FlightRecordingDTO>> stopFlightRecording() {
+        FlightRecordingDTO recording = flightRecordingService.stop();
+        return ResponseEntity.ok(ApiResponse.success(recording, "Flight recording stopped successfully"));
+    }
 }
@@ -0,0 +1,56 @@
+package com.quiz.application.controller;
+
+import com.quiz.application.service.ExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/admin/export")
+@PreAuthorize("hasRole('ADMIN')")
+public class ExportController {
+
+    @Autowired
+    private ExportService exportService;
+
+    @GetMapping("/attempts")
+    public ResponseEntity<StreamingResponseBody> exportAttempts(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) Long quizId,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        ExportService.ExportFormat exportFormat = ExportService.ExportFormat.from(format);
+        StreamingResponseBody body = out -> exportService.exportAttempts(exportFormat, quizId, userId, from, to, out);
+        return download("attempts", exportFormat, body);
+    }
+
+    @GetMapping("/answers")
+    public ResponseEntity<StreamingResponseBody> exportAnswers(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) Long quizId,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        ExportService.ExportFormat exportFormat = ExportService.ExportFormat.from(format);
+        StreamingResponseBody body = out -> exportService.exportAnswers(exportFormat, quizId, userId, from, to, out);
+        return download("answers", exportFormat, body);
+    }
+
+    private ResponseEntity<StreamingResponseBody> download(String name, ExportService.ExportFormat format,
+                                                           StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + name + "." + format.getExtension() + "\"")
+                .body(body);
+    }
+}
@@ -2,10 +2,15 @@ package com.quiz.application.controller;
 
 import com.quiz.application.dto.ApiResponse;
 import com.quiz.application.dto.LeaderboardEntryDTO;
+import com.quiz.application.dto.ScoreDistributionDTO;
 import com.quiz.application.service.LeaderboardService;
+import com.quiz.application.service.LeaderboardStreamService;
+import com.quiz.application.service.ScoreDistributionService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -16,6 +21,12 @@ public class LeaderboardController {
     @Autowired
     private LeaderboardService leaderboardService;
     
+    @Autowired
+    private LeaderboardStreamService leaderboardStreamService;
+    
+    @Autowired
+    private ScoreDistributionService scoreDistributionService;
+    
     @GetMapping("/global")
     public ResponseEntity<ApiResponse<List<LeaderboardEntryDTO>>> getGlobalLeaderboard(
             @RequestParam(defaultValue = "10") int limit) {
@@ -30,4 +41,22 @@ public class LeaderboardController {
         List<LeaderboardEntryDTO> leaderboard = leaderboardService.getQuizLeaderboard(quizId, limit);
         return ResponseEntity.ok(ApiResponse.success(leaderboard, "Quiz leaderboard retrieved successfully"));
     }
+    
+    @GetMapping("/quiz/{quizId}/distribution")
+    public ResponseEntity<ApiResponse<ScoreDistributionDTO>> getScoreDistribution(
+            @PathVariable Long quizId,
+            @RequestParam(required = false) Double percentage) {
+        ScoreDistributionDTO distribution = scoreDistributionService.getDistribution(quizId, percentage);
+        return ResponseEntity.ok(ApiResponse.success(distribution, "Score distribution retrieved successfully"));
+    }
+    
+    @GetMapping(value = "/global/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamGlobalLeaderboard() {
+        return leaderboardStreamService.subscribeGlobal();
+    }
+    
+    @GetMapping(value = "/quiz/{quizId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamQuizLeaderboard(@PathVariable Long quizId) {
+        return leaderboardStreamService.subscribeQuiz(quizId);
+    }
 }
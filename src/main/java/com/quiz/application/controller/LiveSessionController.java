@@ -0,0 +1,72 @@
+package com.quiz.application.controller;
+
+import com.quiz.application.dto.ApiResponse;
+import com.quiz.application.dto.LiveAnswerRequest;
+import com.quiz.application.dto.LiveQuestionResultDTO;
+import com.quiz.application.dto.LiveSessionCreateRequest;
+import com.quiz.application.dto.LiveSessionDTO;
+import com.quiz.application.service.LiveSessionService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/live")
+public class LiveSessionController {
+    
+    @Autowired
+    private LiveSessionService liveSessionService;
+    
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<LiveSessionDTO>> createSession(@Valid @RequestBody LiveSessionCreateRequest request) {
+        LiveSessionDTO session = liveSessionService.createSession(request);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success(session, "Live session created successfully"));
+    }
+    
+    @GetMapping("/{code}")
+    public ResponseEntity<ApiResponse<LiveSessionDTO>> getSession(@PathVariable String code) {
+        LiveSessionDTO session = liveSessionService.getSession(code);
+        return ResponseEntity.ok(ApiResponse.success(session, "Live session retrieved successfully"));
+    }
+    
+    @GetMapping(value = "/{code}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter join(@PathVariable String code) {
+        return liveSessionService.join(code);
+    }
+    
+    @PostMapping("/{code}/answer")
+    public ResponseEntity<ApiResponse<Void>> submitAnswer(@PathVariable String code,
+                                                          @Valid @RequestBody LiveAnswerRequest request) {
+        liveSessionService.submitAnswer(code, request);
+        return ResponseEntity.ok(ApiResponse.success(null, "Answer received"));
+    }
+    
+    @PostMapping("/{code}/next")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<LiveSessionDTO>> openNextQuestion(@PathVariable String code,
+                                                                        @RequestParam(required = false) Integer durationSeconds) {
+        LiveSessionDTO session = liveSessionService.openNextQuestion(code, durationSeconds);
+        return ResponseEntity.ok(ApiResponse.success(session, "Question opened successfully"));
+    }
+    
+    @PostMapping("/{code}/close")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<LiveQuestionResultDTO>> closeQuestion(@PathVariable String code) {
+        LiveQuestionResultDTO result = liveSessionService.closeQuestion(code);
+        return ResponseEntity.ok(ApiResponse.success(result, "Question closed successfully"));
+    }
+    
+    @PostMapping("/{code}/end")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<LiveSessionDTO>> endSession(@PathVariable String code) {
+        LiveSessionDTO session = liveSessionService.endSession(code);
+        return ResponseEntity.ok(ApiResponse.success(session, "Live session ended successfully"));
+    }
+}
@@ -2,7 +2,9 @@ package com.quiz.application.controller;
 
 import com.quiz.application.dto.ApiResponse;
 import com.quiz.application.dto.QuestionCreateRequest;
+import com.quiz.application.dto.QuestionAnalyticsDTO;
 import com.quiz.application.dto.QuestionDTO;
+import com.quiz.application.service.ItemAnalysisService;
 import com.quiz.application.service.QuestionService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,6 +22,9 @@ public class QuestionController {
     @Autowired
     private QuestionService questionService;
     
+    @Autowired
+    private ItemAnalysisService itemAnalysisService;
+    
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ApiResponse<QuestionDTO>> createQuestion(@Valid @RequestBody QuestionCreateRequest request) {
@@ -46,4 +51,18 @@ public class QuestionController {
         List<QuestionDTO> questions = questionService.getQuestionsByQuizId(quizId);
         return ResponseEntity.ok(ApiResponse.success(questions, "Questions retrieved successfully"));
     }
+    
+    @GetMapping("/quiz/{quizId}/analytics")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<List<QuestionAnalyticsDTO>>> getQuestionAnalytics(@PathVariable Long quizId) {
+        List<QuestionAnalyticsDTO> analytics = itemAnalysisService.getQuizAnalytics(quizId);
+        return ResponseEntity.ok(ApiResponse.success(analytics, "Question analytics retrieved successfully"));
+    }
+    
+    @PostMapping("/quiz/{quizId}/analytics/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<Integer>> rebuildQuestionAnalytics(@PathVariable Long quizId) {
+        int attempts = itemAnalysisService.rebuild(quizId);
+        return ResponseEntity.ok(ApiResponse.success(attempts, "Question analytics rebuilt successfully"));
+    }
 }
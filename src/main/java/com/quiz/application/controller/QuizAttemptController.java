@@ -1,13 +1,16 @@
 package com.quiz.application.controller;
 
 import com.quiz.application.dto.*;
+import com.quiz.application.service.IdempotencyService;
 import com.quiz.application.service.QuizAttemptService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -17,6 +20,9 @@ public class QuizAttemptController {
     @Autowired
     private QuizAttemptService quizAttemptService;
     
+    @Autowired
+    private IdempotencyService idempotencyService;
+    
     @PostMapping("/start")
     public ResponseEntity<ApiResponse<QuizAttemptDTO>> startQuiz(@Valid @RequestBody StartQuizRequest request) {
         QuizAttemptDTO attempt = quizAttemptService.startQuiz(request);
@@ -25,14 +31,20 @@ public class QuizAttemptController {
     }
     
     @PostMapping("/submit-answer")
-    public ResponseEntity<ApiResponse<UserAnswerDTO>> submitAnswer(@Valid @RequestBody SubmitAnswerRequest request) {
-        UserAnswerDTO answer = quizAttemptService.submitAnswer(request);
+    public ResponseEntity<ApiResponse<UserAnswerDTO>> submitAnswer(
+            @Valid @RequestBody SubmitAnswerRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        UserAnswerDTO answer = idempotencyService.execute(idempotencyKey, "submit-answer", request,
+                () -> quizAttemptService.submitAnswer(request));
         return ResponseEntity.ok(ApiResponse.success(answer, "Answer submitted successfully"));
     }
     
     @PostMapping("/complete")
-    public ResponseEntity<ApiResponse<QuizAttemptDTO>> completeQuiz(@Valid @RequestBody CompleteQuizRequest request) {
-        QuizAttemptDTO attempt = quizAttemptService.completeQuiz(request);
+    public ResponseEntity<ApiResponse<QuizAttemptDTO>> completeQuiz(
+            @Valid @RequestBody CompleteQuizRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        QuizAttemptDTO attempt = idempotencyService.execute(idempotencyKey, "complete", request,
+                () -> quizAttemptService.completeQuiz(request));
         return ResponseEntity.ok(ApiResponse.success(attempt, "Quiz completed successfully"));
     }
     
@@ -43,8 +55,11 @@ public class QuizAttemptController {
     }
     
     @GetMapping("/my-attempts")
-    public ResponseEntity<ApiResponse<List<QuizAttemptDTO>>> getMyAttempts() {
-        List<QuizAttemptDTO> attempts = quizAttemptService.getMyAttempts();
+    public ResponseEntity<ApiResponse<List<QuizAttemptDTO>>> getMyAttempts(
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime beforeEndTime,
+            @RequestParam(required = false) Long beforeId) {
+        List<QuizAttemptDTO> attempts = quizAttemptService.getMyAttempts(limit, beforeEndTime, beforeId);
         return ResponseEntity.ok(ApiResponse.success(attempts, "Your attempts retrieved successfully"));
     }
     
@@ -1,17 +1,29 @@
 package com.quiz.application.controller;
 
 import com.quiz.application.dto.ApiResponse;
+import com.quiz.application.dto.AutocompleteSuggestionDTO;
+import com.quiz.application.dto.QuizChangesDTO;
 import com.quiz.application.dto.QuizCreateRequest;
 import com.quiz.application.dto.QuizDTO;
+import com.quiz.application.dto.QuizFacetResultDTO;
+import com.quiz.application.dto.QuizSearchResultDTO;
+import com.quiz.application.service.AutocompleteService;
+import com.quiz.application.service.QuizFacetService;
+import com.quiz.application.service.QuizSearchService;
 import com.quiz.application.service.QuizService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.MultiValueMap;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/quizzes")
@@ -19,6 +31,15 @@ public class QuizController {
     
     @Autowired
     private QuizService quizService;
+
+    @Autowired
+    private QuizSearchService quizSearchService;
+
+    @Autowired
+    private QuizFacetService quizFacetService;
+
+    @Autowired
+    private AutocompleteService autocompleteService;
     
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
@@ -50,6 +71,14 @@ public class QuizController {
         return ResponseEntity.ok(ApiResponse.success(quiz, "Quiz retrieved successfully"));
     }
     
+    @GetMapping("/{id}/changes")
+    public ResponseEntity<ApiResponse<QuizChangesDTO>> getQuizChanges(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "0") long sinceVersion) {
+        QuizChangesDTO changes = quizService.getQuizChanges(id, sinceVersion);
+        return ResponseEntity.ok(ApiResponse.success(changes, "Quiz changes retrieved successfully"));
+    }
+    
     @GetMapping
     public ResponseEntity<ApiResponse<List<QuizDTO>>> getAllQuizzes() {
         List<QuizDTO> quizzes = quizService.getAllQuizzes();
@@ -62,6 +91,39 @@ public class QuizController {
         return ResponseEntity.ok(ApiResponse.success(quizzes, "Quizzes retrieved successfully"));
     }
     
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<QuizSearchResultDTO>> searchQuizzes(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        QuizSearchResultDTO result = quizSearchService.search(q, page, size);
+        return ResponseEntity.ok(ApiResponse.success(result, "Search results retrieved successfully"));
+    }
+    
+    @GetMapping("/browse")
+    public ResponseEntity<ApiResponse<QuizFacetResultDTO>> browseQuizzes(
+            @RequestParam MultiValueMap<String, String> params,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        Map<String, Set<String>> filters = new HashMap<>();
+        params.forEach((name, values) -> {
+            if (!name.equals("page") && !name.equals("size")) {
+                filters.put(name, new HashSet<>(values));
+            }
+        });
+        QuizFacetResultDTO result = quizFacetService.browse(filters, page, size);
+        return ResponseEntity.ok(ApiResponse.success(result, "Quizzes retrieved successfully"));
+    }
+    
+    @GetMapping("/autocomplete")
+    public ResponseEntity<ApiResponse<List<AutocompleteSuggestionDTO>>> autocomplete(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "all") String type,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<AutocompleteSuggestionDTO> suggestions = autocompleteService.complete(prefix, type, limit);
+        return ResponseEntity.ok(ApiResponse.success(suggestions, "Suggestions retrieved successfully"));
+    }
+    
     @GetMapping("/topics")
     public ResponseEntity<ApiResponse<List<String>>> getAllTopics() {
         List<String> topics = quizService.getAllTopics();
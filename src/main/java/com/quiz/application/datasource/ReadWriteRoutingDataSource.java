@@ -0,0 +1,94 @@
+package com.quiz.application.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hands out replica connections inside read-only transactions while the replica is available, and primary
+ * connections otherwise. The transaction's read-only flag is only known once it has begun, so this must sit
+ * behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} that defers fetching the
+ * connection to its first statement. A replica that cannot hand out a connection is marked unavailable and the
+ * request falls back to the primary.
+ */
+public class ReadWriteRoutingDataSource extends AbstractDataSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+    public enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final HikariDataSource primary;
+    private final HikariDataSource replica;
+    private final Map<Route, LongAdder> connectionsServed = new EnumMap<>(Route.class);
+    private final LongAdder replicaFallbacks = new LongAdder();
+
+    // Written by ReplicaLagMonitor; the replica is only used once it has proven to keep up
+    private volatile boolean replicaAvailable;
+
+    public ReadWriteRoutingDataSource(HikariDataSource primary, HikariDataSource replica) {
+        this.primary = primary;
+        this.replica = replica;
+        for (Route route : Route.values()) {
+            connectionsServed.put(route, new LongAdder());
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (currentRoute() == Route.REPLICA) {
+            try {
+                Connection connection = replica.getConnection();
+                connectionsServed.get(Route.REPLICA).increment();
+                return connection;
+            } catch (SQLException e) {
+                logger.warn("Replica connection failed, routing reads to the primary", e);
+                replicaAvailable = false;
+                replicaFallbacks.increment();
+            }
+        }
+        connectionsServed.get(Route.PRIMARY).increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return (currentRoute() == Route.REPLICA ? replica : primary).getConnection(username, password);
+    }
+
+    public Route currentRoute() {
+        return replicaAvailable && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                ? Route.REPLICA
+                : Route.PRIMARY;
+    }
+
+    public void setReplicaAvailable(boolean replicaAvailable) {
+        this.replicaAvailable = replicaAvailable;
+    }
+
+    public boolean isReplicaAvailable() {
+        return replicaAvailable;
+    }
+
+    public HikariDataSource getPool(Route route) {
+        return route == Route.REPLICA ? replica : primary;
+    }
+
+    public long getConnectionsServed(Route route) {
+        return connectionsServed.get(route).sum();
+    }
+
+    public long getReplicaFallbacks() {
+        return replicaFallbacks.sum();
+    }
+}
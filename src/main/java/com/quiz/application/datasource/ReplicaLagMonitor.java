@@ -0,0 +1,126 @@
+package com.quiz.application.datasource;
+
+import com.quiz.application.config.ReplicaDataSourceProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures replication lag with a heartbeat: every interval the current time is written to the primary's
+ * {@code replica_heartbeat} row and read back from the replica, and the difference is how far the replica is
+ * behind. The replica takes read-only transactions only while the lag is within {@code max-lag}; a replica
+ * that cannot be read is treated as infinitely behind.
+ */
+@Component
+@ConditionalOnProperty(name = "quiz.datasource.replica.enabled", havingValue = "true")
+public class ReplicaLagMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private static final int HEARTBEAT_ID = 1;
+
+    @Autowired
+    private ReadWriteRoutingDataSource routingDataSource;
+
+    @Autowired
+    private ReplicaDataSourceProperties properties;
+
+    private JdbcTemplate primary;
+
+    private JdbcTemplate replica;
+
+    private volatile long lagMillis = -1;
+
+    private volatile long checkedAtMillis;
+
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    public void init() {
+        primary = new JdbcTemplate(routingDataSource.getPool(ReadWriteRoutingDataSource.Route.PRIMARY));
+        replica = new JdbcTemplate(routingDataSource.getPool(ReadWriteRoutingDataSource.Route.REPLICA));
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    // The heartbeat table only exists once the schema has been created
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        long intervalMillis = properties.getHeartbeatInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::checkQuietly, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void check() {
+        long now = System.currentTimeMillis();
+        try {
+            if (primary.update("UPDATE replica_heartbeat SET beat_millis = ? WHERE id = ?", now, HEARTBEAT_ID) == 0) {
+                primary.update("INSERT INTO replica_heartbeat (id, beat_millis) VALUES (?, ?)", HEARTBEAT_ID, now);
+            }
+        } catch (DuplicateKeyException e) {
+            // Another instance inserted the row first; its beat serves as well
+        } catch (DataAccessException e) {
+            logger.warn("Could not write the replica heartbeat to the primary", e);
+        }
+
+        long lag;
+        try {
+            Long beat = replica.queryForObject("SELECT beat_millis FROM replica_heartbeat WHERE id = ?",
+                    Long.class, HEARTBEAT_ID);
+            lag = beat != null ? Math.max(0, now - beat) : -1;
+        } catch (DataAccessException e) {
+            logger.debug("Could not read the replica heartbeat", e);
+            lag = -1;
+        }
+        lagMillis = lag;
+        checkedAtMillis = now;
+
+        boolean available = lag >= 0 && lag <= properties.getMaxLag().toMillis();
+        if (available != routingDataSource.isReplicaAvailable()) {
+            if (available) {
+                logger.info("Replica caught up ({} ms behind), routing read-only transactions to it", lag);
+            } else {
+                logger.warn("Replica unavailable or {} ms behind, routing read-only transactions to the primary", lag);
+            }
+        }
+        routingDataSource.setReplicaAvailable(available);
+    }
+
+    // Last measured lag, or -1 when the replica could not be read
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    public long getCheckedAtMillis() {
+        return checkedAtMillis;
+    }
+
+    private void checkQuietly() {
+        // Never let an exception escape: it would cancel the periodic task
+        try {
+            check();
+        } catch (RuntimeException e) {
+            logger.error("Replica lag check failed", e);
+        }
+    }
+}
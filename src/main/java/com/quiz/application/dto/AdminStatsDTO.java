@@ -16,4 +16,5 @@ public class AdminStatsDTO {
     private long totalQuestions;
     private long totalUsers;
     private long totalAttempts;
+    private long pendingAttemptDeadlines;
 }
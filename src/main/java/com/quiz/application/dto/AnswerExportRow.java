@@ -0,0 +1,44 @@
+package com.quiz.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class AnswerExportRow {
+    private Long answerId;
+    private Long attemptId;
+    private Long userId;
+    private Long quizId;
+    private Long questionId;
+    private Boolean isCorrect;
+    private Integer pointsEarned;
+    private LocalDateTime answeredAt;
+    private List<Long> selectedOptionIds = new ArrayList<>();
+    // Decoded into selectedOptionIds by the export
+    @JsonIgnore
+    private Long selectedOptionsMask;
+
+    // Used by the export query, which yields one row per selected option unless the selection is a mask
+    public AnswerExportRow(Long answerId, Long attemptId, Long userId, Long quizId, Long questionId,
+                           Boolean isCorrect, Integer pointsEarned, LocalDateTime answeredAt, Long selectedOptionsMask,
+                           Long selectedOptionId) {
+        this.answerId = answerId;
+        this.attemptId = attemptId;
+        this.userId = userId;
+        this.quizId = quizId;
+        this.questionId = questionId;
+        this.isCorrect = isCorrect;
+        this.pointsEarned = pointsEarned;
+        this.answeredAt = answeredAt;
+        this.selectedOptionsMask = selectedOptionsMask;
+        if (selectedOptionId != null) {
+            this.selectedOptionIds.add(selectedOptionId);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.quiz.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// The packed answers of one archived attempt; a projection so exported attempts never enter the persistence context
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedAnswersExportRow {
+    private Long attemptId;
+    private Long userId;
+    private Long quizId;
+    private byte[] answers;
+}
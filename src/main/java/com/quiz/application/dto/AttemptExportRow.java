@@ -0,0 +1,26 @@
+package com.quiz.application.dto;
+
+import com.quiz.application.entity.QuizAttempt;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttemptExportRow {
+    private Long attemptId;
+    private Long userId;
+    private String username;
+    private Long quizId;
+    private QuizAttempt.AttemptStatus status;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private Integer scoreObtained;
+    private Integer totalScore;
+    private Double percentageScore;
+    private Boolean isPassed;
+    private Integer timeTakenMinutes;
+}
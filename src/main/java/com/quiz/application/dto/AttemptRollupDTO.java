@@ -0,0 +1,30 @@
+package com.quiz.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AttemptRollupDTO {
+    // Set for time-series rows; granularity can be coarser than requested where old data was compacted
+    private LocalDateTime bucketStart;
+    private String granularity;
+    // Set for per-quiz rows
+    private Long quizId;
+    private long started;
+    private long completed;
+    private long abandoned;
+    private long expired;
+    private long passed;
+    private long failed;
+    private long scoreSum;
+    private Double averageScore;
+    private Double averagePercentage;
+    private Double passRate;
+}
@@ -0,0 +1,17 @@
+package com.quiz.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AutocompleteSuggestionDTO {
+    private String text;
+    private String type;
+    private Long quizId;
+    private Long popularity;
+}
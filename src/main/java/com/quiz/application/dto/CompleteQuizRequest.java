@@ -12,4 +12,7 @@ public class CompleteQuizRequest {
     
     @NotNull(message = "Attempt ID is required")
     private Long attemptId;
+    
+    // The graded answers are only loaded and returned when asked for
+    private Boolean includeAnswers;
 }
@@ -0,0 +1,22 @@
+package com.quiz.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ConnectionPoolStatsDTO {
+    private String route;
+    private String poolName;
+    private int activeConnections;
+    private int idleConnections;
+    private int totalConnections;
+    private int threadsAwaitingConnection;
+    private int maximumPoolSize;
+    // Connections handed out on this route since startup; null without routing
+    private Long connectionsServed;
+}
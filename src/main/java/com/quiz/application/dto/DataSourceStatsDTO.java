@@ -0,0 +1,25 @@
+package com.quiz.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DataSourceStatsDTO {
+    private boolean routingEnabled;
+    // The replica fields are only set with routing enabled
+    private Boolean replicaAvailable;
+    // -1 when the replica could not be read
+    private Long replicaLagMillis;
+    private LocalDateTime replicaCheckedAt;
+    // Read-only transactions sent to the primary because the replica refused a connection
+    private Long replicaFallbacks;
+    private List<ConnectionPoolStatsDTO> pools;
+}
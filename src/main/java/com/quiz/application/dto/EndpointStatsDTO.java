@@ -0,0 +1,36 @@
+package com.quiz.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EndpointStatsDTO {
+    // Controller method, e.g. QuizController.getQuizById
+    private String endpoint;
+    // HTTP method and mapped path, e.g. GET /quizzes/{id}
+    private String route;
+    private long calls;
+    // Requests answered with a 5xx status or failed with an exception
+    private long errors;
+    private double totalMillis;
+    private double meanMillis;
+    private double p50Millis;
+    private double p95Millis;
+    private double p99Millis;
+    private double maxMillis;
+    // CPU time of the request thread
+    private double totalCpuMillis;
+    private double meanCpuMillis;
+    private double p99CpuMillis;
+    // Heap bytes allocated by the request thread; -1 when the JVM cannot measure allocation
+    private long totalAllocatedBytes;
+    private long meanAllocatedBytes;
+    private long p50AllocatedBytes;
+    private long p99AllocatedBytes;
+    private long maxAllocatedBytes;
+}
@@ -0,0 +1,27 @@
+package com.quiz.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FlightRecordingDTO {
+    // Null when no recording has been started
+    private Long id;
+    // NEW, RUNNING, STOPPED or CLOSED, or NONE
+    private String state;
+    // JFR configuration the recording was started with: default or profile
+    private String settings;
+    private LocalDateTime startedAt;
+    private long maxAgeMinutes;
+    private long maxSizeBytes;
+    // File written by the last dump or stop, on the server
+    private String dumpFile;
+    private Long dumpSizeBytes;
+}
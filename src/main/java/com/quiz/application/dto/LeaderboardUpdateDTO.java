@@ -0,0 +1,21 @@
+package com.quiz.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LeaderboardUpdateDTO {
+    // SNAPSHOT carries the full board, DELTA only the entries that changed since the previous version
+    private String type;
+    private String leaderboard;
+    private long version;
+    private List<LeaderboardEntryDTO> entries;
+    private List<Long> removedUserIds;
+}
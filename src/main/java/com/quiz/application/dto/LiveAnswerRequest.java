@@ -0,0 +1,20 @@
+package com.quiz.application.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LiveAnswerRequest {
+    
+    @NotNull(message = "Question ID is required")
+    private Long questionId;
+    
+    @NotNull(message = "Selected options are required")
+    private Set<Long> selectedOptionIds;
+}
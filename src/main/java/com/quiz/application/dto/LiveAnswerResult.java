@@ -0,0 +1,20 @@
+package com.quiz.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LiveAnswerResult {
+    private Long userId;
+    private Long questionId;
+    private Set<Long> selectedOptionIds;
+    private Boolean isCorrect;
+    private Integer pointsEarned;
+}
@@ -0,0 +1,25 @@
+package com.quiz.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LiveQuestionResultDTO {
+    private Long questionId;
+    private Integer questionIndex;
+    private Set<Long> correctOptionIds;
+    private Map<Long, Integer> optionCounts;
+    private Integer answeredCount;
+    private Integer correctCount;
+    private String explanation;
+    private List<LeaderboardEntryDTO> standings;
+}
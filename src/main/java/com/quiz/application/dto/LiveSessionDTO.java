@@ -0,0 +1,30 @@
+package com.quiz.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LiveSessionDTO {
+    private String code;
+    private Long quizId;
+    private String quizTitle;
+    private String hostUsername;
+    private String state;
+    private Integer participantCount;
+    // Zero-based index of the open or last closed question, null before the first one
+    private Integer currentQuestionIndex;
+    private Integer totalQuestions;
+    // Open question without correct-answer flags; null when no question is open
+    private QuestionDTO currentQuestion;
+    private LocalDateTime questionClosesAt;
+    private LocalDateTime createdAt;
+    private List<LeaderboardEntryDTO> standings;
+}
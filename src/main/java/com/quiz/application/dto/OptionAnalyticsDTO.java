@@ -0,0 +1,18 @@
+package com.quiz.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OptionAnalyticsDTO {
+    private Long optionId;
+    private String optionText;
+    private Boolean isCorrect;
+    private long selectedCount;
+    private Double selectionRate;
+}
@@ -0,0 +1,27 @@
+package com.quiz.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuestionAnalyticsDTO {
+    private Long questionId;
+    private String questionText;
+    private long responses;
+    private long correct;
+    // Share of completed attempts that answered correctly, 0..1
+    @JsonProperty("pValue")
+    private Double pValue;
+    // Point-biserial correlation between answering correctly and the score on the rest of the quiz, -1..1
+    private Double discrimination;
+    private List<String> flags;
+    private List<OptionAnalyticsDTO> options;
+}
@@ -20,6 +20,7 @@ public class QuizAttemptDTO {
     private String quizTitle;
     private Integer timeLimitMinutes;
     private LocalDateTime startTime;
+    private LocalDateTime deadline;
     private LocalDateTime endTime;
     private Integer scoreObtained;
     private Integer totalScore;
@@ -28,7 +29,12 @@ public class QuizAttemptDTO {
     private String status;
     private Integer timeTakenMinutes;
     private List<UserAnswerDTO> answers;
+    // Left out when the client's cached questions are current (StartQuizRequest.knownContentVersion)
     private List<QuestionDTO> questions;
+    private Long contentVersion;
     private Integer totalQuestions;
     private Integer attemptCount;
+    // Only on completion: how this attempt compares with earlier completed attempts of the quiz
+    private Double percentile;
+    private ScoreDistributionDTO scoreDistribution;
 }
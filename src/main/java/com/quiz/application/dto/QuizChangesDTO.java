@@ -0,0 +1,27 @@
+package com.quiz.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuizChangesDTO {
+    private Long quizId;
+    // Version the changes apply to; 0 when the client has to start over
+    private long fromVersion;
+    // Version the client holds after applying the changes
+    private long version;
+    // The client should replace its cached questions with the added ones instead of merging
+    private boolean full;
+    // Current quiz details, without questions
+    private QuizDTO quiz;
+    private List<QuestionDTO> added;
+    private List<QuestionDTO> changed;
+    private List<Long> removedQuestionIds;
+}
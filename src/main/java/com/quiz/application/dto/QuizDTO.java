@@ -25,6 +25,8 @@ public class QuizDTO {
     private String createdByUsername;
     private Integer totalQuestions;
     private Integer totalPoints;
+    // Increases with every change to the quiz or its questions; see GET /quizzes/{id}/changes
+    private Long contentVersion;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private List<QuestionDTO> questions;
@@ -0,0 +1,21 @@
+package com.quiz.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuizFacetResultDTO {
+    private int page;
+    private int size;
+    private long totalHits;
+    private List<QuizSummaryDTO> quizzes;
+    private Map<String, Map<String, Integer>> facets;
+}
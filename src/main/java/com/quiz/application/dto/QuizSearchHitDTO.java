@@ -0,0 +1,20 @@
+package com.quiz.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class QuizSearchHitDTO {
+    private Long quizId;
+    private String title;
+    private String topic;
+    private String difficultyLevel;
+    private Boolean active;
+    private Integer totalQuestions;
+    private Float score;
+}
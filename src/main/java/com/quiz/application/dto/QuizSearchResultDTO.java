@@ -0,0 +1,20 @@
+package com.quiz.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuizSearchResultDTO {
+    private String query;
+    private int page;
+    private int size;
+    private long totalHits;
+    private List<QuizSearchHitDTO> hits;
+}
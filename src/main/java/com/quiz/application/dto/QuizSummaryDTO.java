@@ -0,0 +1,20 @@
+package com.quiz.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuizSummaryDTO {
+    private Long id;
+    private String title;
+    private String topic;
+    private String difficultyLevel;
+    private Integer timeLimitMinutes;
+    private Boolean active;
+    private Integer totalQuestions;
+}
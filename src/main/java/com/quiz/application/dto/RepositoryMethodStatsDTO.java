@@ -0,0 +1,30 @@
+package com.quiz.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RepositoryMethodStatsDTO {
+    // Repository interface and method with parameter types, e.g. QuizRepository.findById(Long)
+    private String method;
+    private long calls;
+    private long errors;
+    private long slowCalls;
+    private double totalMillis;
+    private double meanMillis;
+    private double p50Millis;
+    private double p95Millis;
+    private double p99Millis;
+    private double maxMillis;
+    // Rows returned or affected; calls returning a Stream are not counted
+    private long rows;
+    // Calls per calling application method, most frequent first
+    private Map<String, Long> callers;
+}
@@ -0,0 +1,27 @@
+package com.quiz.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RequestTraceDTO {
+    private long id;
+    private String method;
+    private String path;
+    private int status;
+    private LocalDateTime startedAt;
+    private double durationMillis;
+    // Time spent in each category, excluding nested spans of other categories
+    private Map<String, Double> phaseMillis;
+    private int droppedSpans;
+    // Only set when a single trace is requested
+    private TraceSpanDTO root;
+}
@@ -0,0 +1,26 @@
+package com.quiz.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ScoreDistributionDTO {
+    private Long quizId;
+    private long completedAttempts;
+    private Double averagePercentage;
+    private Double p25;
+    private Double median;
+    private Double p75;
+    private Double p90;
+    // Attempts per 10-point band of percentage score: [0, 10), [10, 20), ..., [90, 100]
+    private List<Long> histogram;
+    // Share of other attempts scoring below the requested score, when one was given
+    private Double percentile;
+}
@@ -12,4 +12,7 @@ public class StartQuizRequest {
     
     @NotNull(message = "Quiz ID is required")
     private Long quizId;
+    
+    // Content version of the client's cached questions, if any
+    private Long knownContentVersion;
 }
@@ -0,0 +1,22 @@
+package com.quiz.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TraceSpanDTO {
+    private String name;
+    // app, auth, user, db or json
+    private String category;
+    // Offset from the start of the request
+    private long startNanos;
+    private long durationNanos;
+    private List<TraceSpanDTO> children;
+}
@@ -0,0 +1,63 @@
+package com.quiz.application.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// A finished attempt moved out of quiz_attempts, keeping its id and created_at; its answers are packed by
+// ArchivedAnswers. There are no foreign keys so archived rows never hold up changes to the hot tables.
+@Entity
+@Table(name = "archived_attempts", indexes = {
+        @Index(name = "idx_archived_attempts_user_status_end", columnList = "user_id, status, end_time"),
+        @Index(name = "idx_archived_attempts_user_quiz", columnList = "user_id, quiz_id"),
+        @Index(name = "idx_archived_attempts_quiz_status", columnList = "quiz_id, status")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(callSuper = true)
+@ToString(exclude = {"answers"})
+public class ArchivedAttempt extends BaseEntity {
+
+    @Id
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "quiz_id", nullable = false)
+    private Long quizId;
+
+    @Column(name = "start_time", nullable = false)
+    private LocalDateTime startTime;
+
+    @Column(name = "end_time")
+    private LocalDateTime endTime;
+
+    @Column(name = "score_obtained")
+    private Integer scoreObtained;
+
+    @Column(name = "answered_count")
+    private Integer answeredCount;
+
+    @Column(name = "total_score")
+    private Integer totalScore;
+
+    @Column(name = "percentage_score")
+    private Double percentageScore;
+
+    @Column(name = "is_passed")
+    private Boolean isPassed;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private QuizAttempt.AttemptStatus status;
+
+    @Column(name = "time_taken_minutes")
+    private Integer timeTakenMinutes;
+
+    @Column(nullable = false, length = 16777215)
+    private byte[] answers;
+}
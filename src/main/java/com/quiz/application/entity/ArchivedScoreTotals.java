@@ -0,0 +1,61 @@
+package com.quiz.application.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Completed archived attempts of one user on one quiz, summed when the attempts are archived. Leaderboards read
+ * these instead of aggregating {@code archived_attempts} on every request.
+ */
+@Entity
+@Table(name = "archived_score_totals", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_archived_score_totals_user_quiz", columnNames = {"user_id", "quiz_id"})
+}, indexes = {
+        @Index(name = "idx_archived_score_totals_quiz", columnList = "quiz_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(callSuper = true)
+public class ArchivedScoreTotals extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Plain ids like archived_attempts; the totals are only written through native upserts
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "quiz_id", nullable = false)
+    private Long quizId;
+
+    @Column(nullable = false)
+    private long attempts;
+
+    @Column(name = "score_sum", nullable = false)
+    private long scoreSum;
+
+    @Column(name = "percentage_sum", nullable = false)
+    private double percentageSum;
+
+    @Column(name = "best_score", nullable = false)
+    private int bestScore;
+
+    // Percentage of the attempt that scored bestScore
+    @Column(name = "best_percentage", nullable = false)
+    private double bestPercentage;
+
+    public void addAttempt(Integer scoreObtained, Double percentageScore) {
+        int score = scoreObtained != null ? scoreObtained : 0;
+        double percentage = percentageScore != null ? percentageScore : 0;
+        if (attempts == 0 || score > bestScore) {
+            bestScore = score;
+            bestPercentage = percentage;
+        }
+        attempts++;
+        scoreSum += score;
+        percentageSum += percentage;
+    }
+}
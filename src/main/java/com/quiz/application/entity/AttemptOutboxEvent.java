@@ -0,0 +1,84 @@
+package com.quiz.application.entity;
+
+import com.quiz.application.event.AttemptFinishedEvent;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// A completed attempt waiting to be handed to the post-completion consumers; deleted once they have seen it, or
+// kept as a dead letter after too many failed deliveries
+@Entity
+@Table(name = "attempt_outbox", indexes = @Index(name = "idx_attempt_outbox_quiz", columnList = "quiz_id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(callSuper = true)
+public class AttemptOutboxEvent extends BaseEntity {
+
+    public static final int MAX_ERROR_LENGTH = 500;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "attempt_id", nullable = false)
+    private Long attemptId;
+
+    @Column(name = "quiz_id", nullable = false)
+    private Long quizId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "score_obtained")
+    private Integer scoreObtained;
+
+    @Column(name = "percentage_score")
+    private Double percentageScore;
+
+    @Column(name = "is_passed")
+    private Boolean isPassed;
+
+    @Column(name = "end_time")
+    private LocalDateTime endTime;
+
+    @Column(nullable = false)
+    private boolean expired;
+
+    @Column(name = "delivery_attempts", nullable = false)
+    private int deliveryAttempts;
+
+    @Column(name = "last_error", length = MAX_ERROR_LENGTH)
+    private String lastError;
+
+    // No longer replayed; left in the table for inspection
+    @Column(name = "dead_lettered", nullable = false)
+    private boolean deadLettered;
+
+    public static AttemptOutboxEvent of(AttemptFinishedEvent event) {
+        return AttemptOutboxEvent.builder()
+                .attemptId(event.getAttemptId())
+                .quizId(event.getQuizId())
+                .userId(event.getUserId())
+                .scoreObtained(event.getScoreObtained())
+                .percentageScore(event.getPercentageScore())
+                .isPassed(event.getIsPassed())
+                .endTime(event.getEndTime())
+                .expired(event.isExpired())
+                .build();
+    }
+
+    public void recordFailedDelivery(RuntimeException error, int maxDeliveryAttempts) {
+        String message = error.toString();
+        deliveryAttempts++;
+        lastError = message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+        deadLettered = deliveryAttempts >= maxDeliveryAttempts;
+    }
+
+    public AttemptFinishedEvent toEvent() {
+        return new AttemptFinishedEvent(attemptId, quizId, userId, QuizAttempt.AttemptStatus.COMPLETED,
+                scoreObtained, percentageScore, isPassed, endTime, expired);
+    }
+}
@@ -0,0 +1,94 @@
+package com.quiz.application.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Attempt counters for one quiz over one time bucket. Recent activity is kept per minute and compacted into
+ * hour and then day buckets as it ages, so every period is stored at exactly one granularity.
+ */
+@Entity
+@Table(name = "attempt_rollups", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_attempt_rollups_bucket", columnNames = {"bucket_start", "quiz_id", "granularity"})
+}, indexes = {
+        @Index(name = "idx_attempt_rollups_granularity", columnList = "granularity, bucket_start")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(callSuper = true)
+public class AttemptRollup extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Granularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    // Plain id rather than a relation so the history of deleted quizzes is kept
+    @Column(name = "quiz_id", nullable = false)
+    private Long quizId;
+
+    @Column(nullable = false)
+    private long started;
+
+    @Column(nullable = false)
+    private long completed;
+
+    @Column(nullable = false)
+    private long abandoned;
+
+    @Column(nullable = false)
+    private long expired;
+
+    @Column(nullable = false)
+    private long passed;
+
+    @Column(nullable = false)
+    private long failed;
+
+    @Column(name = "score_sum", nullable = false)
+    private long scoreSum;
+
+    @Column(name = "percentage_sum", nullable = false)
+    private double percentageSum;
+
+    public enum Granularity {
+        MINUTE(ChronoUnit.MINUTES), HOUR(ChronoUnit.HOURS), DAY(ChronoUnit.DAYS);
+
+        private final ChronoUnit unit;
+
+        Granularity(ChronoUnit unit) {
+            this.unit = unit;
+        }
+
+        public LocalDateTime truncate(LocalDateTime time) {
+            return time.truncatedTo(unit);
+        }
+
+        public Duration getDuration() {
+            return unit.getDuration();
+        }
+    }
+
+    public void add(AttemptRollup other) {
+        started += other.started;
+        completed += other.completed;
+        abandoned += other.abandoned;
+        expired += other.expired;
+        passed += other.passed;
+        failed += other.failed;
+        scoreSum += other.scoreSum;
+        percentageSum += other.percentageSum;
+    }
+}
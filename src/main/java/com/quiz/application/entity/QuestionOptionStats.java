@@ -0,0 +1,27 @@
+package com.quiz.application.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// How often an option was part of a final answer in a completed attempt
+@Entity
+@Table(name = "question_option_stats", indexes = {
+        @Index(name = "idx_question_option_stats_question", columnList = "question_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(callSuper = true)
+public class QuestionOptionStats extends BaseEntity {
+
+    @Id
+    @Column(name = "option_id")
+    private Long optionId;
+
+    @Column(name = "question_id", nullable = false)
+    private Long questionId;
+
+    @Column(name = "selected_count", nullable = false)
+    private long selectedCount;
+}
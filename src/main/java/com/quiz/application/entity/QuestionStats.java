@@ -0,0 +1,55 @@
+package com.quiz.application.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Running sums for the item analysis of one question over completed attempts. Every completed attempt adds one
+ * response: whether the question was answered correctly (x) and the attempt's score without this question (y).
+ * The p-value and the corrected point-biserial correlation follow from these five sums.
+ */
+@Entity
+@Table(name = "question_stats", indexes = {
+        @Index(name = "idx_question_stats_quiz", columnList = "quiz_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(callSuper = true)
+public class QuestionStats extends BaseEntity {
+
+    // Plain ids rather than relations: the sums are only written through native upserts
+    @Id
+    @Column(name = "question_id")
+    private Long questionId;
+
+    @Column(name = "quiz_id", nullable = false)
+    private Long quizId;
+
+    @Column(nullable = false)
+    private long responses;
+
+    @Column(nullable = false)
+    private long correct;
+
+    @Column(name = "rest_score_sum", nullable = false)
+    private long restScoreSum;
+
+    @Column(name = "rest_score_square_sum", nullable = false)
+    private long restScoreSquareSum;
+
+    // Sum of y over the correct responses only
+    @Column(name = "correct_rest_score_sum", nullable = false)
+    private long correctRestScoreSum;
+
+    public void addResponse(boolean isCorrect, long restScore) {
+        responses++;
+        restScoreSum += restScore;
+        restScoreSquareSum += restScore * restScore;
+        if (isCorrect) {
+            correct++;
+            correctRestScoreSum += restScore;
+        }
+    }
+}
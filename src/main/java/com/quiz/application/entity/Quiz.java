@@ -43,6 +43,11 @@ public class Quiz extends BaseEntity {
 
     @Column(nullable = false)
     private Boolean active = true;
+
+    // Bumped under a row lock by every content change (QuizContentLogService), never by saving the quiz, so a
+    // concurrent update of other fields cannot write back a stale version; null until the first change
+    @Column(name = "content_version", updatable = false)
+    private Long contentVersion;
     
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "created_by", nullable = false)
@@ -8,7 +8,12 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "quiz_attempts")
+@Table(name = "quiz_attempts", indexes = {
+        @Index(name = "idx_quiz_attempts_start_time", columnList = "start_time"),
+        @Index(name = "idx_quiz_attempts_status", columnList = "status"),
+        @Index(name = "idx_quiz_attempts_end_time", columnList = "end_time"),
+        @Index(name = "idx_quiz_attempts_user_status_end", columnList = "user_id, status, end_time")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -35,9 +40,13 @@ public class QuizAttempt extends BaseEntity {
     @Column(name = "end_time")
     private LocalDateTime endTime;
     
+    // Running total while in progress, adjusted by every submitted answer; final once the attempt ends
     @Column(name = "score_obtained")
     private Integer scoreObtained;
     
+    @Column(name = "answered_count")
+    private Integer answeredCount;
+    
     @Column(name = "total_score")
     private Integer totalScore;
     
@@ -0,0 +1,38 @@
+package com.quiz.application.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// Latest content change of one question of a quiz; the log keeps a single row per question ever in the quiz
+@Entity
+@Table(name = "quiz_content_changes",
+        uniqueConstraints = @UniqueConstraint(name = "uk_quiz_content_changes_question",
+                columnNames = {"quiz_id", "question_id"}),
+        indexes = @Index(name = "idx_quiz_content_changes_version", columnList = "quiz_id, version"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuizContentChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "quiz_id", nullable = false)
+    private Long quizId;
+
+    @Column(name = "question_id", nullable = false)
+    private Long questionId;
+
+    // Quiz content version of the question's latest change
+    @Column(nullable = false)
+    private long version;
+
+    // Quiz content version at which the question entered the log
+    @Column(name = "added_version", nullable = false)
+    private long addedVersion;
+
+    @Column(nullable = false)
+    private boolean removed;
+}
@@ -0,0 +1,27 @@
+package com.quiz.application.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// Persisted percentage-score histogram of one quiz, merged with the in-memory deltas of every instance
+@Entity
+@Table(name = "quiz_score_sketches")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(callSuper = true)
+@ToString(exclude = {"histogram"})
+public class QuizScoreSketch extends BaseEntity {
+
+    @Id
+    @Column(name = "quiz_id")
+    private Long quizId;
+
+    @Column(name = "total_count", nullable = false)
+    private long totalCount;
+
+    // ScoreHistogram.encode(): at most 1 + 8 + 4 + 1001 * 10 bytes
+    @Column(nullable = false, length = 10240)
+    private byte[] histogram;
+}
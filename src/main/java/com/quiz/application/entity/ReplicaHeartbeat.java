@@ -0,0 +1,19 @@
+package com.quiz.application.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// Single row rewritten on the primary; how old the replica's copy is measures its replication lag
+@Entity
+@Table(name = "replica_heartbeat")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReplicaHeartbeat {
+
+    @Id
+    private Integer id;
+
+    @Column(name = "beat_millis", nullable = false)
+    private long beatMillis;
+}
@@ -7,7 +7,9 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "user_answers")
+@Table(name = "user_answers", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_user_answers_attempt_question", columnNames = {"quiz_attempt_id", "question_id"})
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -28,7 +30,8 @@ public class UserAnswer extends BaseEntity {
     @JoinColumn(name = "question_id", nullable = false)
     private Question question;
     
-    @ManyToMany(fetch = FetchType.EAGER)
+    // Only used while the answer has no option mask; see OptionStorage
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
         name = "user_answer_options",
         joinColumns = @JoinColumn(name = "user_answer_id"),
@@ -36,9 +39,18 @@ public class UserAnswer extends BaseEntity {
     )
     private Set<QuestionOption> selectedOptions = new HashSet<>();
     
+    // Selection as an OptionBitmask over the question's options; null when kept in user_answer_options
+    @Column(name = "selected_options_mask")
+    private Long selectedOptionsMask;
+    
     @Column(nullable = false)
     private Boolean isCorrect = false;
     
     @Column(name = "points_earned")
     private Integer pointsEarned = 0;
+    
+    // Where newly written selections go. Reads handle both, so existing answers keep working after a switch.
+    public enum OptionStorage {
+        JOIN_TABLE, BITMASK
+    }
 }
@@ -0,0 +1,21 @@
+package com.quiz.application.event;
+
+import com.quiz.application.entity.QuizAttempt;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+public class AttemptFinishedEvent {
+
+    Long attemptId;
+    Long quizId;
+    Long userId;
+    QuizAttempt.AttemptStatus status;
+    Integer scoreObtained;
+    Double percentageScore;
+    Boolean isPassed;
+    LocalDateTime endTime;
+    // True when the attempt was closed by the server at its deadline rather than by the user
+    boolean expired;
+}
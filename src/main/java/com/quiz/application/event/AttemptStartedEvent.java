@@ -0,0 +1,16 @@
+package com.quiz.application.event;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+public class AttemptStartedEvent {
+
+    Long attemptId;
+    Long quizId;
+    Long userId;
+    LocalDateTime startTime;
+    // Null when the quiz has no time limit
+    LocalDateTime deadline;
+}
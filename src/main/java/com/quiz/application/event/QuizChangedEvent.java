@@ -0,0 +1,14 @@
+package com.quiz.application.event;
+
+import lombok.Value;
+
+@Value
+public class QuizChangedEvent {
+
+    Long quizId;
+    ChangeType changeType;
+
+    public enum ChangeType {
+        CREATED, UPDATED, DELETED
+    }
+}
@@ -0,0 +1,269 @@
+package com.quiz.application.index;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Radix trie of weighted entries. Every node caches the highest weight below it, so the top-k completions
+ * of a prefix are produced by a best-first walk that only expands subtrees able to beat the current k-th result.
+ */
+public class CompletionTrie<T> {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Node<T> root = new Node<>("");
+
+    public static class Completion<T> {
+        private final T payload;
+        private final long weight;
+
+        Completion(T payload, long weight) {
+            this.payload = payload;
+            this.weight = weight;
+        }
+
+        public T getPayload() {
+            return payload;
+        }
+
+        public long getWeight() {
+            return weight;
+        }
+    }
+
+    private static class Node<T> {
+        private String label;
+        private Node<T>[] children = newChildren(0);
+        private List<Completion<T>> entries = List.of();
+        private long maxWeight = Long.MIN_VALUE;
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        @SuppressWarnings("unchecked")
+        static <T> Node<T>[] newChildren(int size) {
+            return (Node<T>[]) new Node[size];
+        }
+
+        int childIndex(char first) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char c = children[mid].label.charAt(0);
+                if (c < first) {
+                    low = mid + 1;
+                } else if (c > first) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        void insertChild(int index, Node<T> child) {
+            Node<T>[] grown = newChildren(children.length + 1);
+            System.arraycopy(children, 0, grown, 0, index);
+            grown[index] = child;
+            System.arraycopy(children, index, grown, index + 1, children.length - index);
+            children = grown;
+        }
+
+        void removeChild(int index) {
+            Node<T>[] shrunk = newChildren(children.length - 1);
+            System.arraycopy(children, 0, shrunk, 0, index);
+            System.arraycopy(children, index + 1, shrunk, index, children.length - index - 1);
+            children = shrunk;
+        }
+
+        void recomputeMaxWeight() {
+            long max = Long.MIN_VALUE;
+            for (Completion<T> entry : entries) {
+                max = Math.max(max, entry.weight);
+            }
+            for (Node<T> child : children) {
+                max = Math.max(max, child.maxWeight);
+            }
+            maxWeight = max;
+        }
+    }
+
+    // Inserts the payload under key, replacing the weight of an equal payload already stored there.
+    public void put(String key, T payload, long weight) {
+        lock.writeLock().lock();
+        try {
+            List<Node<T>> path = new ArrayList<>();
+            Node<T> node = descendCreating(key, path);
+            List<Completion<T>> entries = new ArrayList<>(node.entries.size() + 1);
+            for (Completion<T> entry : node.entries) {
+                if (!Objects.equals(entry.payload, payload)) {
+                    entries.add(entry);
+                }
+            }
+            entries.add(new Completion<>(payload, weight));
+            node.entries = entries;
+            for (int i = path.size() - 1; i >= 0; i--) {
+                path.get(i).recomputeMaxWeight();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String key, T payload) {
+        lock.writeLock().lock();
+        try {
+            List<Node<T>> path = new ArrayList<>();
+            Node<T> node = root;
+            path.add(node);
+            int offset = 0;
+            while (offset < key.length()) {
+                int index = node.childIndex(key.charAt(offset));
+                if (index < 0) {
+                    return;
+                }
+                Node<T> child = node.children[index];
+                if (!key.startsWith(child.label, offset)) {
+                    return;
+                }
+                offset += child.label.length();
+                node = child;
+                path.add(node);
+            }
+            List<Completion<T>> entries = new ArrayList<>(node.entries);
+            if (!entries.removeIf(entry -> Objects.equals(entry.payload, payload))) {
+                return;
+            }
+            node.entries = entries.isEmpty() ? List.of() : entries;
+
+            for (int i = path.size() - 1; i >= 0; i--) {
+                Node<T> current = path.get(i);
+                current.recomputeMaxWeight();
+                if (i == 0 || !current.entries.isEmpty() || current.children.length > 1) {
+                    continue;
+                }
+                Node<T> parent = path.get(i - 1);
+                int index = parent.childIndex(current.label.charAt(0));
+                if (current.children.length == 0) {
+                    parent.removeChild(index);
+                } else {
+                    // Undo the edge split: a node with no entries and one child folds into that child
+                    Node<T> child = current.children[0];
+                    child.label = current.label + child.label;
+                    parent.children[index] = child;
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Completion<T>> complete(String prefix, int limit) {
+        lock.readLock().lock();
+        try {
+            Node<T> start = findPrefixNode(prefix);
+            if (start == null || limit <= 0) {
+                return List.of();
+            }
+
+            // Nodes are queued by the best weight they can still yield, entries by their own weight.
+            PriorityQueue<Candidate<T>> queue = new PriorityQueue<>((a, b) -> Long.compare(b.priority, a.priority));
+            queue.add(new Candidate<>(start, null, start.maxWeight));
+            List<Completion<T>> results = new ArrayList<>(limit);
+            while (!queue.isEmpty() && results.size() < limit) {
+                Candidate<T> candidate = queue.poll();
+                if (candidate.completion != null) {
+                    results.add(candidate.completion);
+                    continue;
+                }
+                for (Completion<T> entry : candidate.node.entries) {
+                    queue.add(new Candidate<>(null, entry, entry.weight));
+                }
+                for (Node<T> child : candidate.node.children) {
+                    queue.add(new Candidate<>(child, null, child.maxWeight));
+                }
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static class Candidate<T> {
+        private final Node<T> node;
+        private final Completion<T> completion;
+        private final long priority;
+
+        Candidate(Node<T> node, Completion<T> completion, long priority) {
+            this.node = node;
+            this.completion = completion;
+            this.priority = priority;
+        }
+    }
+
+    private Node<T> findPrefixNode(String prefix) {
+        Node<T> node = root;
+        int offset = 0;
+        while (offset < prefix.length()) {
+            int index = node.childIndex(prefix.charAt(offset));
+            if (index < 0) {
+                return null;
+            }
+            Node<T> child = node.children[index];
+            int common = commonPrefixLength(child.label, prefix, offset);
+            if (offset + common == prefix.length()) {
+                return child;
+            }
+            if (common < child.label.length()) {
+                return null;
+            }
+            offset += common;
+            node = child;
+        }
+        return node;
+    }
+
+    private Node<T> descendCreating(String key, List<Node<T>> path) {
+        Node<T> node = root;
+        path.add(node);
+        int offset = 0;
+        while (offset < key.length()) {
+            int index = node.childIndex(key.charAt(offset));
+            if (index < 0) {
+                Node<T> leaf = new Node<>(key.substring(offset));
+                node.insertChild(-index - 1, leaf);
+                path.add(leaf);
+                return leaf;
+            }
+            Node<T> child = node.children[index];
+            int common = commonPrefixLength(child.label, key, offset);
+            if (common < child.label.length()) {
+                // Split the edge: the shared part becomes a new intermediate node
+                Node<T> split = new Node<>(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                split.insertChild(0, child);
+                split.recomputeMaxWeight();
+                node.children[index] = split;
+                child = split;
+            }
+            offset += common;
+            node = child;
+            path.add(node);
+        }
+        return node;
+    }
+
+    private static int commonPrefixLength(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+}
@@ -0,0 +1,185 @@
+package com.quiz.application.index;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Keeps one compressed bitmap of document ids per facet value. Values selected within a facet are OR-ed,
+ * facets are AND-ed, and each facet's counts are computed against the other facets' filters so a client
+ * can show how many results every alternative value would yield.
+ */
+public class FacetIndex<T> {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Map<String, CompressedBitmap>> facets = new LinkedHashMap<>();
+    private final Map<Integer, Document<T>> documents = new HashMap<>();
+    private final CompressedBitmap all = new CompressedBitmap();
+
+    public FacetIndex(List<String> facetNames) {
+        for (String facetName : facetNames) {
+            facets.put(facetName, new TreeMap<>());
+        }
+    }
+
+    public static class Result<T> {
+        private final int totalHits;
+        private final List<T> items;
+        private final Map<String, Map<String, Integer>> facetCounts;
+
+        Result(int totalHits, List<T> items, Map<String, Map<String, Integer>> facetCounts) {
+            this.totalHits = totalHits;
+            this.items = items;
+            this.facetCounts = facetCounts;
+        }
+
+        public int getTotalHits() {
+            return totalHits;
+        }
+
+        public List<T> getItems() {
+            return items;
+        }
+
+        public Map<String, Map<String, Integer>> getFacetCounts() {
+            return facetCounts;
+        }
+    }
+
+    private static class Document<T> {
+        private final T payload;
+        private final Map<String, String> values;
+
+        Document(T payload, Map<String, String> values) {
+            this.payload = payload;
+            this.values = values;
+        }
+    }
+
+    public boolean hasFacet(String facetName) {
+        return facets.containsKey(facetName);
+    }
+
+    public void put(int id, T payload, Map<String, String> values) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            for (Map.Entry<String, String> entry : values.entrySet()) {
+                Map<String, CompressedBitmap> facet = facets.get(entry.getKey());
+                if (facet == null) {
+                    throw new IllegalArgumentException("Unknown facet: " + entry.getKey());
+                }
+                facet.computeIfAbsent(entry.getValue(), value -> new CompressedBitmap()).add(id);
+            }
+            documents.put(id, new Document<>(payload, Map.copyOf(values)));
+            all.add(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Results are ordered by descending id, i.e. newest first.
+    public Result<T> query(Map<String, Set<String>> filters, long offset, int limit) {
+        lock.readLock().lock();
+        try {
+            Map<String, CompressedBitmap> selected = new HashMap<>();
+            for (Map.Entry<String, Set<String>> filter : filters.entrySet()) {
+                if (filter.getValue().isEmpty()) {
+                    continue;
+                }
+                Map<String, CompressedBitmap> facet = facets.get(filter.getKey());
+                if (facet == null) {
+                    throw new IllegalArgumentException("Unknown facet: " + filter.getKey());
+                }
+                CompressedBitmap union = new CompressedBitmap();
+                for (String value : filter.getValue()) {
+                    CompressedBitmap bitmap = facet.get(value);
+                    if (bitmap != null) {
+                        union = union.or(bitmap);
+                    }
+                }
+                selected.put(filter.getKey(), union);
+            }
+
+            CompressedBitmap matches = intersectExcept(selected, null);
+
+            Map<String, Map<String, Integer>> counts = new LinkedHashMap<>();
+            for (Map.Entry<String, Map<String, CompressedBitmap>> facet : facets.entrySet()) {
+                CompressedBitmap base = selected.containsKey(facet.getKey())
+                        ? intersectExcept(selected, facet.getKey())
+                        : matches;
+                Map<String, Integer> valueCounts = new LinkedHashMap<>();
+                for (Map.Entry<String, CompressedBitmap> value : facet.getValue().entrySet()) {
+                    int count = base.andCardinality(value.getValue());
+                    if (count > 0) {
+                        valueCounts.put(value.getKey(), count);
+                    }
+                }
+                counts.put(facet.getKey(), valueCounts);
+            }
+
+            int[] ids = matches.toArray();
+            // An offset past the last hit is an empty page, not an error
+            if (offset >= ids.length) {
+                return new Result<>(ids.length, List.of(), counts);
+            }
+            List<T> items = new ArrayList<>(Math.min(limit, ids.length - (int) offset));
+            for (int i = ids.length - 1 - (int) offset; i >= 0 && items.size() < limit; i--) {
+                items.add(documents.get(ids[i]).payload);
+            }
+            return new Result<>(ids.length, items, counts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private CompressedBitmap intersectExcept(Map<String, CompressedBitmap> selected, String excludedFacet) {
+        CompressedBitmap result = all;
+        for (Map.Entry<String, CompressedBitmap> entry : selected.entrySet()) {
+            if (!entry.getKey().equals(excludedFacet)) {
+                result = result.and(entry.getValue());
+            }
+        }
+        return result;
+    }
+
+    private void removeInternal(int id) {
+        Document<T> document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        for (Map.Entry<String, String> entry : document.values.entrySet()) {
+            Map<String, CompressedBitmap> facet = facets.get(entry.getKey());
+            CompressedBitmap bitmap = facet.get(entry.getValue());
+            bitmap.remove(id);
+            if (bitmap.isEmpty()) {
+                facet.remove(entry.getValue());
+            }
+        }
+        all.remove(id);
+    }
+}
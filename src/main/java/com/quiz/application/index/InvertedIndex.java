@@ -0,0 +1,317 @@
+package com.quiz.application.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index ranked with BM25 over boosted fields.
+ * Documents get an internal number on every (re)insert so postings stay sorted and append-only;
+ * replaced or removed documents are tombstoned and purged once they make up a large share of the index.
+ */
+public class InvertedIndex<T> {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final int MAX_PREFIX_EXPANSIONS = 32;
+    private static final float PREFIX_WEIGHT = 0.5f;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+    private final Map<Long, Integer> docNos = new HashMap<>();
+    private final BitSet live = new BitSet();
+    private long[] docIds = new long[256];
+    private float[] docLengths = new float[256];
+    private Object[] payloads = new Object[256];
+    private int nextDocNo;
+    private int deadDocs;
+    private double totalLength;
+
+    public static class Field {
+        private final String text;
+        private final float boost;
+
+        public Field(String text, float boost) {
+            this.text = text;
+            this.boost = boost;
+        }
+    }
+
+    public static class Hit<T> {
+        private final long id;
+        private final float score;
+        private final T payload;
+
+        Hit(long id, float score, T payload) {
+            this.id = id;
+            this.score = score;
+            this.payload = payload;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public float getScore() {
+            return score;
+        }
+
+        public T getPayload() {
+            return payload;
+        }
+    }
+
+    public static class Result<T> {
+        private final int totalHits;
+        private final List<Hit<T>> hits;
+
+        Result(int totalHits, List<Hit<T>> hits) {
+            this.totalHits = totalHits;
+            this.hits = hits;
+        }
+
+        public int getTotalHits() {
+            return totalHits;
+        }
+
+        public List<Hit<T>> getHits() {
+            return hits;
+        }
+    }
+
+    public void put(long id, T payload, List<Field> fields) {
+        Map<String, Float> frequencies = new HashMap<>();
+        float length = 0;
+        for (Field field : fields) {
+            for (String token : Tokenizer.tokenize(field.text)) {
+                frequencies.merge(token, field.boost, Float::sum);
+                length += field.boost;
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            int docNo = nextDocNo++;
+            ensureCapacity(docNo);
+            docIds[docNo] = id;
+            docLengths[docNo] = length;
+            payloads[docNo] = payload;
+            live.set(docNo);
+            docNos.put(id, docNo);
+            totalLength += length;
+            for (Map.Entry<String, Float> entry : frequencies.entrySet()) {
+                terms.computeIfAbsent(entry.getKey(), key -> new Postings()).add(docNo, entry.getValue());
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docNos.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public Result<T> search(String query, long offset, int limit) {
+        List<String> tokens = Tokenizer.tokenize(query);
+        if (tokens.isEmpty()) {
+            return new Result<>(0, List.of());
+        }
+
+        lock.readLock().lock();
+        try {
+            int liveDocs = docNos.size();
+            if (liveDocs == 0) {
+                return new Result<>(0, List.of());
+            }
+            double averageLength = Math.max(totalLength / liveDocs, 1.0);
+            float[] scores = new float[nextDocNo];
+            int[] touched = new int[16];
+            int touchedCount = 0;
+
+            for (Map.Entry<Postings, Float> entry : expand(tokens).entrySet()) {
+                Postings postings = entry.getKey();
+                double idf = Math.log(1 + (liveDocs - postings.size + 0.5) / (postings.size + 0.5));
+                for (int i = 0; i < postings.size; i++) {
+                    int docNo = postings.docs[i];
+                    if (!live.get(docNo)) {
+                        continue;
+                    }
+                    float tf = postings.frequencies[i];
+                    double norm = K1 * (1 - B + B * docLengths[docNo] / averageLength);
+                    float score = (float) (entry.getValue() * idf * tf * (K1 + 1) / (tf + norm));
+                    if (scores[docNo] == 0) {
+                        if (touchedCount == touched.length) {
+                            touched = Arrays.copyOf(touched, touchedCount * 2);
+                        }
+                        touched[touchedCount++] = docNo;
+                    }
+                    scores[docNo] += score;
+                }
+            }
+
+            // An offset past the last hit is an empty page, not an error
+            if (offset >= touchedCount) {
+                return new Result<>(touchedCount, List.of());
+            }
+            int wanted = (int) Math.min(offset + limit, touchedCount);
+            PriorityQueue<Integer> top = new PriorityQueue<>((a, b) -> Float.compare(scores[a], scores[b]));
+            for (int i = 0; i < touchedCount && wanted > 0; i++) {
+                int docNo = touched[i];
+                if (top.size() < wanted) {
+                    top.add(docNo);
+                } else if (scores[docNo] > scores[top.peek()]) {
+                    top.poll();
+                    top.add(docNo);
+                }
+            }
+
+            List<Hit<T>> ranked = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                int docNo = top.poll();
+                ranked.add(new Hit<>(docIds[docNo], scores[docNo], (T) payloads[docNo]));
+            }
+            Collections.reverse(ranked);
+            List<Hit<T>> page = ranked.subList((int) offset, ranked.size());
+            return new Result<>(touchedCount, page);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Exact terms get full weight; the last token also matches as a prefix so partially typed words still hit.
+    private Map<Postings, Float> expand(List<String> tokens) {
+        Map<Postings, Float> weighted = new LinkedHashMap<>();
+        for (String token : tokens) {
+            Postings exact = terms.get(token);
+            if (exact != null) {
+                weighted.merge(exact, 1f, Float::sum);
+            }
+        }
+        String last = tokens.get(tokens.size() - 1);
+        if (last.length() >= 2) {
+            SortedMap<String, Postings> prefixed = terms.subMap(last, last + Character.MAX_VALUE);
+            int expansions = 0;
+            for (Map.Entry<String, Postings> entry : prefixed.entrySet()) {
+                if (expansions++ >= MAX_PREFIX_EXPANSIONS) {
+                    break;
+                }
+                if (!entry.getKey().equals(last)) {
+                    weighted.merge(entry.getValue(), PREFIX_WEIGHT, Math::max);
+                }
+            }
+        }
+        return weighted;
+    }
+
+    private void removeInternal(long id) {
+        Integer docNo = docNos.remove(id);
+        if (docNo == null) {
+            return;
+        }
+        live.clear(docNo);
+        payloads[docNo] = null;
+        totalLength -= docLengths[docNo];
+        deadDocs++;
+    }
+
+    // Renumbers live documents densely once tombstones outnumber them, keeping postings in docNo order.
+    private void compactIfNeeded() {
+        if (deadDocs < 1024 || deadDocs < docNos.size()) {
+            return;
+        }
+        int[] remap = new int[nextDocNo];
+        int compacted = 0;
+        for (int docNo = live.nextSetBit(0); docNo >= 0; docNo = live.nextSetBit(docNo + 1)) {
+            remap[docNo] = compacted;
+            docIds[compacted] = docIds[docNo];
+            docLengths[compacted] = docLengths[docNo];
+            payloads[compacted] = payloads[docNo];
+            compacted++;
+        }
+        Arrays.fill(payloads, compacted, nextDocNo, null);
+
+        Iterator<Postings> iterator = terms.values().iterator();
+        while (iterator.hasNext()) {
+            Postings postings = iterator.next();
+            postings.retain(live, remap);
+            if (postings.size == 0) {
+                iterator.remove();
+            }
+        }
+
+        for (Map.Entry<Long, Integer> entry : docNos.entrySet()) {
+            entry.setValue(remap[entry.getValue()]);
+        }
+        live.clear();
+        live.set(0, compacted);
+        nextDocNo = compacted;
+        deadDocs = 0;
+    }
+
+    private void ensureCapacity(int docNo) {
+        if (docNo < docIds.length) {
+            return;
+        }
+        int capacity = docIds.length * 2;
+        docIds = Arrays.copyOf(docIds, capacity);
+        docLengths = Arrays.copyOf(docLengths, capacity);
+        payloads = Arrays.copyOf(payloads, capacity);
+    }
+
+    private static class Postings {
+        private int[] docs = new int[4];
+        private float[] frequencies = new float[4];
+        private int size;
+
+        void add(int docNo, float frequency) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            docs[size] = docNo;
+            frequencies[size] = frequency;
+            size++;
+        }
+
+        void retain(BitSet live, int[] remap) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (live.get(docs[i])) {
+                    docs[kept] = remap[docs[i]];
+                    frequencies[kept] = frequencies[i];
+                    kept++;
+                }
+            }
+            size = kept;
+        }
+    }
+}
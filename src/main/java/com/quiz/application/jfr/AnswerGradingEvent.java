@@ -0,0 +1,34 @@
+package com.quiz.application.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.quiz.AnswerGrading")
+@Label("Answer Grading")
+@Category({"Quiz Application", "Attempts"})
+@Description("Grading a submitted answer and storing it with the attempt's new running score")
+@StackTrace(false)
+public class AnswerGradingEvent extends jdk.jfr.Event {
+
+    @Label("Attempt Id")
+    public long attemptId;
+
+    @Label("Question Id")
+    public long questionId;
+
+    @Label("Option Count")
+    public int optionCount;
+
+    @Label("Selected Option Count")
+    public int selectedCount;
+
+    @Label("Correct")
+    public boolean correct;
+
+    @Label("Re-answer")
+    @Description("The question had been answered before in this attempt")
+    public boolean reanswer;
+}
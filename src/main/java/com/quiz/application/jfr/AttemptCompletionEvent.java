@@ -0,0 +1,35 @@
+package com.quiz.application.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Percentage;
+import jdk.jfr.StackTrace;
+
+@Name("com.quiz.AttemptCompletion")
+@Label("Attempt Completion")
+@Category({"Quiz Application", "Attempts"})
+@Description("Completing a quiz attempt, including its score distribution")
+@StackTrace(false)
+public class AttemptCompletionEvent extends jdk.jfr.Event {
+
+    @Label("Quiz Id")
+    public long quizId;
+
+    @Label("Attempt Id")
+    public long attemptId;
+
+    @Label("Answered Count")
+    public int answeredCount;
+
+    @Label("Score Obtained")
+    public int scoreObtained;
+
+    @Label("Percentage Score")
+    @Percentage
+    public double percentageScore;
+
+    @Label("With Answers")
+    public boolean withAnswers;
+}
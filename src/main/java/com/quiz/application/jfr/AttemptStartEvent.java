@@ -0,0 +1,27 @@
+package com.quiz.application.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.quiz.AttemptStart")
+@Label("Attempt Start")
+@Category({"Quiz Application", "Attempts"})
+@Description("Starting a quiz attempt, including loading the quiz and its questions")
+@StackTrace(false)
+public class AttemptStartEvent extends jdk.jfr.Event {
+
+    @Label("Quiz Id")
+    public long quizId;
+
+    @Label("Attempt Id")
+    public long attemptId;
+
+    @Label("User Id")
+    public long userId;
+
+    @Label("Question Count")
+    public int questionCount;
+}
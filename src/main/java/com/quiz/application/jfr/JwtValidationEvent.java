@@ -0,0 +1,25 @@
+package com.quiz.application.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.quiz.JwtValidation")
+@Label("JWT Validation")
+@Category({"Quiz Application", "Security"})
+@Description("Checking the signature and expiry of a bearer token")
+@StackTrace(false)
+public class JwtValidationEvent extends jdk.jfr.Event {
+
+    @Label("Valid")
+    public boolean valid;
+
+    @Label("Failure")
+    @Description("Exception type that rejected the token, if any")
+    public String failure;
+
+    @Label("Token Length")
+    public int tokenLength;
+}
@@ -0,0 +1,38 @@
+package com.quiz.application.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.quiz.LeaderboardComputation")
+@Label("Leaderboard Computation")
+@Category({"Quiz Application", "Leaderboards"})
+@Description("Computing the global or a per-quiz leaderboard from completed attempts")
+public class LeaderboardComputationEvent extends jdk.jfr.Event {
+
+    public static final String GLOBAL = "global";
+    public static final String QUIZ = "quiz";
+
+    @Label("Board")
+    @Description("global or quiz")
+    public String board;
+
+    @Label("Quiz Id")
+    @Description("0 for the global leaderboard")
+    public long quizId;
+
+    @Label("Attempt Rows Loaded")
+    public int rowsLoaded;
+
+    @Label("Archived Rows Loaded")
+    @Description("Archived score totals, one per user and quiz")
+    public int archivedRowsLoaded;
+
+    @Label("Entries")
+    @Description("Ranked users before the limit is applied")
+    public int entries;
+
+    @Label("Limit")
+    public int limit;
+}
@@ -0,0 +1,27 @@
+package com.quiz.application.pipeline;
+
+import com.quiz.application.event.AttemptFinishedEvent;
+
+import java.util.List;
+
+/**
+ * Receives completed attempts from the post-completion pipeline, in batches and always on the pipeline's
+ * dispatcher thread.
+ */
+public interface AttemptCompletedConsumer {
+
+    /**
+     * Called in the transaction that takes the attempts off the outbox, so what is written here commits together
+     * with their removal and every attempt is applied exactly once. Throwing rolls the batch back and leaves it
+     * in the outbox to be delivered again.
+     */
+    default void recordAttemptsCompleted(List<AttemptFinishedEvent> events) {
+    }
+
+    /**
+     * Called after that transaction commits, for state that lives only in memory. Not retried: an attempt is
+     * missed here if the process stops between the commit and this call.
+     */
+    default void onAttemptsCompleted(List<AttemptFinishedEvent> events) {
+    }
+}
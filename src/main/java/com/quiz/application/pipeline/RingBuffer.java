@@ -0,0 +1,73 @@
+package com.quiz.application.pipeline;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded ring buffer for many producers and a single consumer. Producers claim a sequence with a CAS on the
+ * tail, fill the slot and then publish it by storing the sequence in the slot's marker; the consumer reads
+ * published slots in sequence order and is the only thread that moves the head. Offering never blocks: a full
+ * buffer rejects the item and the caller decides what to do with it.
+ */
+public class RingBuffer<T> {
+
+    private final Object[] slots;
+    private final int mask;
+    // Sequence + 1 of the item published in each slot, so the initial 0 reads as empty
+    private final AtomicLongArray published;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    public RingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring buffer capacity must be a power of two");
+        }
+        this.slots = new Object[capacity];
+        this.mask = capacity - 1;
+        this.published = new AtomicLongArray(capacity);
+    }
+
+    public boolean offer(T item) {
+        while (true) {
+            long sequence = tail.get();
+            if (sequence - head >= slots.length) {
+                return false;
+            }
+            if (tail.compareAndSet(sequence, sequence + 1)) {
+                int index = (int) (sequence & mask);
+                slots[index] = item;
+                published.set(index, sequence + 1);
+                return true;
+            }
+        }
+    }
+
+    // Consumer thread only. Moves up to max published items into the target, in order, and returns how many.
+    @SuppressWarnings("unchecked")
+    public int drainTo(List<? super T> target, int max) {
+        long sequence = head;
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) (sequence & mask);
+            if (published.get(index) != sequence + 1) {
+                break;
+            }
+            target.add((T) slots[index]);
+            slots[index] = null;
+            sequence++;
+            drained++;
+        }
+        head = sequence;
+        return drained;
+    }
+
+    // Approximate while producers are active
+    public int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+}
@@ -0,0 +1,144 @@
+package com.quiz.application.profiling;
+
+import com.quiz.application.dto.EndpointStatsDTO;
+import com.quiz.application.exception.BadRequestException;
+import com.quiz.application.stats.LogLinearHistogram;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Latency, CPU time and heap allocation of every controller method since startup, measured on the request
+ * thread by {@link EndpointProfilingFilter}. Allocation is read from the JVM's per-thread allocation counter,
+ * which HotSpot keeps anyway, so a sample costs two counter reads; where the JVM cannot measure allocation or
+ * CPU time the figures are reported as -1 and 0.
+ */
+@Component
+public class EndpointProfiler {
+
+    private static final Logger logger = LoggerFactory.getLogger(EndpointProfiler.class);
+
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+
+    private com.sun.management.ThreadMXBean allocationBean;
+
+    private ThreadMXBean threadBean;
+
+    private boolean cpuTimeSupported;
+
+    private static class EndpointStats {
+        private final String endpoint;
+        private final String route;
+        private final LogLinearHistogram latencyNanos = new LogLinearHistogram();
+        private final LogLinearHistogram cpuNanos = new LogLinearHistogram();
+        private final LogLinearHistogram allocatedBytes = new LogLinearHistogram();
+        private final LongAdder errors = new LongAdder();
+
+        EndpointStats(String endpoint, String route) {
+            this.endpoint = endpoint;
+            this.route = route;
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        threadBean = ManagementFactory.getThreadMXBean();
+        cpuTimeSupported = threadBean.isCurrentThreadCpuTimeSupported() && threadBean.isThreadCpuTimeEnabled();
+        if (threadBean instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+            allocationBean = bean;
+        }
+        if (allocationBean == null || !cpuTimeSupported) {
+            logger.info("Endpoint profiling without {}: not supported by this JVM",
+                    allocationBean == null ? "allocation" : "CPU time");
+        }
+    }
+
+    // Bytes allocated so far by the calling thread, or -1
+    public long currentThreadAllocatedBytes() {
+        return allocationBean != null ? allocationBean.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    // CPU time used so far by the calling thread, or 0
+    public long currentThreadCpuNanos() {
+        return cpuTimeSupported ? threadBean.getCurrentThreadCpuTime() : 0;
+    }
+
+    public void record(String endpoint, String route, long elapsedNanos, long cpuNanos, long allocatedBytes,
+                       boolean failed) {
+        EndpointStats endpointStats = stats.computeIfAbsent(endpoint + " " + route,
+                key -> new EndpointStats(endpoint, route));
+        endpointStats.latencyNanos.record(elapsedNanos);
+        endpointStats.cpuNanos.record(cpuNanos);
+        if (allocatedBytes >= 0) {
+            endpointStats.allocatedBytes.record(allocatedBytes);
+        }
+        if (failed) {
+            endpointStats.errors.increment();
+        }
+    }
+
+    public List<EndpointStatsDTO> getTopEndpoints(String sort, int limit) {
+        Comparator<EndpointStatsDTO> order = switch (sort.toLowerCase()) {
+            case "total" -> Comparator.comparingDouble(EndpointStatsDTO::getTotalMillis);
+            case "mean" -> Comparator.comparingDouble(EndpointStatsDTO::getMeanMillis);
+            case "p99" -> Comparator.comparingDouble(EndpointStatsDTO::getP99Millis);
+            case "max" -> Comparator.comparingDouble(EndpointStatsDTO::getMaxMillis);
+            case "cpu" -> Comparator.comparingDouble(EndpointStatsDTO::getTotalCpuMillis);
+            case "alloc" -> Comparator.comparingLong(EndpointStatsDTO::getTotalAllocatedBytes);
+            case "alloc-mean" -> Comparator.comparingLong(EndpointStatsDTO::getMeanAllocatedBytes);
+            case "calls" -> Comparator.comparingLong(EndpointStatsDTO::getCalls);
+            default -> throw new BadRequestException(
+                    "Sort must be one of: total, mean, p99, max, cpu, alloc, alloc-mean, calls");
+        };
+        if (limit < 1) {
+            throw new BadRequestException("Limit must be positive");
+        }
+        return stats.values().stream()
+                .map(this::toDTO)
+                .sorted(order.reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    private EndpointStatsDTO toDTO(EndpointStats endpointStats) {
+        LogLinearHistogram latency = endpointStats.latencyNanos;
+        LogLinearHistogram cpu = endpointStats.cpuNanos;
+        LogLinearHistogram allocated = endpointStats.allocatedBytes;
+        boolean allocationMeasured = allocated.getCount() > 0;
+        return EndpointStatsDTO.builder()
+                .endpoint(endpointStats.endpoint)
+                .route(endpointStats.route)
+                .calls(latency.getCount())
+                .errors(endpointStats.errors.sum())
+                .totalMillis(millis(latency.getSum()))
+                .meanMillis(millis(latency.mean()))
+                .p50Millis(millis(latency.quantile(0.5)))
+                .p95Millis(millis(latency.quantile(0.95)))
+                .p99Millis(millis(latency.quantile(0.99)))
+                .maxMillis(millis(latency.getMax()))
+                .totalCpuMillis(millis(cpu.getSum()))
+                .meanCpuMillis(millis(cpu.mean()))
+                .p99CpuMillis(millis(cpu.quantile(0.99)))
+                .totalAllocatedBytes(allocationMeasured ? allocated.getSum() : -1)
+                .meanAllocatedBytes(allocationMeasured ? Math.round(allocated.mean()) : -1)
+                .p50AllocatedBytes(allocationMeasured ? allocated.quantile(0.5) : -1)
+                .p99AllocatedBytes(allocationMeasured ? allocated.quantile(0.99) : -1)
+                .maxAllocatedBytes(allocationMeasured ? allocated.getMax() : -1)
+                .build();
+    }
+
+    private static double millis(double nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+}
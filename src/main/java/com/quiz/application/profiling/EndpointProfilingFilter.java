@@ -0,0 +1,67 @@
+package com.quiz.application.profiling;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Measures wall time, CPU time and allocated bytes of the request thread from before security until the
+ * response is written, and charges them to the controller method that handled the request. Requests that
+ * never reach a controller method (rejected by security, unknown paths) are not recorded. Work done for
+ * asynchronous or streamed responses on other threads is not included.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class EndpointProfilingFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private EndpointProfiler endpointProfiler;
+
+    @Value("${quiz.profiling.endpoint.enabled:true}")
+    private boolean enabled;
+
+    @Value("${quiz.profiling.endpoint.sample-rate:1.0}")
+    private double sampleRate;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || (sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long allocatedBefore = endpointProfiler.currentThreadAllocatedBytes();
+        long cpuBefore = endpointProfiler.currentThreadCpuNanos();
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            long cpu = endpointProfiler.currentThreadCpuNanos() - cpuBefore;
+            long allocatedAfter = endpointProfiler.currentThreadAllocatedBytes();
+            if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler) {
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                endpointProfiler.record(
+                        handler.getBeanType().getSimpleName() + "." + handler.getMethod().getName(),
+                        request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI()),
+                        elapsed, cpu, allocatedBefore >= 0 ? allocatedAfter - allocatedBefore : -1,
+                        failed || response.getStatus() >= 500);
+            }
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package com.quiz.application.profiling;
+
+import com.quiz.application.dto.RepositoryMethodStatsDTO;
+import com.quiz.application.exception.BadRequestException;
+import com.quiz.application.stats.LogLinearHistogram;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Latency, row counts and callers of every Spring Data repository method since startup. Repository proxies
+ * call {@link #interceptor} around each invocation (see {@code RepositoryProfilingConfig}); the SQL Hibernate
+ * issues meanwhile is attached to the innermost running call by {@link SqlCaptureInspector}; statements run
+ * through JdbcTemplate are not captured. Calls slower than the threshold are logged with their SQL and the
+ * shapes (types and sizes, never values) of their arguments. Methods returning a Stream are timed until the
+ * stream is returned, not until it is consumed.
+ */
+@Component
+public class RepositoryProfiler {
+
+    private static final Logger logger = LoggerFactory.getLogger(RepositoryProfiler.class);
+
+    private static final String APPLICATION_PACKAGE = "com.quiz.application.";
+    private static final String REPOSITORY_PACKAGE = "com.quiz.application.repository.";
+    private static final String PROFILING_PACKAGE = "com.quiz.application.profiling.";
+    private static final int MAX_CALLERS = 32;
+    private static final int MAX_SQL_PER_CALL = 5;
+    private static final String OTHER_CALLERS = "(other)";
+
+    private static final ThreadLocal<Deque<Call>> CALLS = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    @Value("${quiz.profiling.repository.slow-threshold-millis:200}")
+    private long slowThresholdMillis;
+
+    private final Map<String, MethodStats> stats = new ConcurrentHashMap<>();
+
+    private static class Call {
+        private final List<String> sql = new ArrayList<>(2);
+        private int droppedSql;
+    }
+
+    private static class MethodStats {
+        private final String method;
+        private final LogLinearHistogram latencyNanos = new LogLinearHistogram();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder slowCalls = new LongAdder();
+        private final Map<String, LongAdder> callers = new ConcurrentHashMap<>();
+
+        MethodStats(String method) {
+            this.method = method;
+        }
+
+        void countCaller(String caller) {
+            LongAdder count = callers.get(caller);
+            if (count == null) {
+                count = callers.size() < MAX_CALLERS
+                        ? callers.computeIfAbsent(caller, key -> new LongAdder())
+                        : callers.computeIfAbsent(OTHER_CALLERS, key -> new LongAdder());
+            }
+            count.increment();
+        }
+    }
+
+    // Called by SqlCaptureInspector for every statement Hibernate prepares
+    static void captureSql(String sql) {
+        Call call = CALLS.get().peek();
+        if (call != null) {
+            if (call.sql.size() < MAX_SQL_PER_CALL) {
+                call.sql.add(sql);
+            } else {
+                call.droppedSql++;
+            }
+        }
+    }
+
+    public MethodInterceptor interceptor(Class<?> repositoryInterface) {
+        // Inherited methods such as findById are shared by all repositories, so stats are looked up per proxy
+        Map<Method, MethodStats> byMethod = new ConcurrentHashMap<>();
+        return invocation -> {
+            Method method = invocation.getMethod();
+            if (method.getDeclaringClass() == Object.class) {
+                return invocation.proceed();
+            }
+            MethodStats methodStats = byMethod.computeIfAbsent(method, key ->
+                    stats.computeIfAbsent(methodName(repositoryInterface, key), MethodStats::new));
+            return profile(methodStats, invocation);
+        };
+    }
+
+    public List<RepositoryMethodStatsDTO> getTopMethods(String sort, int limit) {
+        Comparator<RepositoryMethodStatsDTO> order = switch (sort.toLowerCase()) {
+            case "total" -> Comparator.comparingDouble(RepositoryMethodStatsDTO::getTotalMillis);
+            case "mean" -> Comparator.comparingDouble(RepositoryMethodStatsDTO::getMeanMillis);
+            case "p99" -> Comparator.comparingDouble(RepositoryMethodStatsDTO::getP99Millis);
+            case "max" -> Comparator.comparingDouble(RepositoryMethodStatsDTO::getMaxMillis);
+            case "calls" -> Comparator.comparingLong(RepositoryMethodStatsDTO::getCalls);
+            case "rows" -> Comparator.comparingLong(RepositoryMethodStatsDTO::getRows);
+            case "slow" -> Comparator.comparingLong(RepositoryMethodStatsDTO::getSlowCalls);
+            default -> throw new BadRequestException("Sort must be one of: total, mean, p99, max, calls, rows, slow");
+        };
+        if (limit < 1) {
+            throw new BadRequestException("Limit must be positive");
+        }
+        return stats.values().stream()
+                .map(this::toDTO)
+                .sorted(order.reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    private Object profile(MethodStats methodStats, MethodInvocation invocation) throws Throwable {
+        Deque<Call> calls = CALLS.get();
+        Call call = new Call();
+        calls.push(call);
+        long start = System.nanoTime();
+        boolean failed = true;
+        Object result = null;
+        try {
+            result = invocation.proceed();
+            failed = false;
+            return result;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            calls.pop();
+            record(methodStats, invocation.getMethod(), invocation.getArguments(), call, elapsed, failed, result);
+        }
+    }
+
+    private void record(MethodStats methodStats, Method method, Object[] arguments, Call call,
+                        long elapsedNanos, boolean failed, Object result) {
+        methodStats.latencyNanos.record(elapsedNanos);
+        String caller = caller();
+        methodStats.countCaller(caller);
+        long rows = failed ? -1 : rowCount(method, result);
+        if (rows > 0) {
+            methodStats.rows.add(rows);
+        }
+        if (failed) {
+            methodStats.errors.increment();
+        }
+
+        if (elapsedNanos >= TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis)) {
+            methodStats.slowCalls.increment();
+            logger.warn("Slow repository call {} took {} ms{}, called from {}, arguments {}, SQL {}{}",
+                    methodStats.method, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                    failed ? " and failed" : rows >= 0 ? " for " + rows + " rows" : "",
+                    caller,
+                    Arrays.stream(arguments == null ? new Object[0] : arguments)
+                            .map(RepositoryProfiler::shape)
+                            .collect(Collectors.joining(", ", "[", "]")),
+                    call.sql.isEmpty() ? "(none captured)" : call.sql,
+                    call.droppedSql > 0 ? " and " + call.droppedSql + " more statements" : "");
+        }
+    }
+
+    private static String methodName(Class<?> repositoryInterface, Method method) {
+        return repositoryInterface.getSimpleName() + "." + method.getName() + Arrays.stream(method.getParameterTypes())
+                .map(Class::getSimpleName)
+                .collect(Collectors.joining(", ", "(", ")"));
+    }
+
+    // First application frame outside the repositories, e.g. QuizAttemptService.getMyAttempts
+    private static String caller() {
+        return STACK_WALKER.walk(frames -> frames
+                .filter(frame -> {
+                    String className = frame.getClassName();
+                    return className.startsWith(APPLICATION_PACKAGE)
+                            && !className.startsWith(REPOSITORY_PACKAGE)
+                            && !className.startsWith(PROFILING_PACKAGE)
+                            && !className.contains("$$");
+                })
+                .findFirst()
+                .map(frame -> {
+                    String className = frame.getClassName();
+                    return className.substring(className.lastIndexOf('.') + 1) + "." + frame.getMethodName();
+                })
+                .orElse("(framework)"));
+    }
+
+    // Rows returned, or affected by a modifying query; -1 where it cannot be known without consuming a stream
+    private static long rowCount(Method method, Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Stream<?> || result instanceof Iterable<?>) {
+            return -1;
+        }
+        if (result instanceof Number number && method.isAnnotationPresent(Modifying.class)) {
+            return number.longValue();
+        }
+        return 1;
+    }
+
+    private static String shape(Object argument) {
+        if (argument == null) {
+            return "null";
+        }
+        if (argument instanceof Collection<?> collection) {
+            String kind = collection instanceof List<?> ? "List" : collection instanceof Set<?> ? "Set" : "Collection";
+            return kind + "[" + collection.size() + "]";
+        }
+        if (argument instanceof Map<?, ?> map) {
+            return "Map{" + map.size() + "}";
+        }
+        if (argument.getClass().isArray()) {
+            return argument.getClass().getComponentType().getSimpleName() + "[" + java.lang.reflect.Array.getLength(argument) + "]";
+        }
+        if (argument instanceof Pageable pageable) {
+            return pageable.isPaged()
+                    ? "Pageable(page " + pageable.getPageNumber() + ", size " + pageable.getPageSize()
+                            + (pageable.getSort().isSorted() ? ", " + pageable.getSort() : "") + ")"
+                    : "Pageable(unpaged)";
+        }
+        if (argument instanceof CharSequence text) {
+            return "String(" + text.length() + ")";
+        }
+        return argument.getClass().getSimpleName();
+    }
+
+    private RepositoryMethodStatsDTO toDTO(MethodStats methodStats) {
+        LogLinearHistogram latency = methodStats.latencyNanos;
+        Map<String, Long> callers = methodStats.callers.entrySet().stream()
+                .sorted(Map.Entry.<String, LongAdder>comparingByValue(Comparator.comparingLong(LongAdder::sum)).reversed())
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().sum(),
+                        (a, b) -> a, LinkedHashMap::new));
+        return RepositoryMethodStatsDTO.builder()
+                .method(methodStats.method)
+                .calls(latency.getCount())
+                .errors(methodStats.errors.sum())
+                .slowCalls(methodStats.slowCalls.sum())
+                .totalMillis(millis(latency.getSum()))
+                .meanMillis(millis(latency.mean()))
+                .p50Millis(millis(latency.quantile(0.5)))
+                .p95Millis(millis(latency.quantile(0.95)))
+                .p99Millis(millis(latency.quantile(0.99)))
+                .maxMillis(millis(latency.getMax()))
+                .rows(methodStats.rows.sum())
+                .callers(callers)
+                .build();
+    }
+
+    private static double millis(double nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+}
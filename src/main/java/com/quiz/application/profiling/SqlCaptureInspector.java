@@ -0,0 +1,13 @@
+package com.quiz.application.profiling;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Hands every SQL statement Hibernate prepares to the repository call running on the same thread, if any
+public class SqlCaptureInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        RepositoryProfiler.captureSql(sql);
+        return sql;
+    }
+}
@@ -0,0 +1,14 @@
+package com.quiz.application.repository;
+
+import com.quiz.application.entity.ArchivedAttempt;
+
+import java.util.List;
+
+public interface ArchivedAttemptInsertRepository {
+    
+    /**
+     * Inserts archived attempts in one JDBC batch, keeping their ids and {@code created_at}. Fails on an attempt
+     * that is already archived, which rolls back the batch that moved it.
+     */
+    void insertAll(List<ArchivedAttempt> attempts);
+}
@@ -0,0 +1,39 @@
+package com.quiz.application.repository;
+
+import com.quiz.application.entity.ArchivedAttempt;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Spring Data fragment backing ArchivedAttemptInsertRepository; plain inserts because the ids are assigned
+public class ArchivedAttemptInsertRepositoryImpl implements ArchivedAttemptInsertRepository {
+    
+    private static final String INSERT =
+            "INSERT INTO archived_attempts (id, user_id, quiz_id, start_time, end_time, score_obtained, answered_count, " +
+            "total_score, percentage_score, is_passed, status, time_taken_minutes, answers, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Override
+    public void insertAll(List<ArchivedAttempt> attempts) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT, attempts.stream()
+                .map(attempt -> new Object[]{
+                        attempt.getId(), attempt.getUserId(), attempt.getQuizId(), timestamp(attempt.getStartTime()),
+                        timestamp(attempt.getEndTime()), attempt.getScoreObtained(), attempt.getAnsweredCount(),
+                        attempt.getTotalScore(), attempt.getPercentageScore(), attempt.getIsPassed(),
+                        attempt.getStatus().name(), attempt.getTimeTakenMinutes(), attempt.getAnswers(),
+                        attempt.getCreatedAt() != null ? timestamp(attempt.getCreatedAt()) : now, now
+                })
+                .toList());
+    }
+    
+    private static Timestamp timestamp(LocalDateTime time) {
+        return time != null ? Timestamp.valueOf(time) : null;
+    }
+}
@@ -0,0 +1,113 @@
+package com.quiz.application.repository;
+
+import com.quiz.application.dto.ArchivedAnswersExportRow;
+import com.quiz.application.dto.AttemptExportRow;
+import com.quiz.application.entity.ArchivedAttempt;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface ArchivedAttemptRepository extends JpaRepository<ArchivedAttempt, Long>, ArchivedAttemptInsertRepository {
+    
+    // Same shape as QuizAttemptRepository.HISTORY_SELECT; numbering archived attempts first keeps the numbers of
+    // hot attempts, which are offset by the archived count, continuous
+    String HISTORY_SELECT = "SELECT p.id AS id, p.quiz_id AS quizId, q.title AS quizTitle, " +
+            "q.time_limit_minutes AS timeLimitMinutes, p.start_time AS startTime, p.end_time AS endTime, " +
+            "p.score_obtained AS scoreObtained, p.total_score AS totalScore, p.percentage_score AS percentageScore, " +
+            "p.is_passed AS isPassed, p.time_taken_minutes AS timeTakenMinutes, p.attempt_number AS attemptNumber, " +
+            "(SELECT COUNT(*) FROM questions qs WHERE qs.quiz_id = p.quiz_id) AS totalQuestions " +
+            "FROM (SELECT h.* FROM (" +
+            "SELECT aa.id, aa.quiz_id, aa.start_time, aa.end_time, aa.score_obtained, aa.total_score, " +
+            "aa.percentage_score, aa.is_passed, aa.time_taken_minutes, " +
+            "ROW_NUMBER() OVER (PARTITION BY aa.quiz_id ORDER BY aa.created_at, aa.id) AS attempt_number " +
+            "FROM archived_attempts aa WHERE aa.user_id = :userId AND aa.status = 'COMPLETED') h ";
+    
+    @Query(value = HISTORY_SELECT + QuizAttemptRepository.HISTORY_PAGE, nativeQuery = true)
+    List<QuizAttemptRepository.AttemptHistoryView> findHistory(@Param("userId") Long userId, @Param("limit") int limit);
+    
+    @Query(value = HISTORY_SELECT +
+            "WHERE h.end_time < :beforeEndTime OR (h.end_time = :beforeEndTime AND h.id < :beforeId) " +
+            QuizAttemptRepository.HISTORY_PAGE, nativeQuery = true)
+    List<QuizAttemptRepository.AttemptHistoryView> findHistoryBefore(@Param("userId") Long userId,
+                                                                     @Param("beforeEndTime") LocalDateTime beforeEndTime,
+                                                                     @Param("beforeId") Long beforeId,
+                                                                     @Param("limit") int limit);
+    
+    List<ArchivedAttempt> findByUserIdAndQuizIdOrderById(Long userId, Long quizId);
+    
+    @Query("SELECT COUNT(aa) AS attempts, SUM(aa.scoreObtained) AS scoreSum, SUM(aa.percentageScore) AS percentageSum, " +
+            "MAX(aa.percentageScore) AS bestPercentage " +
+            "FROM ArchivedAttempt aa WHERE aa.userId = :userId AND aa.status = 'COMPLETED'")
+    CompletedTotalsView findCompletedTotalsByUserId(@Param("userId") Long userId);
+    
+    @Query("SELECT aa.quizId AS quizId, COUNT(aa) AS attemptCount FROM ArchivedAttempt aa GROUP BY aa.quizId")
+    List<QuizAttemptRepository.QuizAttemptCountView> countAttemptsGroupedByQuiz();
+    
+    @Query("SELECT COUNT(aa) FROM ArchivedAttempt aa WHERE aa.quizId = :quizId")
+    long countAttemptsByQuizId(@Param("quizId") Long quizId);
+    
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT aa.percentageScore FROM ArchivedAttempt aa " +
+            "WHERE aa.quizId = :quizId AND aa.status = 'COMPLETED' AND aa.percentageScore IS NOT NULL")
+    Stream<Double> streamCompletedPercentages(@Param("quizId") Long quizId);
+    
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.quiz.application.dto.AttemptExportRow(aa.id, u.id, u.username, aa.quizId, aa.status, " +
+            "aa.startTime, aa.endTime, aa.scoreObtained, aa.totalScore, aa.percentageScore, aa.isPassed, aa.timeTakenMinutes) " +
+            "FROM ArchivedAttempt aa JOIN User u ON u.id = aa.userId " +
+            "WHERE (:quizId IS NULL OR aa.quizId = :quizId) AND (:userId IS NULL OR aa.userId = :userId) " +
+            "AND (:from IS NULL OR aa.startTime >= :from) AND (:to IS NULL OR aa.startTime < :to) " +
+            "ORDER BY aa.id")
+    Stream<AttemptExportRow> streamForExport(@Param("quizId") Long quizId, @Param("userId") Long userId,
+                                             @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"))
+    @Query("SELECT new com.quiz.application.dto.ArchivedAnswersExportRow(aa.id, aa.userId, aa.quizId, aa.answers) " +
+            "FROM ArchivedAttempt aa " +
+            "WHERE (:quizId IS NULL OR aa.quizId = :quizId) AND (:userId IS NULL OR aa.userId = :userId) " +
+            "AND (:from IS NULL OR aa.startTime >= :from) AND (:to IS NULL OR aa.startTime < :to) " +
+            "ORDER BY aa.id")
+    Stream<ArchivedAnswersExportRow> streamAnswersForExport(@Param("quizId") Long quizId, @Param("userId") Long userId,
+                                                            @Param("from") LocalDateTime from,
+                                                            @Param("to") LocalDateTime to);
+    
+    @Query("SELECT aa FROM ArchivedAttempt aa WHERE aa.quizId = :quizId AND aa.status = 'COMPLETED' " +
+            "AND aa.id > :afterId ORDER BY aa.id")
+    List<ArchivedAttempt> findCompletedByQuizId(@Param("quizId") Long quizId, @Param("afterId") Long afterId,
+                                                Pageable pageable);
+    
+    @Modifying
+    @Query("DELETE FROM ArchivedAttempt aa WHERE aa.quizId = :quizId")
+    int deleteByQuizId(@Param("quizId") Long quizId);
+    
+    @Modifying
+    @Query("DELETE FROM ArchivedAttempt aa WHERE aa.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+    
+    interface CompletedTotalsView {
+        Long getAttempts();
+        
+        Long getScoreSum();
+        
+        Double getPercentageSum();
+        
+        Double getBestPercentage();
+    }
+}
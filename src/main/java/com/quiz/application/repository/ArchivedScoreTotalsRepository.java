@@ -0,0 +1,39 @@
+package com.quiz.application.repository;
+
+import com.quiz.application.entity.ArchivedScoreTotals;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ArchivedScoreTotalsRepository extends JpaRepository<ArchivedScoreTotals, Long>,
+        ArchivedScoreTotalsUpsertRepository {
+
+    List<ArchivedScoreTotals> findByQuizId(Long quizId);
+
+    @Query("SELECT t.userId AS userId, SUM(t.attempts) AS attempts, SUM(t.scoreSum) AS scoreSum, " +
+            "SUM(t.percentageSum) AS percentageSum FROM ArchivedScoreTotals t GROUP BY t.userId")
+    List<UserTotalsView> sumByUser();
+
+    @Modifying
+    @Query("DELETE FROM ArchivedScoreTotals t WHERE t.quizId = :quizId")
+    int deleteByQuizId(@Param("quizId") Long quizId);
+
+    @Modifying
+    @Query("DELETE FROM ArchivedScoreTotals t WHERE t.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    interface UserTotalsView {
+        Long getUserId();
+
+        Long getAttempts();
+
+        Long getScoreSum();
+
+        Double getPercentageSum();
+    }
+}
@@ -0,0 +1,14 @@
+package com.quiz.application.repository;
+
+import com.quiz.application.entity.ArchivedScoreTotals;
+
+import java.util.Collection;
+
+public interface ArchivedScoreTotalsUpsertRepository {
+
+    /**
+     * Adds each delta to the row of its (user, quiz), creating the row when missing, and keeps the higher of the
+     * two best scores. The addition happens in the database, so several instances can archive at the same time.
+     */
+    void addAll(Collection<ArchivedScoreTotals> deltas);
+}
@@ -0,0 +1,69 @@
+package com.quiz.application.repository;
+
+import com.quiz.application.entity.ArchivedScoreTotals;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Spring Data fragment backing {@link ArchivedScoreTotalsUpsertRepository}: one native upsert per (user, quiz),
+ * sent as a single JDBC batch.
+ */
+public class ArchivedScoreTotalsUpsertRepositoryImpl implements ArchivedScoreTotalsUpsertRepository {
+
+    private static final String COLUMNS = "user_id, quiz_id, attempts, score_sum, percentage_sum, best_score, " +
+            "best_percentage, created_at, updated_at";
+
+    // MySQL assigns left to right, so best_percentage is compared against the best_score it replaces
+    private static final String MYSQL_UPSERT =
+            "INSERT INTO archived_score_totals (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE attempts = attempts + VALUES(attempts), " +
+            "score_sum = score_sum + VALUES(score_sum), percentage_sum = percentage_sum + VALUES(percentage_sum), " +
+            "best_percentage = IF(VALUES(best_score) > best_score, VALUES(best_percentage), best_percentage), " +
+            "best_score = GREATEST(best_score, VALUES(best_score)), updated_at = VALUES(updated_at)";
+
+    // Standard MERGE, used by H2 in tests
+    private static final String MERGE_UPSERT =
+            "MERGE INTO archived_score_totals t " +
+            "USING (VALUES (CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS BIGINT), " +
+            "CAST(? AS DOUBLE PRECISION), CAST(? AS INT), CAST(? AS DOUBLE PRECISION), CAST(? AS TIMESTAMP), " +
+            "CAST(? AS TIMESTAMP))) AS src (" + COLUMNS + ") " +
+            "ON t.user_id = src.user_id AND t.quiz_id = src.quiz_id " +
+            "WHEN MATCHED THEN UPDATE SET attempts = t.attempts + src.attempts, " +
+            "score_sum = t.score_sum + src.score_sum, percentage_sum = t.percentage_sum + src.percentage_sum, " +
+            "best_percentage = CASE WHEN src.best_score > t.best_score THEN src.best_percentage " +
+            "ELSE t.best_percentage END, best_score = GREATEST(t.best_score, src.best_score), " +
+            "updated_at = src.updated_at " +
+            "WHEN NOT MATCHED THEN INSERT (" + COLUMNS + ") VALUES (src.user_id, src.quiz_id, src.attempts, " +
+            "src.score_sum, src.percentage_sum, src.best_score, src.best_percentage, src.created_at, src.updated_at)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String upsertSql;
+
+    @PostConstruct
+    public void init() {
+        upsertSql = NativeUpserts.isMySql(jdbcTemplate) ? MYSQL_UPSERT : MERGE_UPSERT;
+    }
+
+    @Override
+    public void addAll(Collection<ArchivedScoreTotals> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(deltas.size());
+        for (ArchivedScoreTotals delta : deltas) {
+            rows.add(new Object[]{delta.getUserId(), delta.getQuizId(), delta.getAttempts(), delta.getScoreSum(),
+                    delta.getPercentageSum(), delta.getBestScore(), delta.getBestPercentage(), now, now});
+        }
+        jdbcTemplate.batchUpdate(upsertSql, rows);
+    }
+}
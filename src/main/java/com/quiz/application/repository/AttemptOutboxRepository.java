@@ -0,0 +1,34 @@
+package com.quiz.application.repository;
+
+import com.quiz.application.entity.AttemptOutboxEvent;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface AttemptOutboxRepository extends JpaRepository<AttemptOutboxEvent, Long> {
+
+    // Keyset page of rows written before the cutoff and not dead-lettered, oldest first
+    @Query("SELECT e FROM AttemptOutboxEvent e WHERE e.id > :afterId AND e.createdAt < :cutoff " +
+            "AND e.deadLettered = false ORDER BY e.id")
+    List<AttemptOutboxEvent> findUndispatched(@Param("cutoff") LocalDateTime cutoff, @Param("afterId") Long afterId,
+                                              Pageable pageable);
+
+    // Rows already delivered by another dispatch are gone by the time the lock is granted
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM AttemptOutboxEvent e WHERE e.id IN :ids ORDER BY e.id")
+    List<AttemptOutboxEvent> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    // Waits for deliveries of the quiz's attempts already under way and holds its pending ones until commit
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM AttemptOutboxEvent e WHERE e.quizId = :quizId")
+    List<AttemptOutboxEvent> findByQuizIdForUpdate(@Param("quizId") Long quizId);
+}
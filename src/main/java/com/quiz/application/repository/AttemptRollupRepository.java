@@ -0,0 +1,53 @@
+package com.quiz.application.repository;
+
+import com.quiz.application.entity.AttemptRollup;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface AttemptRollupRepository extends JpaRepository<AttemptRollup, Long>, AttemptRollupUpsertRepository {
+
+    @Query("SELECT r FROM AttemptRollup r WHERE r.bucketStart >= :from AND r.bucketStart < :to " +
+            "AND (:quizId IS NULL OR r.quizId = :quizId) ORDER BY r.bucketStart")
+    List<AttemptRollup> findInRange(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                    @Param("quizId") Long quizId);
+
+    @Query("SELECT r.quizId AS quizId, SUM(r.started) AS started, SUM(r.completed) AS completed, " +
+            "SUM(r.abandoned) AS abandoned, SUM(r.expired) AS expired, SUM(r.passed) AS passed, " +
+            "SUM(r.failed) AS failed, SUM(r.scoreSum) AS scoreSum, SUM(r.percentageSum) AS percentageSum " +
+            "FROM AttemptRollup r WHERE r.bucketStart >= :from AND r.bucketStart < :to GROUP BY r.quizId")
+    List<QuizRollupView> sumByQuizInRange(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // Locked so that two instances compacting at the same time cannot both fold the same rows
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM AttemptRollup r WHERE r.granularity = :granularity AND r.bucketStart < :before")
+    List<AttemptRollup> findForCompaction(@Param("granularity") AttemptRollup.Granularity granularity,
+                                          @Param("before") LocalDateTime before);
+
+    interface QuizRollupView {
+        Long getQuizId();
+
+        Long getStarted();
+
+        Long getCompleted();
+
+        Long getAbandoned();
+
+        Long getExpired();
+
+        Long getPassed();
+
+        Long getFailed();
+
+        Long getScoreSum();
+
+        Double getPercentageSum();
+    }
+}
@@ -0,0 +1,14 @@
+package com.quiz.application.repository;
+
+import com.quiz.application.entity.AttemptRollup;
+
+import java.util.Collection;
+
+public interface AttemptRollupUpsertRepository {
+
+    /**
+     * Adds the counters of each delta to the row of its (bucket, quiz, granularity), creating the row when
+     * missing. The addition happens in the database, so several instances can flush into the same bucket.
+     */
+    void incrementAll(Collection<AttemptRollup> deltas);
+}
@@ -0,0 +1,73 @@
+package com.quiz.application.repository;
+
+import com.quiz.application.entity.AttemptRollup;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Spring Data fragment backing {@link AttemptRollupUpsertRepository}: one native upsert per bucket, sent as a
+ * single JDBC batch.
+ */
+public class AttemptRollupUpsertRepositoryImpl implements AttemptRollupUpsertRepository {
+
+    private static final String COLUMNS = "granularity, bucket_start, quiz_id, started, completed, abandoned, expired, " +
+            "passed, failed, score_sum, percentage_sum, created_at, updated_at";
+
+    private static final String MYSQL_UPSERT =
+            "INSERT INTO attempt_rollups (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE started = started + VALUES(started), completed = completed + VALUES(completed), " +
+            "abandoned = abandoned + VALUES(abandoned), expired = expired + VALUES(expired), " +
+            "passed = passed + VALUES(passed), failed = failed + VALUES(failed), " +
+            "score_sum = score_sum + VALUES(score_sum), percentage_sum = percentage_sum + VALUES(percentage_sum), " +
+            "updated_at = VALUES(updated_at)";
+
+    // Standard MERGE, used by H2 in tests
+    private static final String MERGE_UPSERT =
+            "MERGE INTO attempt_rollups r " +
+            "USING (VALUES (CAST(? AS VARCHAR(10)), CAST(? AS TIMESTAMP), CAST(? AS BIGINT), CAST(? AS BIGINT), " +
+            "CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS BIGINT), " +
+            "CAST(? AS BIGINT), CAST(? AS DOUBLE PRECISION), CAST(? AS TIMESTAMP), CAST(? AS TIMESTAMP))) " +
+            "AS src (" + COLUMNS + ") " +
+            "ON r.bucket_start = src.bucket_start AND r.quiz_id = src.quiz_id AND r.granularity = src.granularity " +
+            "WHEN MATCHED THEN UPDATE SET started = r.started + src.started, completed = r.completed + src.completed, " +
+            "abandoned = r.abandoned + src.abandoned, expired = r.expired + src.expired, " +
+            "passed = r.passed + src.passed, failed = r.failed + src.failed, " +
+            "score_sum = r.score_sum + src.score_sum, percentage_sum = r.percentage_sum + src.percentage_sum, " +
+            "updated_at = src.updated_at " +
+            "WHEN NOT MATCHED THEN INSERT (" + COLUMNS + ") VALUES (src.granularity, src.bucket_start, src.quiz_id, " +
+            "src.started, src.completed, src.abandoned, src.expired, src.passed, src.failed, src.score_sum, " +
+            "src.percentage_sum, src.created_at, src.updated_at)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String upsertSql;
+
+    @PostConstruct
+    public void init() {
+        upsertSql = NativeUpserts.isMySql(jdbcTemplate) ? MYSQL_UPSERT : MERGE_UPSERT;
+    }
+
+    @Override
+    public void incrementAll(Collection<AttemptRollup> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(deltas.size());
+        for (AttemptRollup delta : deltas) {
+            rows.add(new Object[]{delta.getGranularity().name(), Timestamp.valueOf(delta.getBucketStart()),
+                    delta.getQuizId(), delta.getStarted(), delta.getCompleted(), delta.getAbandoned(),
+                    delta.getExpired(), delta.getPassed(), delta.getFailed(), delta.getScoreSum(),
+                    delta.getPercentageSum(), now, now});
+        }
+        jdbcTemplate.batchUpdate(upsertSql, rows);
+    }
+}
@@ -0,0 +1,15 @@
+package com.quiz.application.repository;
+
+import com.quiz.application.entity.QuestionOptionStats;
+import com.quiz.application.entity.QuestionStats;
+
+import java.util.Collection;
+
+public interface ItemStatsUpsertRepository {
+
+    /**
+     * Adds each delta to the stored sums of its question or option, creating the row when missing. Both
+     * collections are sent as JDBC batches on the connection of the surrounding transaction.
+     */
+    void incrementAll(Collection<QuestionStats> questionDeltas, Collection<QuestionOptionStats> optionDeltas);
+}
@@ -0,0 +1,94 @@
+package com.quiz.application.repository;
+
+import com.quiz.application.entity.QuestionOptionStats;
+import com.quiz.application.entity.QuestionStats;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Spring Data fragment backing {@link ItemStatsUpsertRepository}.
+ */
+public class ItemStatsUpsertRepositoryImpl implements ItemStatsUpsertRepository {
+
+    private static final String QUESTION_COLUMNS = "question_id, quiz_id, responses, correct, rest_score_sum, " +
+            "rest_score_square_sum, correct_rest_score_sum, created_at, updated_at";
+
+    private static final String MYSQL_QUESTION_UPSERT =
+            "INSERT INTO question_stats (" + QUESTION_COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE responses = responses + VALUES(responses), correct = correct + VALUES(correct), " +
+            "rest_score_sum = rest_score_sum + VALUES(rest_score_sum), " +
+            "rest_score_square_sum = rest_score_square_sum + VALUES(rest_score_square_sum), " +
+            "correct_rest_score_sum = correct_rest_score_sum + VALUES(correct_rest_score_sum), " +
+            "updated_at = VALUES(updated_at)";
+
+    private static final String MERGE_QUESTION_UPSERT =
+            "MERGE INTO question_stats s " +
+            "USING (VALUES (CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS BIGINT), " +
+            "CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS TIMESTAMP), CAST(? AS TIMESTAMP))) " +
+            "AS src (" + QUESTION_COLUMNS + ") ON s.question_id = src.question_id " +
+            "WHEN MATCHED THEN UPDATE SET responses = s.responses + src.responses, correct = s.correct + src.correct, " +
+            "rest_score_sum = s.rest_score_sum + src.rest_score_sum, " +
+            "rest_score_square_sum = s.rest_score_square_sum + src.rest_score_square_sum, " +
+            "correct_rest_score_sum = s.correct_rest_score_sum + src.correct_rest_score_sum, " +
+            "updated_at = src.updated_at " +
+            "WHEN NOT MATCHED THEN INSERT (" + QUESTION_COLUMNS + ") VALUES (src.question_id, src.quiz_id, " +
+            "src.responses, src.correct, src.rest_score_sum, src.rest_score_square_sum, src.correct_rest_score_sum, " +
+            "src.created_at, src.updated_at)";
+
+    private static final String OPTION_COLUMNS = "option_id, question_id, selected_count, created_at, updated_at";
+
+    private static final String MYSQL_OPTION_UPSERT =
+            "INSERT INTO question_option_stats (" + OPTION_COLUMNS + ") VALUES (?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE selected_count = selected_count + VALUES(selected_count), " +
+            "updated_at = VALUES(updated_at)";
+
+    private static final String MERGE_OPTION_UPSERT =
+            "MERGE INTO question_option_stats s " +
+            "USING (VALUES (CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS TIMESTAMP), " +
+            "CAST(? AS TIMESTAMP))) AS src (" + OPTION_COLUMNS + ") ON s.option_id = src.option_id " +
+            "WHEN MATCHED THEN UPDATE SET selected_count = s.selected_count + src.selected_count, " +
+            "updated_at = src.updated_at " +
+            "WHEN NOT MATCHED THEN INSERT (" + OPTION_COLUMNS + ") VALUES (src.option_id, src.question_id, " +
+            "src.selected_count, src.created_at, src.updated_at)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String questionUpsertSql;
+
+    private String optionUpsertSql;
+
+    @PostConstruct
+    public void init() {
+        boolean mysql = NativeUpserts.isMySql(jdbcTemplate);
+        questionUpsertSql = mysql ? MYSQL_QUESTION_UPSERT : MERGE_QUESTION_UPSERT;
+        optionUpsertSql = mysql ? MYSQL_OPTION_UPSERT : MERGE_OPTION_UPSERT;
+    }
+
+    @Override
+    public void incrementAll(Collection<QuestionStats> questionDeltas, Collection<QuestionOptionStats> optionDeltas) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        if (!questionDeltas.isEmpty()) {
+            List<Object[]> rows = new ArrayList<>(questionDeltas.size());
+            for (QuestionStats delta : questionDeltas) {
+                rows.add(new Object[]{delta.getQuestionId(), delta.getQuizId(), delta.getResponses(), delta.getCorrect(),
+                        delta.getRestScoreSum(), delta.getRestScoreSquareSum(), delta.getCorrectRestScoreSum(), now, now});
+            }
+            jdbcTemplate.batchUpdate(questionUpsertSql, rows);
+        }
+        if (!optionDeltas.isEmpty()) {
+            List<Object[]> rows = new ArrayList<>(optionDeltas.size());
+            for (QuestionOptionStats delta : optionDeltas) {
+                rows.add(new Object[]{delta.getOptionId(), delta.getQuestionId(), delta.getSelectedCount(), now, now});
+            }
+            jdbcTemplate.batchUpdate(optionUpsertSql, rows);
+        }
+    }
+}
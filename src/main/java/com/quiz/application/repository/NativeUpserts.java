@@ -0,0 +1,17 @@
+package com.quiz.application.repository;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+// Picks between the MySQL and the standard MERGE form of the native upserts in this package
+final class NativeUpserts {
+
+    private NativeUpserts() {
+    }
+
+    static boolean isMySql(JdbcTemplate jdbcTemplate) {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        return product != null && (product.contains("MySQL") || product.contains("MariaDB"));
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -15,4 +16,19 @@ public interface QuestionOptionRepository extends JpaRepository<QuestionOption,
     
     @Query("SELECT o FROM QuestionOption o WHERE o.question.id = :questionId AND o.isCorrect = true")
     List<QuestionOption> findCorrectOptionsByQuestionId(@Param("questionId") Long questionId);
+    
+    // In OptionBitmask order within each question
+    @Query("SELECT o.question.id AS questionId, o.id AS optionId FROM QuestionOption o " +
+            "WHERE o.question.id IN :questionIds ORDER BY o.question.id, o.optionOrder, o.id")
+    List<OptionIdView> findOrderedIdsByQuestionIds(@Param("questionIds") Collection<Long> questionIds);
+    
+    @Query("SELECT o.question.id AS questionId, o.id AS optionId FROM QuestionOption o " +
+            "WHERE o.question.quiz.id = :quizId ORDER BY o.question.id, o.optionOrder, o.id")
+    List<OptionIdView> findOrderedIdsByQuizId(@Param("quizId") Long quizId);
+    
+    interface OptionIdView {
+        Long getQuestionId();
+        
+        Long getOptionId();
+    }
 }
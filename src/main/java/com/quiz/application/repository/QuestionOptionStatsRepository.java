@@ -0,0 +1,21 @@
+package com.quiz.application.repository;
+
+import com.quiz.application.entity.QuestionOptionStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface QuestionOptionStatsRepository extends JpaRepository<QuestionOptionStats, Long> {
+
+    List<QuestionOptionStats> findByQuestionIdIn(Collection<Long> questionIds);
+
+    @Modifying
+    @Query("DELETE FROM QuestionOptionStats s WHERE s.questionId IN :questionIds")
+    int deleteByQuestionIds(@Param("questionIds") Collection<Long> questionIds);
+}
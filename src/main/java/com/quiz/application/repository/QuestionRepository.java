@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,6 +21,40 @@ public interface QuestionRepository extends JpaRepository<Question, Long> {
     @Query("SELECT q FROM Question q LEFT JOIN FETCH q.options WHERE q.quiz.id = :quizId ORDER BY q.questionOrder")
     List<Question> findByQuizIdWithOptions(@Param("quizId") Long quizId);
     
+    @Query("SELECT q FROM Question q LEFT JOIN FETCH q.options WHERE q.id IN :ids ORDER BY q.questionOrder")
+    List<Question> findByIdsWithOptions(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT q FROM Question q LEFT JOIN FETCH q.options WHERE q.id IN " +
+            "(SELECT ua.question.id FROM UserAnswer ua WHERE ua.quizAttempt.id IN :attemptIds)")
+    List<Question> findAnsweredWithOptionsByAttemptIds(@Param("attemptIds") Collection<Long> attemptIds);
+    
     @Query("SELECT COUNT(q) FROM Question q WHERE q.quiz.id = :quizId")
     Long countByQuizId(@Param("quizId") Long quizId);
+    
+    @Query("SELECT q.quiz.id AS quizId, q.questionText AS questionText FROM Question q WHERE q.quiz.id IN :quizIds")
+    List<QuestionTextView> findQuestionTextsByQuizIds(@Param("quizIds") Collection<Long> quizIds);
+    
+    @Query("SELECT q.quiz.id AS quizId, COUNT(q) AS questionCount FROM Question q WHERE q.quiz.id IN :quizIds GROUP BY q.quiz.id")
+    List<QuestionCountView> countByQuizIds(@Param("quizIds") Collection<Long> quizIds);
+    
+    @Query("SELECT q.quiz.id AS quizId, q.id AS questionId FROM Question q WHERE q.quiz.id IN :quizIds")
+    List<QuestionIdView> findIdsByQuizIds(@Param("quizIds") Collection<Long> quizIds);
+    
+    interface QuestionIdView {
+        Long getQuizId();
+        
+        Long getQuestionId();
+    }
+    
+    interface QuestionTextView {
+        Long getQuizId();
+        
+        String getQuestionText();
+    }
+    
+    interface QuestionCountView {
+        Long getQuizId();
+        
+        Long getQuestionCount();
+    }
 }
@@ -0,0 +1,20 @@
+package com.quiz.application.repository;
+
+import com.quiz.application.entity.QuestionStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface QuestionStatsRepository extends JpaRepository<QuestionStats, Long>, ItemStatsUpsertRepository {
+
+    List<QuestionStats> findByQuizId(Long quizId);
+
+    @Modifying
+    @Query("DELETE FROM QuestionStats s WHERE s.quizId = :quizId")
+    int deleteByQuizId(@Param("quizId") Long quizId);
+}
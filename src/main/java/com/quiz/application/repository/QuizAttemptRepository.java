@@ -1,13 +1,24 @@
 package com.quiz.application.repository;
 
+import com.quiz.application.dto.AttemptExportRow;
 import com.quiz.application.entity.QuizAttempt;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface QuizAttemptRepository extends JpaRepository<QuizAttempt, Long> {
@@ -29,4 +40,143 @@ public interface QuizAttemptRepository extends JpaRepository<QuizAttempt, Long>
     
     @Query("SELECT qa FROM QuizAttempt qa WHERE qa.status = 'COMPLETED' ORDER BY qa.scoreObtained DESC")
     List<QuizAttempt> findAllCompletedOrderedByScore();
+    
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.quiz.application.dto.AttemptExportRow(qa.id, u.id, u.username, qa.quiz.id, qa.status, " +
+            "qa.startTime, qa.endTime, qa.scoreObtained, qa.totalScore, qa.percentageScore, qa.isPassed, qa.timeTakenMinutes) " +
+            "FROM QuizAttempt qa JOIN qa.user u " +
+            "WHERE (:quizId IS NULL OR qa.quiz.id = :quizId) AND (:userId IS NULL OR u.id = :userId) " +
+            "AND (:from IS NULL OR qa.startTime >= :from) AND (:to IS NULL OR qa.startTime < :to) " +
+            "ORDER BY qa.id")
+    Stream<AttemptExportRow> streamForExport(@Param("quizId") Long quizId, @Param("userId") Long userId,
+                                             @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
+    @Query("SELECT qa.quiz.id AS quizId, COUNT(qa) AS attemptCount FROM QuizAttempt qa GROUP BY qa.quiz.id")
+    List<QuizAttemptCountView> countAttemptsGroupedByQuiz();
+    
+    @Query("SELECT COUNT(qa) FROM QuizAttempt qa WHERE qa.quiz.id = :quizId")
+    long countAttemptsByQuizId(@Param("quizId") Long quizId);
+    
+    interface QuizAttemptCountView {
+        Long getQuizId();
+        
+        Long getAttemptCount();
+    }
+    
+    // Completed attempts of one user numbered per quiz in start order, after any archived ones; the keyset
+    // condition and LIMIT apply to the numbered rows, and quiz details are only joined for the rows of the page
+    String HISTORY_SELECT = "SELECT p.id AS id, p.quiz_id AS quizId, q.title AS quizTitle, " +
+            "q.time_limit_minutes AS timeLimitMinutes, p.start_time AS startTime, p.end_time AS endTime, " +
+            "p.score_obtained AS scoreObtained, p.total_score AS totalScore, p.percentage_score AS percentageScore, " +
+            "p.is_passed AS isPassed, p.time_taken_minutes AS timeTakenMinutes, " +
+            "p.attempt_number + (SELECT COUNT(*) FROM archived_attempts aa WHERE aa.user_id = :userId " +
+            "AND aa.quiz_id = p.quiz_id AND aa.status = 'COMPLETED') AS attemptNumber, " +
+            "(SELECT COUNT(*) FROM questions qs WHERE qs.quiz_id = p.quiz_id) AS totalQuestions " +
+            "FROM (SELECT h.* FROM (" +
+            "SELECT qa.id, qa.quiz_id, qa.start_time, qa.end_time, qa.score_obtained, qa.total_score, " +
+            "qa.percentage_score, qa.is_passed, qa.time_taken_minutes, " +
+            "ROW_NUMBER() OVER (PARTITION BY qa.quiz_id ORDER BY qa.created_at, qa.id) AS attempt_number " +
+            "FROM quiz_attempts qa WHERE qa.user_id = :userId AND qa.status = 'COMPLETED') h ";
+    
+    String HISTORY_PAGE = "ORDER BY h.end_time DESC, h.id DESC LIMIT :limit) p " +
+            "JOIN quizzes q ON q.id = p.quiz_id " +
+            "ORDER BY p.end_time DESC, p.id DESC";
+    
+    @Query(value = HISTORY_SELECT + HISTORY_PAGE, nativeQuery = true)
+    List<AttemptHistoryView> findHistory(@Param("userId") Long userId, @Param("limit") int limit);
+    
+    @Query(value = HISTORY_SELECT +
+            "WHERE h.end_time < :beforeEndTime OR (h.end_time = :beforeEndTime AND h.id < :beforeId) " +
+            HISTORY_PAGE, nativeQuery = true)
+    List<AttemptHistoryView> findHistoryBefore(@Param("userId") Long userId,
+                                               @Param("beforeEndTime") LocalDateTime beforeEndTime,
+                                               @Param("beforeId") Long beforeId, @Param("limit") int limit);
+    
+    interface AttemptHistoryView {
+        Long getId();
+        
+        Long getQuizId();
+        
+        String getQuizTitle();
+        
+        Integer getTimeLimitMinutes();
+        
+        LocalDateTime getStartTime();
+        
+        LocalDateTime getEndTime();
+        
+        Integer getScoreObtained();
+        
+        Integer getTotalScore();
+        
+        Double getPercentageScore();
+        
+        Boolean getIsPassed();
+        
+        Integer getTimeTakenMinutes();
+        
+        Integer getAttemptNumber();
+        
+        Integer getTotalQuestions();
+    }
+    
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    // Only attempts the completion pipeline will not deliver again: delivered, or dead-lettered in the outbox
+    @Query("SELECT qa.percentageScore FROM QuizAttempt qa " +
+            "WHERE qa.quiz.id = :quizId AND qa.status = 'COMPLETED' AND qa.percentageScore IS NOT NULL " +
+            "AND NOT EXISTS (SELECT 1 FROM AttemptOutboxEvent e WHERE e.attemptId = qa.id AND e.deadLettered = false)")
+    Stream<Double> streamDeliveredPercentages(@Param("quizId") Long quizId);
+    
+    @Query("SELECT qa.id AS attemptId, qa.scoreObtained AS scoreObtained FROM QuizAttempt qa " +
+            "WHERE qa.quiz.id = :quizId AND qa.status = 'COMPLETED' AND qa.id > :afterId ORDER BY qa.id")
+    List<CompletedScoreView> findCompletedScores(@Param("quizId") Long quizId, @Param("afterId") Long afterId,
+                                                 Pageable pageable);
+    
+    interface CompletedScoreView {
+        Long getAttemptId();
+        
+        Integer getScoreObtained();
+    }
+    
+    @Query("SELECT qa.id FROM QuizAttempt qa WHERE qa.status <> 'IN_PROGRESS' AND qa.endTime < :cutoff " +
+            "ORDER BY qa.endTime")
+    List<Long> findArchivableIds(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+    
+    @Query("SELECT DISTINCT qa FROM QuizAttempt qa LEFT JOIN FETCH qa.answers WHERE qa.id IN :ids")
+    List<QuizAttempt> findAllWithAnswersByIds(@Param("ids") Collection<Long> ids);
+    
+    // Answers must be deleted first; see UserAnswerRepository.deleteByAttemptIds
+    @Modifying
+    @Query(value = "DELETE FROM quiz_attempts WHERE id IN :ids", nativeQuery = true)
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT qa FROM QuizAttempt qa WHERE qa.id = :id")
+    Optional<QuizAttempt> findByIdForUpdate(@Param("id") Long id);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT qa FROM QuizAttempt qa WHERE qa.id IN :ids AND qa.status = 'IN_PROGRESS'")
+    List<QuizAttempt> findInProgressByIdsForUpdate(@Param("ids") Collection<Long> ids);
+    
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT qa.id AS attemptId, qa.startTime AS startTime, q.timeLimitMinutes AS timeLimitMinutes " +
+            "FROM QuizAttempt qa JOIN qa.quiz q WHERE qa.status = 'IN_PROGRESS'")
+    Stream<InProgressAttemptView> streamInProgress();
+    
+    interface InProgressAttemptView {
+        Long getAttemptId();
+        
+        LocalDateTime getStartTime();
+        
+        Integer getTimeLimitMinutes();
+    }
 }
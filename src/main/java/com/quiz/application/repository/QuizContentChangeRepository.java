@@ -0,0 +1,23 @@
+package com.quiz.application.repository;
+
+import com.quiz.application.entity.QuizContentChange;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface QuizContentChangeRepository extends JpaRepository<QuizContentChange, Long> {
+
+    List<QuizContentChange> findByQuizIdAndVersionGreaterThan(Long quizId, long version);
+
+    List<QuizContentChange> findByQuizIdAndQuestionIdIn(Long quizId, Collection<Long> questionIds);
+
+    @Modifying
+    @Query("DELETE FROM QuizContentChange c WHERE c.quizId = :quizId")
+    int deleteByQuizId(@Param("quizId") Long quizId);
+}
@@ -2,6 +2,7 @@ package com.quiz.application.repository;
 
 import com.quiz.application.entity.Quiz;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -22,4 +23,14 @@ public interface QuizRepository extends JpaRepository<Quiz, Long> {
     
     @Query("SELECT q FROM Quiz q WHERE q.createdBy.id = :userId")
     List<Quiz> findByCreatedBy(@Param("userId") Long userId);
+    
+    List<Quiz> findTop500ByIdGreaterThanOrderByIdAsc(Long afterId);
+    
+    // Locking read: holds the quiz row until the transaction ends and sees the latest committed version
+    @Query(value = "SELECT content_version FROM quizzes WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Long lockContentVersion(@Param("id") Long id);
+    
+    @Modifying
+    @Query("UPDATE Quiz q SET q.contentVersion = :version WHERE q.id = :id")
+    int updateContentVersion(@Param("id") Long id, @Param("version") long version);
 }
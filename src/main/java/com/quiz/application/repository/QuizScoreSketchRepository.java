@@ -0,0 +1,19 @@
+package com.quiz.application.repository;
+
+import com.quiz.application.entity.QuizScoreSketch;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface QuizScoreSketchRepository extends JpaRepository<QuizScoreSketch, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM QuizScoreSketch s WHERE s.quizId = :quizId")
+    Optional<QuizScoreSketch> findByIdForUpdate(@Param("quizId") Long quizId);
+}
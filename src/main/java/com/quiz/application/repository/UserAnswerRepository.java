@@ -1,19 +1,104 @@
 package com.quiz.application.repository;
 
+import com.quiz.application.dto.AnswerExportRow;
 import com.quiz.application.entity.UserAnswer;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface UserAnswerRepository extends JpaRepository<UserAnswer, Long> {
+public interface UserAnswerRepository extends JpaRepository<UserAnswer, Long>, UserAnswerUpsertRepository {
     
     List<UserAnswer> findByQuizAttemptId(Long quizAttemptId);
     
     @Query("SELECT ua FROM UserAnswer ua WHERE ua.quizAttempt.id = :attemptId AND ua.question.id = :questionId")
     Optional<UserAnswer> findByQuizAttemptIdAndQuestionId(@Param("attemptId") Long attemptId, @Param("questionId") Long questionId);
+    
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.quiz.application.dto.AnswerExportRow(ua.id, qa.id, qa.user.id, qa.quiz.id, ua.question.id, " +
+            "ua.isCorrect, ua.pointsEarned, ua.createdAt, ua.selectedOptionsMask, o.id) " +
+            "FROM UserAnswer ua JOIN ua.quizAttempt qa LEFT JOIN ua.selectedOptions o " +
+            "WHERE (:quizId IS NULL OR qa.quiz.id = :quizId) AND (:userId IS NULL OR qa.user.id = :userId) " +
+            "AND (:from IS NULL OR qa.startTime >= :from) AND (:to IS NULL OR qa.startTime < :to) " +
+            "ORDER BY ua.id")
+    Stream<AnswerExportRow> streamForExport(@Param("quizId") Long quizId, @Param("userId") Long userId,
+                                            @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
+    @Query("SELECT ua.quizAttempt.id AS attemptId, SUM(ua.pointsEarned) AS pointsEarned, COUNT(ua) AS answerCount " +
+            "FROM UserAnswer ua WHERE ua.quizAttempt.id IN :attemptIds GROUP BY ua.quizAttempt.id")
+    List<AttemptScoreView> sumPointsByAttemptIds(@Param("attemptIds") Collection<Long> attemptIds);
+    
+    @Query("SELECT ua.quizAttempt.id AS attemptId, ua.question.id AS questionId, ua.isCorrect AS isCorrect, " +
+            "ua.pointsEarned AS pointsEarned, ua.selectedOptionsMask AS selectedOptionsMask, o.id AS optionId " +
+            "FROM UserAnswer ua LEFT JOIN ua.selectedOptions o WHERE ua.quizAttempt.id IN :attemptIds")
+    List<AnswerOptionView> findAnswerOptionsByAttemptIds(@Param("attemptIds") Collection<Long> attemptIds);
+    
+    @Query("SELECT ua.id AS answerId, ua.question.id AS questionId FROM UserAnswer ua " +
+            "WHERE ua.selectedOptionsMask IS NULL AND ua.id > :afterId ORDER BY ua.id")
+    List<UnmaskedAnswerView> findUnmaskedAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT ua.id AS answerId, o.id AS optionId FROM UserAnswer ua JOIN ua.selectedOptions o " +
+            "WHERE ua.id IN :answerIds")
+    List<SelectedOptionView> findSelectedOptionIds(@Param("answerIds") Collection<Long> answerIds);
+    
+    @Modifying
+    @Query(value = "DELETE FROM user_answer_options WHERE user_answer_id IN " +
+            "(SELECT id FROM user_answers WHERE quiz_attempt_id IN :attemptIds)", nativeQuery = true)
+    int deleteOptionsByAttemptIds(@Param("attemptIds") Collection<Long> attemptIds);
+    
+    // Option rows must be deleted first; see deleteOptionsByAttemptIds
+    @Modifying
+    @Query(value = "DELETE FROM user_answers WHERE quiz_attempt_id IN :attemptIds", nativeQuery = true)
+    int deleteByAttemptIds(@Param("attemptIds") Collection<Long> attemptIds);
+    
+    interface UnmaskedAnswerView {
+        Long getAnswerId();
+        
+        Long getQuestionId();
+    }
+    
+    interface SelectedOptionView {
+        Long getAnswerId();
+        
+        Long getOptionId();
+    }
+    
+    // One row per selected option, or a single row with a null option for an answer without selections.
+    // Answers with an option mask have no option rows.
+    interface AnswerOptionView {
+        Long getAttemptId();
+        
+        Long getQuestionId();
+        
+        Boolean getIsCorrect();
+        
+        Integer getPointsEarned();
+        
+        Long getSelectedOptionsMask();
+        
+        Long getOptionId();
+    }
+    
+    interface AttemptScoreView {
+        Long getAttemptId();
+        
+        Long getPointsEarned();
+        
+        Long getAnswerCount();
+    }
 }
@@ -0,0 +1,32 @@
+package com.quiz.application.repository;
+
+import lombok.Value;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface UserAnswerUpsertRepository {
+    
+    /**
+     * Inserts or replaces the answer for an (attempt, question) pair together with its selected options.
+     * Relies on the unique key on (quiz_attempt_id, question_id), so concurrent submissions for the same
+     * question converge on a single row instead of racing a read-then-insert. The points of the replaced
+     * answer are only exact when the caller holds the attempt's row lock. With an option mask the selection
+     * is stored on the answer row and no {@code user_answer_options} rows are written.
+     */
+    UpsertResult upsertAnswer(Long attemptId, Long questionId, Collection<Long> optionIds, Long optionMask,
+                              boolean isCorrect, int pointsEarned);
+    
+    /**
+     * Moves the selections of answers still kept in {@code user_answer_options} onto their option masks.
+     * Answers that gained a mask in the meantime are left alone. Returns the number of answers moved.
+     */
+    int storeOptionMasks(Map<Long, Long> masksByAnswerId);
+    
+    @Value
+    class UpsertResult {
+        Long answerId;
+        // Null when the question had not been answered before
+        Integer previousPoints;
+    }
+}
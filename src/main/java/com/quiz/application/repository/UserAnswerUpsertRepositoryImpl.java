@@ -0,0 +1,141 @@
+package com.quiz.application.repository;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Spring Data fragment backing {@link UserAnswerUpsertRepository}. Runs on the JDBC connection of the
+ * surrounding JPA transaction; the answer row is written with a single native upsert that also returns its id,
+ * and the option rows, when the selection is not kept as a mask, are written in one JDBC batch. The previous
+ * answer is read first so callers can adjust running totals.
+ */
+public class UserAnswerUpsertRepositoryImpl implements UserAnswerUpsertRepository {
+    
+    private static final String MYSQL_UPSERT =
+            "INSERT INTO user_answers (quiz_attempt_id, question_id, selected_options_mask, is_correct, points_earned, " +
+            "created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?) " +
+            // Makes the id of an updated row the statement's generated key, as it is for an inserted one
+            "ON DUPLICATE KEY UPDATE id = LAST_INSERT_ID(id), selected_options_mask = VALUES(selected_options_mask), " +
+            "is_correct = VALUES(is_correct), points_earned = VALUES(points_earned), updated_at = VALUES(updated_at)";
+    
+    // Standard MERGE, used by H2 in tests; keeps created_at of an existing answer like the MySQL form does
+    private static final String MERGE_UPSERT =
+            "MERGE INTO user_answers ua " +
+            "USING (VALUES (CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS BOOLEAN), " +
+            "CAST(? AS INT), CAST(? AS TIMESTAMP), CAST(? AS TIMESTAMP))) " +
+            "AS src (quiz_attempt_id, question_id, selected_options_mask, is_correct, points_earned, created_at, updated_at) " +
+            "ON ua.quiz_attempt_id = src.quiz_attempt_id AND ua.question_id = src.question_id " +
+            "WHEN MATCHED THEN UPDATE SET selected_options_mask = src.selected_options_mask, " +
+            "is_correct = src.is_correct, points_earned = src.points_earned, updated_at = src.updated_at " +
+            "WHEN NOT MATCHED THEN INSERT (quiz_attempt_id, question_id, selected_options_mask, is_correct, " +
+            "points_earned, created_at, updated_at) " +
+            "VALUES (src.quiz_attempt_id, src.question_id, src.selected_options_mask, src.is_correct, " +
+            "src.points_earned, src.created_at, src.updated_at)";
+    
+    // A unique-key lookup; ON DUPLICATE KEY UPDATE has no way to hand back the values it replaced
+    private static final String SELECT_EXISTING =
+            "SELECT points_earned, selected_options_mask FROM user_answers WHERE quiz_attempt_id = ? AND question_id = ?";
+    
+    private static final String DELETE_OPTIONS = "DELETE FROM user_answer_options WHERE user_answer_id = ?";
+    
+    private static final String INSERT_OPTION = "INSERT INTO user_answer_options (user_answer_id, option_id) VALUES (?, ?)";
+    
+    private static final String SET_MASK =
+            "UPDATE user_answers SET selected_options_mask = ? WHERE id = ? AND selected_options_mask IS NULL";
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    private String upsertSql;
+    
+    @PostConstruct
+    public void init() {
+        upsertSql = NativeUpserts.isMySql(jdbcTemplate) ? MYSQL_UPSERT : MERGE_UPSERT;
+    }
+    
+    @Override
+    public UpsertResult upsertAnswer(Long attemptId, Long questionId, Collection<Long> optionIds, Long optionMask,
+                                     boolean isCorrect, int pointsEarned) {
+        List<Previous> existing = jdbcTemplate.query(SELECT_EXISTING,
+                (rs, rowNum) -> new Previous(rs.getInt("points_earned"), rs.getObject("selected_options_mask") == null),
+                attemptId, questionId);
+        
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Object[] args = {attemptId, questionId, optionMask, isCorrect, pointsEarned, now, now};
+        boolean raced = false;
+        Long answerId;
+        try {
+            answerId = upsert(args);
+        } catch (DuplicateKeyException e) {
+            // MERGE is not atomic against a concurrent insert of the same key: the loser sees the
+            // unique-key violation, and by now the row exists so the retry takes the update branch
+            answerId = upsert(args);
+            raced = true;
+        }
+        
+        // Only an answer that may have kept its selection in user_answer_options has rows to clear
+        if (raced || (!existing.isEmpty() && existing.get(0).isOptionRows())) {
+            jdbcTemplate.update(DELETE_OPTIONS, answerId);
+        }
+        if (optionMask == null && !optionIds.isEmpty()) {
+            List<Object[]> rows = new ArrayList<>(optionIds.size());
+            for (Long optionId : optionIds) {
+                rows.add(new Object[]{answerId, optionId});
+            }
+            jdbcTemplate.batchUpdate(INSERT_OPTION, rows);
+        }
+        return new UpsertResult(answerId, existing.isEmpty() ? null : existing.get(0).getPoints());
+    }
+    
+    // The upsert holds the row lock until commit, so concurrent submissions serialize from here on
+    private Long upsert(Object[] args) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(upsertSql, new String[]{"id"});
+            new ArgumentPreparedStatementSetter(args).setValues(statement);
+            return statement;
+        }, keyHolder);
+        // MySQL reports two affected rows for an update and may hand out a key for each; the first is the row's
+        return ((Number) keyHolder.getKeyList().get(0).values().iterator().next()).longValue();
+    }
+    
+    @Override
+    public int storeOptionMasks(Map<Long, Long> masksByAnswerId) {
+        List<Long> answerIds = new ArrayList<>(masksByAnswerId.keySet());
+        int[] updated = jdbcTemplate.batchUpdate(SET_MASK, answerIds.stream()
+                .map(answerId -> new Object[]{masksByAnswerId.get(answerId), answerId})
+                .toList());
+        // Only clear the rows of answers whose mask was set here; a concurrent re-answer already replaced them
+        List<Object[]> moved = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] != 0) {
+                moved.add(new Object[]{answerIds.get(i)});
+            }
+        }
+        if (!moved.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE_OPTIONS, moved);
+        }
+        return moved.size();
+    }
+    
+    @lombok.Value
+    private static class Previous {
+        int points;
+        // No mask: the selection may be in user_answer_options
+        boolean optionRows;
+    }
+}
@@ -0,0 +1,142 @@
+package com.quiz.application.scheduling;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hierarchical timing wheel keyed by an arbitrary id. Level 0 has one slot per tick; every higher level has
+ * slots {@value #WHEEL_SIZE} times wider and cascades its entries down one level when the lower wheel wraps.
+ * Scheduling and cancelling are O(1); advancing costs O(1) per tick plus the entries that expire or cascade.
+ * Deadlines beyond the top level's range are parked in its furthest slot and re-placed each time it cascades.
+ */
+public class TimingWheel<K> {
+
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+    private final long tickMillis;
+    private final int levels;
+    private final List<ArrayDeque<Entry<K>>[]> wheels = new ArrayList<>();
+    private final Map<K, Entry<K>> entries = new HashMap<>();
+    private long currentTick;
+
+    private static class Entry<K> {
+        private final K key;
+        private final long deadlineTick;
+        private boolean cancelled;
+
+        Entry(K key, long deadlineTick) {
+            this.key = key;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+
+    public TimingWheel(long tickMillis, int levels, long startMillis) {
+        if (tickMillis <= 0 || levels < 1 || levels * WHEEL_BITS > 60) {
+            throw new IllegalArgumentException("Invalid timing wheel configuration");
+        }
+        this.tickMillis = tickMillis;
+        this.levels = levels;
+        this.currentTick = startMillis / tickMillis;
+        for (int level = 0; level < levels; level++) {
+            @SuppressWarnings("unchecked")
+            ArrayDeque<Entry<K>>[] slots = new ArrayDeque[WHEEL_SIZE];
+            for (int slot = 0; slot < WHEEL_SIZE; slot++) {
+                slots[slot] = new ArrayDeque<>();
+            }
+            wheels.add(slots);
+        }
+    }
+
+    // Replaces any deadline already registered for the key. Deadlines in the past expire on the next advance.
+    public synchronized void schedule(K key, long deadlineMillis) {
+        cancel(key);
+        long deadlineTick = Math.max(ceilDiv(deadlineMillis, tickMillis), currentTick + 1);
+        Entry<K> entry = new Entry<>(key, deadlineTick);
+        entries.put(key, entry);
+        place(entry);
+    }
+
+    public synchronized boolean cancel(K key) {
+        Entry<K> entry = entries.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        // Removed lazily when its slot is next visited
+        entry.cancelled = true;
+        return true;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    // Moves the wheel forward to the given time and returns the keys whose deadline has passed.
+    public synchronized List<K> advanceTo(long nowMillis) {
+        List<K> expired = new ArrayList<>();
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            currentTick++;
+            for (int level = 1; level < levels && (currentTick & mask(level)) == 0; level++) {
+                cascade(level, slotIndex(currentTick, level));
+            }
+            ArrayDeque<Entry<K>> slot = wheels.get(0)[slotIndex(currentTick, 0)];
+            List<Entry<K>> notYetDue = new ArrayList<>();
+            Entry<K> entry;
+            while ((entry = slot.poll()) != null) {
+                if (entry.cancelled) {
+                    continue;
+                }
+                if (entry.deadlineTick > currentTick) {
+                    // Parked out-of-range entry of a single-level wheel
+                    notYetDue.add(entry);
+                } else {
+                    entries.remove(entry.key);
+                    expired.add(entry.key);
+                }
+            }
+            notYetDue.forEach(this::place);
+        }
+        return expired;
+    }
+
+    private void cascade(int level, int slotIndex) {
+        ArrayDeque<Entry<K>> slot = wheels.get(level)[slotIndex];
+        ArrayDeque<Entry<K>> pending = new ArrayDeque<>(slot);
+        slot.clear();
+        for (Entry<K> entry : pending) {
+            if (!entry.cancelled) {
+                place(entry);
+            }
+        }
+    }
+
+    private void place(Entry<K> entry) {
+        long delta = entry.deadlineTick - currentTick;
+        for (int level = 0; level < levels; level++) {
+            if (delta < (1L << (WHEEL_BITS * (level + 1)))) {
+                wheels.get(level)[slotIndex(entry.deadlineTick, level)].add(entry);
+                return;
+            }
+        }
+        // Out of range: park in the top slot that cascades last so the entry is re-placed as late as possible
+        int top = levels - 1;
+        wheels.get(top)[(slotIndex(currentTick, top) + WHEEL_MASK) & WHEEL_MASK].add(entry);
+    }
+
+    private static int slotIndex(long tick, int level) {
+        return (int) ((tick >>> (WHEEL_BITS * level)) & WHEEL_MASK);
+    }
+
+    private static long mask(int level) {
+        return (1L << (WHEEL_BITS * level)) - 1;
+    }
+
+    private static long ceilDiv(long value, long divisor) {
+        return -Math.floorDiv(-value, divisor);
+    }
+}
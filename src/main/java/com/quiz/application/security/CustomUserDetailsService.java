@@ -2,6 +2,8 @@ package com.quiz.application.security;
 
 import com.quiz.application.entity.User;
 import com.quiz.application.repository.UserRepository;
+import com.quiz.application.tracing.RequestTrace;
+import com.quiz.application.tracing.Span;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -31,9 +33,14 @@ public class CustomUserDetailsService implements UserDetailsService {
     
     @Transactional
     public UserDetails loadUserById(Long id) {
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with id: " + id));
-        
-        return UserPrincipal.create(user);
+        Span span = RequestTrace.startSpan("CustomUserDetailsService.loadUserById", RequestTrace.CATEGORY_USER);
+        try {
+            User user = userRepository.findById(id)
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found with id: " + id));
+
+            return UserPrincipal.create(user);
+        } finally {
+            RequestTrace.endSpan(span);
+        }
     }
 }
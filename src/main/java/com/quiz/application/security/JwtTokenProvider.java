@@ -1,16 +1,23 @@
 package com.quiz.application.security;
 
+import com.quiz.application.jfr.JwtValidationEvent;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 
 import java.security.Key;
 import java.util.Date;
 
 @Component
 public class JwtTokenProvider {
+
+    private static final String USER_ID_ATTRIBUTE = JwtTokenProvider.class.getName() + ".userId";
+    // Remembers that the request carries no valid token
+    private static final Object NO_USER = new Object();
     
     @Value("${jwt.secret}")
     private String jwtSecret;
@@ -47,14 +54,47 @@ public class JwtTokenProvider {
     }
     
     public boolean validateToken(String token) {
+        return parseUserId(token) != null;
+    }
+
+    /**
+     * The user id of the request's bearer token, or null when it has none or it does not validate. The token is
+     * parsed once per request and the outcome kept as a request attribute, so rate limiting and authentication
+     * share it.
+     */
+    public Long resolveUserId(HttpServletRequest request) {
+        Object resolved = request.getAttribute(USER_ID_ATTRIBUTE);
+        if (resolved == null) {
+            String bearerToken = request.getHeader("Authorization");
+            Long userId = StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")
+                    ? parseUserId(bearerToken.substring(7))
+                    : null;
+            resolved = userId != null ? userId : NO_USER;
+            request.setAttribute(USER_ID_ATTRIBUTE, resolved);
+        }
+        return resolved instanceof Long userId ? userId : null;
+    }
+
+    private Long parseUserId(String token) {
+        JwtValidationEvent event = new JwtValidationEvent();
+        event.begin();
         try {
-            Jwts.parserBuilder()
+            Claims claims = Jwts.parserBuilder()
                     .setSigningKey(getSigningKey())
                     .build()
-                    .parseClaimsJws(token);
-            return true;
+                    .parseClaimsJws(token)
+                    .getBody();
+            Long userId = Long.parseLong(claims.getSubject());
+            event.valid = true;
+            return userId;
         } catch (JwtException | IllegalArgumentException ex) {
-            return false;
+            event.failure = ex.getClass().getSimpleName();
+            return null;
+        } finally {
+            if (event.shouldCommit()) {
+                event.tokenLength = token != null ? token.length() : 0;
+                event.commit();
+            }
         }
     }
 }
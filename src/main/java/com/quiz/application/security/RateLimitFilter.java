@@ -0,0 +1,108 @@
+package com.quiz.application.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quiz.application.config.RateLimitProperties;
+import com.quiz.application.dto.ApiResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rejects requests over their route group's rate with 429 and Retry-After. Runs before JWT authentication and
+ * takes the user id from the token, so throttled requests never cost a database lookup; the token is parsed
+ * only once per request, and authentication reuses the result.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    @Autowired
+    private RateLimitProperties properties;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+    private RateLimiter rateLimiter;
+
+    @PostConstruct
+    public void init() {
+        rateLimiter = new RateLimiter(properties.getMaxBuckets(), properties.getSweepInterval().toNanos(), System.nanoTime());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || HttpMethod.OPTIONS.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RateLimitProperties.Policy policy = findPolicy(urlPathHelper.getPathWithinApplication(request));
+        if (policy == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long intervalNanos = TimeUnit.MINUTES.toNanos(1) / policy.getRefillPerMinute();
+        String clientKey = clientKey(policy, request);
+        RateLimiter.Decision decision = rateLimiter.tryAcquire(policy.getName() + ":" + clientKey,
+                policy.getName() + ":overflow", policy.getCapacity(), intervalNanos, System.nanoTime());
+        response.setHeader("X-RateLimit-Limit", String.valueOf(policy.getCapacity()));
+        response.setHeader("X-RateLimit-Remaining", String.valueOf(decision.getRemaining()));
+        if (decision.isAllowed()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(decision.getRetryAfterNanos() + 999_999_999));
+        logger.debug("Rate limit {} exceeded by {}", policy.getName(), clientKey);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                ApiResponse.error("Too many requests, retry after " + retryAfterSeconds + " seconds"));
+    }
+
+    private RateLimitProperties.Policy findPolicy(String path) {
+        for (RateLimitProperties.Policy policy : properties.getPolicies()) {
+            for (String pattern : policy.getPatterns()) {
+                if (pathMatcher.match(pattern, path)) {
+                    return policy;
+                }
+            }
+        }
+        return null;
+    }
+
+    private String clientKey(RateLimitProperties.Policy policy, HttpServletRequest request) {
+        if (policy.getKey() == RateLimitProperties.KeyType.USER) {
+            Long userId = tokenProvider.resolveUserId(request);
+            // Invalid tokens are limited by address like anonymous requests
+            if (userId != null) {
+                return "user:" + userId;
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
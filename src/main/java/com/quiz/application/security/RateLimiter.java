@@ -0,0 +1,99 @@
+package com.quiz.application.security;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Token buckets kept as a single "theoretical arrival time" per key (the generic cell rate algorithm), so
+ * taking a token is one compare-and-set with no locks. A bucket whose arrival time is in the past is full and
+ * indistinguishable from a new one, which makes evicting it free of side effects.
+ */
+public class RateLimiter {
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final ReentrantLock sweepLock = new ReentrantLock();
+    private final int maxBuckets;
+    private final long sweepIntervalNanos;
+    private volatile long lastSweep;
+
+    public RateLimiter(int maxBuckets, long sweepIntervalNanos, long now) {
+        this.maxBuckets = maxBuckets;
+        this.sweepIntervalNanos = sweepIntervalNanos;
+        this.lastSweep = now;
+    }
+
+    public static class Decision {
+        private final boolean allowed;
+        private final long remaining;
+        private final long retryAfterNanos;
+
+        Decision(boolean allowed, long remaining, long retryAfterNanos) {
+            this.allowed = allowed;
+            this.remaining = remaining;
+            this.retryAfterNanos = retryAfterNanos;
+        }
+
+        public boolean isAllowed() {
+            return allowed;
+        }
+
+        public long getRemaining() {
+            return remaining;
+        }
+
+        public long getRetryAfterNanos() {
+            return retryAfterNanos;
+        }
+    }
+
+    /**
+     * Takes one token from the bucket of the key. A bucket holds up to capacity tokens and regains one every
+     * intervalNanos. When the key is new and the limiter is full, the overflow key's bucket is used instead.
+     */
+    public Decision tryAcquire(String key, String overflowKey, int capacity, long intervalNanos, long now) {
+        if (now - lastSweep > sweepIntervalNanos) {
+            sweep(now);
+        }
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxBuckets) {
+                sweep(now);
+                if (buckets.size() >= maxBuckets) {
+                    key = overflowKey;
+                }
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+
+        long burstTolerance = (capacity - 1) * intervalNanos;
+        while (true) {
+            long arrival = bucket.get();
+            long start = arrival - now < 0 ? now : arrival;
+            long backlog = start - now;
+            if (backlog > burstTolerance) {
+                return new Decision(false, 0, backlog - burstTolerance);
+            }
+            if (bucket.compareAndSet(arrival, start + intervalNanos)) {
+                return new Decision(true, (burstTolerance - backlog) / intervalNanos, 0);
+            }
+        }
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    // Drops full buckets; skipped when another thread is already sweeping.
+    void sweep(long now) {
+        if (!sweepLock.tryLock()) {
+            return;
+        }
+        try {
+            lastSweep = now;
+            buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+        } finally {
+            sweepLock.unlock();
+        }
+    }
+}
@@ -33,9 +33,18 @@ public class AdminService {
     @Autowired
     private QuizAttemptRepository quizAttemptRepository;
 
+    @Autowired
+    private ArchivedAttemptRepository archivedAttemptRepository;
+
+    @Autowired
+    private ArchivedScoreTotalsRepository archivedScoreTotalsRepository;
+
     @Autowired
     private QuizAttemptService quizAttemptService;
 
+    @Autowired
+    private AttemptExpiryService attemptExpiryService;
+
     @Autowired
     private UserService userService;
 
@@ -54,6 +63,7 @@ public class AdminService {
                 .totalQuestions(totalQuestions)
                 .totalUsers(totalUsers)
                 .totalAttempts(totalAttempts)
+                .pendingAttemptDeadlines(attemptExpiryService.pendingDeadlines())
                 .build();
     }
 
@@ -95,6 +105,9 @@ public class AdminService {
             throw new BadRequestException("You cannot delete your own account.");
         }
 
+        // Archived attempts carry no foreign key to the user
+        archivedAttemptRepository.deleteByUserId(id);
+        archivedScoreTotalsRepository.deleteByUserId(id);
         userRepository.deleteById(id);
     }
 }
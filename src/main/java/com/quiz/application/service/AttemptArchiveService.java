@@ -0,0 +1,215 @@
+package com.quiz.application.service;
+
+import com.quiz.application.entity.ArchivedAttempt;
+import com.quiz.application.entity.ArchivedScoreTotals;
+import com.quiz.application.entity.QuizAttempt;
+import com.quiz.application.entity.UserAnswer;
+import com.quiz.application.repository.ArchivedAttemptRepository;
+import com.quiz.application.repository.ArchivedScoreTotalsRepository;
+import com.quiz.application.repository.QuestionRepository;
+import com.quiz.application.repository.QuizAttemptRepository;
+import com.quiz.application.repository.UserAnswerRepository;
+import com.quiz.application.storage.ArchivedAnswers;
+import com.quiz.application.storage.OptionBitmask;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Moves finished attempts that ended more than {@code quiz.archive.horizon-days} ago out of {@code quiz_attempts},
+ * {@code user_answers} and {@code user_answer_options} into {@code archived_attempts}, one row per attempt with its
+ * answers packed by {@link ArchivedAnswers}. A background thread archives in batches of their own transaction, so
+ * the hot tables and their indexes only hold recent attempts. Reads that need the full history also query the
+ * archive, except leaderboards, which read the per-user and per-quiz {@link ArchivedScoreTotals} added in the same
+ * transaction. Rollups, item analysis and score distributions were updated when the attempts finished and do not
+ * change when they are archived.
+ */
+@Service
+public class AttemptArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttemptArchiveService.class);
+
+    @Autowired
+    private QuizAttemptRepository quizAttemptRepository;
+
+    @Autowired
+    private UserAnswerRepository userAnswerRepository;
+
+    @Autowired
+    private ArchivedAttemptRepository archivedAttemptRepository;
+
+    @Autowired
+    private ArchivedScoreTotalsRepository archivedScoreTotalsRepository;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${quiz.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${quiz.archive.horizon-days:365}")
+    private long horizonDays;
+
+    @Value("${quiz.archive.batch-size:500}")
+    private int batchSize;
+
+    @Value("${quiz.archive.interval-minutes:60}")
+    private long intervalMinutes;
+
+    // Serializes scheduled and manual runs within this instance
+    private final Object archiveLock = new Object();
+
+    private ScheduledExecutorService scheduler;
+
+    @lombok.Value
+    private static class UserQuiz {
+        Long userId;
+        Long quizId;
+    }
+
+    @PostConstruct
+    public void init() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "attempt-archive");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (enabled) {
+            scheduler.scheduleWithFixedDelay(this::archiveQuietly, intervalMinutes, intervalMinutes, TimeUnit.MINUTES);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Archives every finished attempt past the horizon and returns how many were moved. A batch that fails is
+     * rolled back as a whole, so an attempt is always either hot or archived.
+     */
+    public int archive() {
+        synchronized (archiveLock) {
+            LocalDateTime cutoff = LocalDateTime.now().minusDays(horizonDays);
+            int archived = 0;
+            int moved;
+            while ((moved = transactionTemplate.execute(status -> archiveBatch(cutoff))) > 0) {
+                archived += moved;
+            }
+            if (archived > 0) {
+                logger.info("Archived {} attempts that ended before {}", archived, cutoff);
+            }
+            return archived;
+        }
+    }
+
+    private void archiveQuietly() {
+        // Never let an exception escape: it would cancel the periodic task
+        try {
+            archive();
+        } catch (RuntimeException e) {
+            logger.error("Attempt archival failed, retrying at the next run", e);
+        }
+    }
+
+    private int archiveBatch(LocalDateTime cutoff) {
+        List<Long> ids = quizAttemptRepository.findArchivableIds(cutoff, PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        // Loads the answered questions with their eager options in one query first, so the answers below find
+        // them in the persistence context instead of selecting each question and its options on its own
+        questionRepository.findAnsweredWithOptionsByAttemptIds(ids);
+        List<QuizAttempt> attempts = quizAttemptRepository.findAllWithAnswersByIds(ids);
+
+        // Selections of answers written before option masks existed are still in the join table
+        List<Long> unmasked = attempts.stream()
+                .flatMap(attempt -> attempt.getAnswers().stream())
+                .filter(answer -> answer.getSelectedOptionsMask() == null)
+                .map(UserAnswer::getId)
+                .toList();
+        Map<Long, List<Long>> joinTableSelections = unmasked.isEmpty() ? Map.of() : userAnswerRepository
+                .findSelectedOptionIds(unmasked).stream()
+                .collect(Collectors.groupingBy(UserAnswerRepository.SelectedOptionView::getAnswerId,
+                        Collectors.mapping(UserAnswerRepository.SelectedOptionView::getOptionId, Collectors.toList())));
+
+        archivedAttemptRepository.insertAll(attempts.stream()
+                .map(attempt -> toArchived(attempt, joinTableSelections))
+                .toList());
+        archivedScoreTotalsRepository.addAll(scoreTotals(attempts));
+        userAnswerRepository.deleteOptionsByAttemptIds(ids);
+        userAnswerRepository.deleteByAttemptIds(ids);
+        quizAttemptRepository.deleteByIds(ids);
+        return ids.size();
+    }
+
+    // Completed attempts summed per user and quiz, in key order so concurrent batches lock rows in the same order
+    private List<ArchivedScoreTotals> scoreTotals(List<QuizAttempt> attempts) {
+        Map<UserQuiz, ArchivedScoreTotals> totals = new HashMap<>();
+        for (QuizAttempt attempt : attempts) {
+            if (attempt.getStatus() != QuizAttempt.AttemptStatus.COMPLETED) {
+                continue;
+            }
+            UserQuiz key = new UserQuiz(attempt.getUser().getId(), attempt.getQuiz().getId());
+            totals.computeIfAbsent(key, k -> ArchivedScoreTotals.builder()
+                            .userId(k.getUserId())
+                            .quizId(k.getQuizId())
+                            .build())
+                    .addAttempt(attempt.getScoreObtained(), attempt.getPercentageScore());
+        }
+        return totals.values().stream()
+                .sorted(Comparator.comparing(ArchivedScoreTotals::getUserId)
+                        .thenComparing(ArchivedScoreTotals::getQuizId))
+                .toList();
+    }
+
+    private ArchivedAttempt toArchived(QuizAttempt attempt, Map<Long, List<Long>> joinTableSelections) {
+        List<ArchivedAnswers.Answer> answers = attempt.getAnswers().stream()
+                .sorted(Comparator.comparing(UserAnswer::getId))
+                .map(answer -> new ArchivedAnswers.Answer(answer.getId(), answer.getQuestion().getId(),
+                        Boolean.TRUE.equals(answer.getIsCorrect()),
+                        answer.getPointsEarned() != null ? answer.getPointsEarned() : 0,
+                        answer.getCreatedAt(),
+                        answer.getSelectedOptionsMask() != null
+                                ? OptionBitmask.decode(OptionBitmask.orderedIds(answer.getQuestion().getOptions()),
+                                        answer.getSelectedOptionsMask())
+                                : joinTableSelections.getOrDefault(answer.getId(), List.of())))
+                .toList();
+        ArchivedAttempt archived = ArchivedAttempt.builder()
+                .id(attempt.getId())
+                .userId(attempt.getUser().getId())
+                .quizId(attempt.getQuiz().getId())
+                .startTime(attempt.getStartTime())
+                .endTime(attempt.getEndTime())
+                .scoreObtained(attempt.getScoreObtained())
+                .answeredCount(answers.size())
+                .totalScore(attempt.getTotalScore())
+                .percentageScore(attempt.getPercentageScore())
+                .isPassed(attempt.getIsPassed())
+                .status(attempt.getStatus())
+                .timeTakenMinutes(attempt.getTimeTakenMinutes())
+                .answers(ArchivedAnswers.encode(answers))
+                .build();
+        archived.setCreatedAt(attempt.getCreatedAt());
+        return archived;
+    }
+}
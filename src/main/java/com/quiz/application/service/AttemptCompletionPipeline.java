@@ -0,0 +1,261 @@
+package com.quiz.application.service;
+
+import com.quiz.application.entity.AttemptOutboxEvent;
+import com.quiz.application.event.AttemptFinishedEvent;
+import com.quiz.application.pipeline.AttemptCompletedConsumer;
+import com.quiz.application.pipeline.RingBuffer;
+import com.quiz.application.repository.AttemptOutboxRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ClassUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Post-completion pipeline. Completing an attempt writes an outbox row in the completing transaction; once
+ * it commits the row is offered to an in-memory ring buffer, and a single dispatcher thread hands what it
+ * drains to every {@link AttemptCompletedConsumer} in batches. A batch is delivered in one transaction that
+ * locks its outbox rows, lets the consumers record it and deletes the rows, so what the consumers store is
+ * committed together with the removal: an attempt is recorded once, and rows another dispatch already took
+ * are skipped. Rows the ring never delivered (buffer full, a failed delivery, or the process died after
+ * commit) are picked up by a periodic replay of outbox rows older than a grace period. A row whose delivery
+ * keeps failing is dead-lettered after a bounded number of attempts and is not replayed again.
+ */
+@Service
+public class AttemptCompletionPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttemptCompletionPipeline.class);
+
+    @Autowired
+    private AttemptOutboxRepository attemptOutboxRepository;
+
+    @Autowired
+    private List<AttemptCompletedConsumer> consumers;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${quiz.pipeline.ring-size:4096}")
+    private int ringSize;
+
+    @Value("${quiz.pipeline.batch-size:256}")
+    private int batchSize;
+
+    @Value("${quiz.pipeline.idle-millis:50}")
+    private long idleMillis;
+
+    @Value("${quiz.pipeline.replay-after-seconds:30}")
+    private long replayAfterSeconds;
+
+    @Value("${quiz.pipeline.max-delivery-attempts:5}")
+    private int maxDeliveryAttempts;
+
+    private RingBuffer<AttemptOutboxEvent> ring;
+
+    private ExecutorService dispatcher;
+
+    private volatile Thread dispatcherThread;
+
+    private volatile boolean running = true;
+
+    // Replays wait for the schema, and run at most once per grace period
+    private volatile boolean ready;
+
+    private long nextReplayMillis;
+
+    private final AtomicLong dispatched = new AtomicLong();
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        ring = new RingBuffer<>(ringSize);
+        dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "attempt-pipeline");
+            thread.setDaemon(true);
+            return thread;
+        });
+        dispatcher.execute(this::run);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(dispatcherThread);
+        dispatcher.shutdown();
+        if (!dispatcher.awaitTermination(10, TimeUnit.SECONDS)) {
+            logger.warn("Attempt pipeline did not drain in time; the outbox replays the rest on the next start");
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        ready = true;
+        LockSupport.unpark(dispatcherThread);
+    }
+
+    /**
+     * Records a completed attempt in the outbox as part of the current transaction. The attempt is queued for
+     * dispatch when the transaction commits and dropped with it on rollback.
+     */
+    public void append(AttemptFinishedEvent event) {
+        AttemptOutboxEvent row = attemptOutboxRepository.save(AttemptOutboxEvent.of(event));
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                if (ring.offer(row)) {
+                    LockSupport.unpark(dispatcherThread);
+                } else {
+                    // Still in the outbox; the next replay delivers it
+                    rejected.incrementAndGet();
+                }
+            }
+        });
+    }
+
+    public int pendingEvents() {
+        return ring.size();
+    }
+
+    public long dispatchedEvents() {
+        return dispatched.get();
+    }
+
+    public long rejectedEvents() {
+        return rejected.get();
+    }
+
+    private void run() {
+        dispatcherThread = Thread.currentThread();
+        List<AttemptOutboxEvent> batch = new ArrayList<>(batchSize);
+        while (running) {
+            // Never let an exception escape: it would end the dispatcher thread
+            try {
+                if (ring.drainTo(batch, batchSize) > 0) {
+                    dispatch(batch);
+                    batch.clear();
+                } else if (ready && System.currentTimeMillis() >= nextReplayMillis) {
+                    replay();
+                    nextReplayMillis = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(replayAfterSeconds);
+                } else {
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(idleMillis));
+                }
+            } catch (RuntimeException e) {
+                logger.error("Attempt pipeline dispatch failed; undelivered events stay in the outbox", e);
+                batch.clear();
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(idleMillis));
+            }
+        }
+        // Deliver what was committed before shutdown; anything left over is replayed on the next start
+        try {
+            while (ring.drainTo(batch, batchSize) > 0) {
+                dispatch(batch);
+                batch.clear();
+            }
+        } catch (RuntimeException e) {
+            logger.error("Attempt pipeline failed to drain on shutdown", e);
+        }
+    }
+
+    private void replay() {
+        LocalDateTime cutoff = LocalDateTime.now().minusSeconds(replayAfterSeconds);
+        long lastId = 0;
+        int replayed = 0;
+        List<AttemptOutboxEvent> page;
+        while (running && !(page = attemptOutboxRepository.findUndispatched(cutoff, lastId,
+                PageRequest.of(0, batchSize))).isEmpty()) {
+            dispatch(page);
+            replayed += page.size();
+            lastId = page.get(page.size() - 1).getId();
+        }
+        if (replayed > 0) {
+            logger.info("Replayed {} completed attempts from the outbox", replayed);
+        }
+    }
+
+    private void dispatch(List<AttemptOutboxEvent> rows) {
+        try {
+            deliver(rows);
+        } catch (RuntimeException e) {
+            if (rows.size() == 1) {
+                recordFailure(rows.get(0), e);
+                return;
+            }
+            // One by one, so that a single failing attempt does not hold back the rest of the batch
+            logger.warn("Failed to deliver {} completed attempts, retrying them one by one", rows.size(), e);
+            for (AttemptOutboxEvent row : rows) {
+                dispatch(List.of(row));
+            }
+        }
+    }
+
+    private void recordFailure(AttemptOutboxEvent row, RuntimeException error) {
+        Integer attempts = transactionTemplate.execute(status -> {
+            List<AttemptOutboxEvent> claimed = attemptOutboxRepository.findAllByIdForUpdate(List.of(row.getId()));
+            if (claimed.isEmpty()) {
+                // Another dispatch delivered it in the meantime
+                return null;
+            }
+            AttemptOutboxEvent locked = claimed.get(0);
+            locked.recordFailedDelivery(error, maxDeliveryAttempts);
+            return locked.getDeliveryAttempts();
+        });
+        if (attempts == null) {
+            return;
+        }
+        if (attempts >= maxDeliveryAttempts) {
+            logger.error("Completed attempt {} failed delivery {} times; it is dead-lettered in the outbox and no " +
+                    "longer replayed", row.getAttemptId(), attempts, error);
+        } else {
+            logger.warn("Failed to deliver completed attempt {} (attempt {} of {}): {}", row.getAttemptId(), attempts,
+                    maxDeliveryAttempts, error.toString());
+        }
+    }
+
+    private void deliver(List<AttemptOutboxEvent> rows) {
+        List<Long> ids = rows.stream().map(AttemptOutboxEvent::getId).toList();
+        List<AttemptFinishedEvent> events = transactionTemplate.execute(status -> {
+            List<AttemptOutboxEvent> claimed = attemptOutboxRepository.findAllByIdForUpdate(ids);
+            if (claimed.isEmpty()) {
+                return List.of();
+            }
+            List<AttemptFinishedEvent> batch = claimed.stream().map(AttemptOutboxEvent::toEvent).toList();
+            for (AttemptCompletedConsumer consumer : consumers) {
+                consumer.recordAttemptsCompleted(batch);
+            }
+            attemptOutboxRepository.deleteAllByIdInBatch(claimed.stream().map(AttemptOutboxEvent::getId).toList());
+            return batch;
+        });
+        if (events.isEmpty()) {
+            return;
+        }
+        for (AttemptCompletedConsumer consumer : consumers) {
+            try {
+                consumer.onAttemptsCompleted(events);
+            } catch (RuntimeException e) {
+                // Already committed; one failing consumer must not hold back the others
+                logger.error("{} failed on {} completed attempts", ClassUtils.getUserClass(consumer).getSimpleName(),
+                        events.size(), e);
+            }
+        }
+        dispatched.addAndGet(events.size());
+    }
+}
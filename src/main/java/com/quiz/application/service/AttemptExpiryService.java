@@ -0,0 +1,133 @@
+package com.quiz.application.service;
+
+import com.quiz.application.event.AttemptFinishedEvent;
+import com.quiz.application.event.AttemptStartedEvent;
+import com.quiz.application.repository.QuizAttemptRepository;
+import com.quiz.application.scheduling.TimingWheel;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Closes in-progress attempts once their quiz's time limit has run out. Every attempt gets a deadline in an
+ * in-memory timing wheel when it starts; a single ticker thread advances the wheel and hands due attempts to
+ * {@link QuizAttemptService#expireAttempts} in batches. Attempts on quizzes without a time limit are
+ * abandoned after a configurable idle timeout so they do not stay in progress forever. Deadlines are not
+ * persisted: on startup they are recomputed from every in-progress attempt in the database.
+ */
+@Service
+public class AttemptExpiryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttemptExpiryService.class);
+
+    private static final int WHEEL_LEVELS = 4;
+    private static final int BATCH_SIZE = 500;
+    private static final long RETRY_DELAY_MILLIS = 30_000;
+
+    @Autowired
+    private QuizAttemptRepository quizAttemptRepository;
+
+    @Autowired
+    private QuizAttemptService quizAttemptService;
+
+    @Value("${quiz.attempts.expiry.tick-millis:1000}")
+    private long tickMillis;
+
+    @Value("${quiz.attempts.expiry.grace-seconds:5}")
+    private long graceSeconds;
+
+    @Value("${quiz.attempts.expiry.untimed-timeout-minutes:1440}")
+    private long untimedTimeoutMinutes;
+
+    private TimingWheel<Long> wheel;
+
+    private ScheduledExecutorService ticker;
+
+    @PostConstruct
+    public void init() {
+        wheel = new TimingWheel<>(tickMillis, WHEEL_LEVELS, System.currentTimeMillis());
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "attempt-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ticker.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void recoverDeadlines() {
+        AtomicInteger recovered = new AtomicInteger();
+        try (Stream<QuizAttemptRepository.InProgressAttemptView> attempts = quizAttemptRepository.streamInProgress()) {
+            attempts.forEach(attempt -> {
+                schedule(attempt.getAttemptId(), attempt.getStartTime(),
+                        quizAttemptService.deadlineOf(attempt.getStartTime(), attempt.getTimeLimitMinutes()));
+                recovered.incrementAndGet();
+            });
+        }
+        logger.info("Recovered deadlines for {} in-progress attempts", recovered.get());
+        ticker.scheduleWithFixedDelay(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @TransactionalEventListener
+    public void onAttemptStarted(AttemptStartedEvent event) {
+        schedule(event.getAttemptId(), event.getStartTime(), event.getDeadline());
+    }
+
+    @TransactionalEventListener
+    public void onAttemptFinished(AttemptFinishedEvent event) {
+        wheel.cancel(event.getAttemptId());
+    }
+
+    public int pendingDeadlines() {
+        return wheel.size();
+    }
+
+    private void schedule(Long attemptId, LocalDateTime startTime, LocalDateTime deadline) {
+        LocalDateTime expiresAt = deadline != null
+                ? deadline.plusSeconds(graceSeconds)
+                : startTime.plusMinutes(untimedTimeoutMinutes);
+        wheel.schedule(attemptId, expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+
+    private void tick() {
+        // Never let an exception escape: it would cancel the periodic task
+        try {
+            List<Long> due = wheel.advanceTo(System.currentTimeMillis());
+            for (int from = 0; from < due.size(); from += BATCH_SIZE) {
+                List<Long> batch = due.subList(from, Math.min(from + BATCH_SIZE, due.size()));
+                try {
+                    int expired = quizAttemptService.expireAttempts(batch);
+                    logger.debug("Expired {} of {} due attempts", expired, batch.size());
+                } catch (RuntimeException e) {
+                    logger.error("Failed to expire {} attempts, retrying later", batch.size(), e);
+                    long retryAt = System.currentTimeMillis() + RETRY_DELAY_MILLIS;
+                    batch.forEach(attemptId -> wheel.schedule(attemptId, retryAt));
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.error("Attempt expiry tick failed", e);
+        }
+    }
+}
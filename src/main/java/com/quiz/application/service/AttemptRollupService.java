@@ -0,0 +1,355 @@
+package com.quiz.application.service;
+
+import com.quiz.application.dto.AttemptExportRow;
+import com.quiz.application.dto.AttemptRollupDTO;
+import com.quiz.application.entity.AttemptRollup;
+import com.quiz.application.entity.QuizAttempt;
+import com.quiz.application.event.AttemptFinishedEvent;
+import com.quiz.application.event.AttemptStartedEvent;
+import com.quiz.application.exception.BadRequestException;
+import com.quiz.application.repository.ArchivedAttemptRepository;
+import com.quiz.application.repository.AttemptRollupRepository;
+import com.quiz.application.repository.QuizAttemptRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Pre-aggregated attempt analytics. Attempt lifecycle events are counted into per-minute, per-quiz buckets in
+ * memory and added to the {@code attempt_rollups} table every few seconds. A compaction pass folds minute rows
+ * into hours and hour rows into days once they pass their retention, so queries over any range read a bounded
+ * number of rows and never touch {@code quiz_attempts}.
+ */
+@Service
+public class AttemptRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttemptRollupService.class);
+
+    private static final long MAX_BUCKETS = 10_000;
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    @Autowired
+    private AttemptRollupRepository attemptRollupRepository;
+
+    @Autowired
+    private QuizAttemptRepository quizAttemptRepository;
+
+    @Autowired
+    private ArchivedAttemptRepository archivedAttemptRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${quiz.analytics.rollup.flush-seconds:5}")
+    private long flushSeconds;
+
+    @Value("${quiz.analytics.rollup.compaction-minutes:60}")
+    private long compactionMinutes;
+
+    @Value("${quiz.analytics.rollup.minute-retention-hours:48}")
+    private long minuteRetentionHours;
+
+    @Value("${quiz.analytics.rollup.hour-retention-days:90}")
+    private long hourRetentionDays;
+
+    // Deltas not yet written to the database, keyed by bucket; guarded by pendingLock
+    private final Object pendingLock = new Object();
+    private Map<BucketKey, AttemptRollup> pending = new HashMap<>();
+
+    // Serializes flushing, compaction and rebuilds within this instance
+    private final Object maintenanceLock = new Object();
+
+    private ScheduledExecutorService scheduler;
+
+    @lombok.Value
+    private static class BucketKey {
+        AttemptRollup.Granularity granularity;
+        LocalDateTime bucketStart;
+        Long quizId;
+    }
+
+    @PostConstruct
+    public void init() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "attempt-rollups");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flush, flushSeconds, flushSeconds, TimeUnit.SECONDS);
+        scheduler.scheduleWithFixedDelay(this::compact, compactionMinutes, compactionMinutes, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        flush();
+    }
+
+    @TransactionalEventListener
+    public void onAttemptStarted(AttemptStartedEvent event) {
+        record(event.getQuizId(), event.getStartTime(), delta -> delta.setStarted(1));
+    }
+
+    @TransactionalEventListener
+    public void onAttemptFinished(AttemptFinishedEvent event) {
+        LocalDateTime time = event.getEndTime() != null ? event.getEndTime() : LocalDateTime.now();
+        record(event.getQuizId(), time, delta -> countFinished(delta, event.getStatus(), event.getScoreObtained(),
+                event.getPercentageScore(), event.getIsPassed(), event.isExpired()));
+    }
+
+    /**
+     * Time series for the range, one row per bucket of the requested granularity. Buckets are matched by their
+     * start time; where the range reaches data that has already been compacted, rows come back at the coarser
+     * granularity they are stored in. Counts lag live traffic by up to the flush interval.
+     */
+    public List<AttemptRollupDTO> getTimeSeries(LocalDateTime from, LocalDateTime to, String granularity, Long quizId) {
+        AttemptRollup.Granularity requested = parseGranularity(granularity);
+        validateRange(from, to);
+        if (Duration.between(from, to).dividedBy(requested.getDuration()) > MAX_BUCKETS) {
+            throw new BadRequestException("Range is too large for " + requested.name().toLowerCase()
+                    + " buckets, at most " + MAX_BUCKETS + " are returned");
+        }
+
+        Map<LocalDateTime, AttemptRollup> buckets = new TreeMap<>();
+        for (AttemptRollup row : attemptRollupRepository.findInRange(from, to, quizId)) {
+            AttemptRollup.Granularity effective = row.getGranularity().compareTo(requested) > 0
+                    ? row.getGranularity() : requested;
+            LocalDateTime bucketStart = effective.truncate(row.getBucketStart());
+            buckets.computeIfAbsent(bucketStart, start -> AttemptRollup.builder()
+                            .granularity(effective)
+                            .bucketStart(start)
+                            .build())
+                    .add(row);
+        }
+        return buckets.values().stream()
+                .map(bucket -> toDTO(bucket)
+                        .bucketStart(bucket.getBucketStart())
+                        .granularity(bucket.getGranularity().name())
+                        .quizId(quizId)
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    // Totals per quiz over the range, most started first
+    public List<AttemptRollupDTO> getQuizTotals(LocalDateTime from, LocalDateTime to) {
+        validateRange(from, to);
+        return attemptRollupRepository.sumByQuizInRange(from, to).stream()
+                .map(view -> toDTO(AttemptRollup.builder()
+                        .started(view.getStarted())
+                        .completed(view.getCompleted())
+                        .abandoned(view.getAbandoned())
+                        .expired(view.getExpired())
+                        .passed(view.getPassed())
+                        .failed(view.getFailed())
+                        .scoreSum(view.getScoreSum())
+                        .percentageSum(view.getPercentageSum())
+                        .build())
+                        .quizId(view.getQuizId())
+                        .build())
+                .sorted(Comparator.comparingLong(AttemptRollupDTO::getStarted).reversed())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Recomputes every rollup from {@code quiz_attempts}, for the first deployment or after data was changed
+     * outside the application. Expirations cannot be told apart from other abandoned attempts afterwards, and
+     * attempts that finish while the rebuild runs may be counted twice or not at all.
+     */
+    public int rebuild() {
+        synchronized (maintenanceLock) {
+            synchronized (pendingLock) {
+                pending = new HashMap<>();
+            }
+            LocalDateTime now = LocalDateTime.now();
+            Map<BucketKey, AttemptRollup> rebuilt = new HashMap<>();
+            int attempts = transactionTemplate.execute(status -> {
+                int count = 0;
+                try (Stream<AttemptExportRow> rows = Stream.concat(
+                        quizAttemptRepository.streamForExport(null, null, null, null),
+                        archivedAttemptRepository.streamForExport(null, null, null, null))) {
+                    for (AttemptExportRow row : (Iterable<AttemptExportRow>) rows::iterator) {
+                        add(rebuilt, row.getQuizId(), row.getStartTime(), now, delta -> delta.setStarted(1));
+                        if (row.getStatus() != QuizAttempt.AttemptStatus.IN_PROGRESS && row.getEndTime() != null) {
+                            add(rebuilt, row.getQuizId(), row.getEndTime(), now, delta -> countFinished(delta,
+                                    row.getStatus(), row.getScoreObtained(), row.getPercentageScore(),
+                                    row.getIsPassed(), false));
+                        }
+                        count++;
+                    }
+                }
+                attemptRollupRepository.deleteAllInBatch();
+                List<AttemptRollup> deltas = new ArrayList<>(rebuilt.values());
+                for (int from = 0; from < deltas.size(); from += REBUILD_BATCH_SIZE) {
+                    attemptRollupRepository.incrementAll(deltas.subList(from, Math.min(from + REBUILD_BATCH_SIZE, deltas.size())));
+                }
+                return count;
+            });
+            logger.info("Attempt rollups rebuilt from {} attempts into {} buckets", attempts, rebuilt.size());
+            return attempts;
+        }
+    }
+
+    private void record(Long quizId, LocalDateTime time, Consumer<AttemptRollup> change) {
+        synchronized (pendingLock) {
+            add(pending, quizId, time, LocalDateTime.now(), change);
+        }
+    }
+
+    private void add(Map<BucketKey, AttemptRollup> target, Long quizId, LocalDateTime time, LocalDateTime now,
+                     Consumer<AttemptRollup> change) {
+        AttemptRollup.Granularity granularity = granularityFor(time, now);
+        BucketKey key = new BucketKey(granularity, granularity.truncate(time), quizId);
+        AttemptRollup delta = target.computeIfAbsent(key, k -> AttemptRollup.builder()
+                .granularity(k.getGranularity())
+                .bucketStart(k.getBucketStart())
+                .quizId(k.getQuizId())
+                .build());
+        change.accept(delta);
+    }
+
+    // Increments rather than assigns, so the same delta can absorb several attempts
+    private static void countFinished(AttemptRollup delta, QuizAttempt.AttemptStatus status, Integer score,
+                                      Double percentage, Boolean isPassed, boolean expired) {
+        if (status == QuizAttempt.AttemptStatus.COMPLETED) {
+            delta.setCompleted(delta.getCompleted() + 1);
+            delta.setScoreSum(delta.getScoreSum() + (score != null ? score : 0));
+            delta.setPercentageSum(delta.getPercentageSum() + (percentage != null ? percentage : 0));
+            if (Boolean.TRUE.equals(isPassed)) {
+                delta.setPassed(delta.getPassed() + 1);
+            } else if (Boolean.FALSE.equals(isPassed)) {
+                delta.setFailed(delta.getFailed() + 1);
+            }
+        } else if (status == QuizAttempt.AttemptStatus.ABANDONED) {
+            delta.setAbandoned(delta.getAbandoned() + 1);
+        }
+        if (expired) {
+            delta.setExpired(delta.getExpired() + 1);
+        }
+    }
+
+    // The finest granularity still kept for the given time, matching what compaction leaves behind
+    private AttemptRollup.Granularity granularityFor(LocalDateTime time, LocalDateTime now) {
+        if (!time.isBefore(minuteCutoff(now))) {
+            return AttemptRollup.Granularity.MINUTE;
+        }
+        return time.isBefore(hourCutoff(now)) ? AttemptRollup.Granularity.DAY : AttemptRollup.Granularity.HOUR;
+    }
+
+    private LocalDateTime minuteCutoff(LocalDateTime now) {
+        return AttemptRollup.Granularity.HOUR.truncate(now.minusHours(minuteRetentionHours));
+    }
+
+    private LocalDateTime hourCutoff(LocalDateTime now) {
+        return AttemptRollup.Granularity.DAY.truncate(now.minusDays(hourRetentionDays));
+    }
+
+    private void flush() {
+        synchronized (maintenanceLock) {
+            Map<BucketKey, AttemptRollup> batch;
+            synchronized (pendingLock) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = pending;
+                pending = new HashMap<>();
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> attemptRollupRepository.incrementAll(batch.values()));
+            } catch (RuntimeException e) {
+                // Nothing was committed; keep the deltas for the next flush
+                logger.error("Failed to flush {} attempt rollup buckets, retrying later", batch.size(), e);
+                synchronized (pendingLock) {
+                    batch.forEach((key, delta) -> pending.merge(key, delta, (current, previous) -> {
+                        current.add(previous);
+                        return current;
+                    }));
+                }
+            }
+        }
+    }
+
+    private void compact() {
+        synchronized (maintenanceLock) {
+            try {
+                LocalDateTime now = LocalDateTime.now();
+                int minutes = compact(AttemptRollup.Granularity.MINUTE, AttemptRollup.Granularity.HOUR, minuteCutoff(now));
+                int hours = compact(AttemptRollup.Granularity.HOUR, AttemptRollup.Granularity.DAY, hourCutoff(now));
+                logger.debug("Compacted {} minute and {} hour rollup rows", minutes, hours);
+            } catch (RuntimeException e) {
+                logger.error("Attempt rollup compaction failed", e);
+            }
+        }
+    }
+
+    private int compact(AttemptRollup.Granularity source, AttemptRollup.Granularity target, LocalDateTime before) {
+        return transactionTemplate.execute(status -> {
+            List<AttemptRollup> rows = attemptRollupRepository.findForCompaction(source, before);
+            if (rows.isEmpty()) {
+                return 0;
+            }
+            Map<BucketKey, AttemptRollup> folded = new HashMap<>();
+            for (AttemptRollup row : rows) {
+                BucketKey key = new BucketKey(target, target.truncate(row.getBucketStart()), row.getQuizId());
+                folded.computeIfAbsent(key, k -> AttemptRollup.builder()
+                                .granularity(k.getGranularity())
+                                .bucketStart(k.getBucketStart())
+                                .quizId(k.getQuizId())
+                                .build())
+                        .add(row);
+            }
+            attemptRollupRepository.incrementAll(folded.values());
+            attemptRollupRepository.deleteAllInBatch(rows);
+            return rows.size();
+        });
+    }
+
+    private AttemptRollupDTO.AttemptRollupDTOBuilder toDTO(AttemptRollup totals) {
+        long graded = totals.getPassed() + totals.getFailed();
+        return AttemptRollupDTO.builder()
+                .started(totals.getStarted())
+                .completed(totals.getCompleted())
+                .abandoned(totals.getAbandoned())
+                .expired(totals.getExpired())
+                .passed(totals.getPassed())
+                .failed(totals.getFailed())
+                .scoreSum(totals.getScoreSum())
+                .averageScore(totals.getCompleted() > 0 ? (double) totals.getScoreSum() / totals.getCompleted() : null)
+                .averagePercentage(totals.getCompleted() > 0 ? totals.getPercentageSum() / totals.getCompleted() : null)
+                .passRate(graded > 0 ? (double) totals.getPassed() / graded * 100 : null);
+    }
+
+    private AttemptRollup.Granularity parseGranularity(String granularity) {
+        try {
+            return AttemptRollup.Granularity.valueOf(granularity.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Granularity must be one of: minute, hour, day");
+        }
+    }
+
+    private void validateRange(LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new BadRequestException("from must be before to");
+        }
+    }
+}
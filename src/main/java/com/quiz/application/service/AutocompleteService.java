@@ -0,0 +1,211 @@
+package com.quiz.application.service;
+
+import com.quiz.application.dto.AutocompleteSuggestionDTO;
+import com.quiz.application.entity.Quiz;
+import com.quiz.application.event.AttemptStartedEvent;
+import com.quiz.application.event.QuizChangedEvent;
+import com.quiz.application.exception.BadRequestException;
+import com.quiz.application.index.CompletionTrie;
+import com.quiz.application.index.Tokenizer;
+import com.quiz.application.repository.ArchivedAttemptRepository;
+import com.quiz.application.repository.QuizAttemptRepository;
+import com.quiz.application.repository.QuizRepository;
+import lombok.Value;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+public class AutocompleteService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AutocompleteService.class);
+
+    public static final String TOPIC = "TOPIC";
+    public static final String TITLE = "TITLE";
+
+    private static final int MAX_LIMIT = 50;
+
+    @Autowired
+    private QuizRepository quizRepository;
+
+    @Autowired
+    private QuizAttemptRepository quizAttemptRepository;
+
+    @Autowired
+    private ArchivedAttemptRepository archivedAttemptRepository;
+
+    // Replaced wholesale by rebuild(); all mutations are synchronized on this service
+    private volatile Catalog catalog = new Catalog();
+
+    @Value
+    private static class Suggestion {
+        String type;
+        String text;
+        Long quizId;
+    }
+
+    private static class IndexedQuiz {
+        private final String title;
+        private final String topic;
+        private long attempts;
+
+        IndexedQuiz(String title, String topic, long attempts) {
+            this.title = title;
+            this.topic = topic;
+            this.attempts = attempts;
+        }
+    }
+
+    private static class TopicStats {
+        private final Suggestion suggestion;
+        private int quizCount;
+        private long attempts;
+
+        TopicStats(Suggestion suggestion) {
+            this.suggestion = suggestion;
+        }
+    }
+
+    private static class Catalog {
+        private final CompletionTrie<Suggestion> topics = new CompletionTrie<>();
+        private final CompletionTrie<Suggestion> titles = new CompletionTrie<>();
+        private final Map<Long, IndexedQuiz> quizzes = new HashMap<>();
+        private final Map<String, TopicStats> topicStats = new HashMap<>();
+    }
+
+    public List<AutocompleteSuggestionDTO> complete(String prefix, String type, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BadRequestException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        String key = Tokenizer.normalize(prefix).strip();
+        if (key.isEmpty()) {
+            return List.of();
+        }
+
+        Catalog current = catalog;
+        List<CompletionTrie.Completion<Suggestion>> completions = new ArrayList<>();
+        switch (type.toUpperCase()) {
+            case TOPIC -> completions.addAll(current.topics.complete(key, limit));
+            case TITLE -> completions.addAll(current.titles.complete(key, limit));
+            case "ALL" -> {
+                completions.addAll(current.topics.complete(key, limit));
+                completions.addAll(current.titles.complete(key, limit));
+            }
+            default -> throw new BadRequestException("Type must be one of: all, topic, title");
+        }
+
+        return completions.stream()
+                .sorted(Comparator.comparingLong(CompletionTrie.Completion<Suggestion>::getWeight).reversed())
+                .limit(limit)
+                .map(completion -> AutocompleteSuggestionDTO.builder()
+                        .text(completion.getPayload().getText())
+                        .type(completion.getPayload().getType())
+                        .quizId(completion.getPayload().getQuizId())
+                        .popularity(completion.getWeight())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuild();
+    }
+
+    public synchronized int rebuild() {
+        Map<Long, Long> attemptCounts = quizAttemptRepository.countAttemptsGroupedByQuiz().stream()
+                .collect(Collectors.toMap(QuizAttemptRepository.QuizAttemptCountView::getQuizId,
+                        QuizAttemptRepository.QuizAttemptCountView::getAttemptCount));
+        archivedAttemptRepository.countAttemptsGroupedByQuiz().forEach(count ->
+                attemptCounts.merge(count.getQuizId(), count.getAttemptCount(), Long::sum));
+
+        Catalog rebuilt = new Catalog();
+        long lastId = 0;
+        List<Quiz> batch;
+        while (!(batch = quizRepository.findTop500ByIdGreaterThanOrderByIdAsc(lastId)).isEmpty()) {
+            for (Quiz quiz : batch) {
+                if (Boolean.TRUE.equals(quiz.getActive())) {
+                    add(rebuilt, quiz.getId(), new IndexedQuiz(quiz.getTitle(), quiz.getTopic(),
+                            attemptCounts.getOrDefault(quiz.getId(), 0L)));
+                }
+            }
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+
+        catalog = rebuilt;
+        logger.info("Autocomplete index rebuilt with {} quizzes and {} topics",
+                rebuilt.quizzes.size(), rebuilt.topicStats.size());
+        return rebuilt.quizzes.size();
+    }
+
+    @TransactionalEventListener
+    public synchronized void onQuizChanged(QuizChangedEvent event) {
+        Catalog current = catalog;
+        IndexedQuiz previous = remove(current, event.getQuizId());
+        if (event.getChangeType() == QuizChangedEvent.ChangeType.DELETED) {
+            return;
+        }
+        quizRepository.findById(event.getQuizId())
+                .filter(quiz -> Boolean.TRUE.equals(quiz.getActive()))
+                .ifPresent(quiz -> add(current, quiz.getId(), new IndexedQuiz(quiz.getTitle(), quiz.getTopic(),
+                        previous != null ? previous.attempts : countAttempts(quiz.getId()))));
+    }
+
+    // A quiz that was not indexed, e.g. one being reactivated, may already have attempts
+    private long countAttempts(Long quizId) {
+        return quizAttemptRepository.countAttemptsByQuizId(quizId)
+                + archivedAttemptRepository.countAttemptsByQuizId(quizId);
+    }
+
+    @TransactionalEventListener
+    public synchronized void onAttemptStarted(AttemptStartedEvent event) {
+        Catalog current = catalog;
+        IndexedQuiz quiz = remove(current, event.getQuizId());
+        if (quiz != null) {
+            quiz.attempts++;
+            add(current, event.getQuizId(), quiz);
+        }
+    }
+
+    private void add(Catalog target, Long quizId, IndexedQuiz quiz) {
+        target.quizzes.put(quizId, quiz);
+        target.titles.put(Tokenizer.normalize(quiz.title), new Suggestion(TITLE, quiz.title, quizId), quiz.attempts + 1);
+
+        String topicKey = Tokenizer.normalize(quiz.topic);
+        TopicStats stats = target.topicStats.computeIfAbsent(topicKey,
+                key -> new TopicStats(new Suggestion(TOPIC, quiz.topic, null)));
+        stats.quizCount++;
+        stats.attempts += quiz.attempts;
+        target.topics.put(topicKey, stats.suggestion, stats.attempts + stats.quizCount);
+    }
+
+    private IndexedQuiz remove(Catalog target, Long quizId) {
+        IndexedQuiz quiz = target.quizzes.remove(quizId);
+        if (quiz == null) {
+            return null;
+        }
+        target.titles.remove(Tokenizer.normalize(quiz.title), new Suggestion(TITLE, quiz.title, quizId));
+
+        String topicKey = Tokenizer.normalize(quiz.topic);
+        TopicStats stats = target.topicStats.get(topicKey);
+        stats.quizCount--;
+        stats.attempts -= quiz.attempts;
+        if (stats.quizCount == 0) {
+            target.topicStats.remove(topicKey);
+            target.topics.remove(topicKey, stats.suggestion);
+        } else {
+            target.topics.put(topicKey, stats.suggestion, stats.attempts + stats.quizCount);
+        }
+        return quiz;
+    }
+}
@@ -0,0 +1,77 @@
+package com.quiz.application.service;
+
+import com.quiz.application.datasource.ReadWriteRoutingDataSource;
+import com.quiz.application.datasource.ReplicaLagMonitor;
+import com.quiz.application.dto.ConnectionPoolStatsDTO;
+import com.quiz.application.dto.DataSourceStatsDTO;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class DataSourceStatsService {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ObjectProvider<ReadWriteRoutingDataSource> routingDataSource;
+
+    @Autowired
+    private ObjectProvider<ReplicaLagMonitor> replicaLagMonitor;
+
+    public DataSourceStatsDTO getStats() {
+        ReadWriteRoutingDataSource routing = routingDataSource.getIfAvailable();
+        if (routing == null) {
+            List<ConnectionPoolStatsDTO> pools = new ArrayList<>();
+            if (dataSource instanceof HikariDataSource hikari) {
+                pools.add(poolStats(ReadWriteRoutingDataSource.Route.PRIMARY, hikari, null));
+            }
+            return DataSourceStatsDTO.builder()
+                    .routingEnabled(false)
+                    .pools(pools)
+                    .build();
+        }
+
+        List<ConnectionPoolStatsDTO> pools = new ArrayList<>();
+        for (ReadWriteRoutingDataSource.Route route : ReadWriteRoutingDataSource.Route.values()) {
+            pools.add(poolStats(route, routing.getPool(route), routing.getConnectionsServed(route)));
+        }
+        ReplicaLagMonitor monitor = replicaLagMonitor.getObject();
+        return DataSourceStatsDTO.builder()
+                .routingEnabled(true)
+                .replicaAvailable(routing.isReplicaAvailable())
+                .replicaLagMillis(monitor.getLagMillis())
+                .replicaCheckedAt(monitor.getCheckedAtMillis() > 0
+                        ? LocalDateTime.ofInstant(Instant.ofEpochMilli(monitor.getCheckedAtMillis()), ZoneId.systemDefault())
+                        : null)
+                .replicaFallbacks(routing.getReplicaFallbacks())
+                .pools(pools)
+                .build();
+    }
+
+    private ConnectionPoolStatsDTO poolStats(ReadWriteRoutingDataSource.Route route, HikariDataSource pool,
+                                             Long connectionsServed) {
+        // Null until the pool has handed out its first connection
+        HikariPoolMXBean bean = pool.getHikariPoolMXBean();
+        return ConnectionPoolStatsDTO.builder()
+                .route(route.name())
+                .poolName(pool.getPoolName())
+                .activeConnections(bean != null ? bean.getActiveConnections() : 0)
+                .idleConnections(bean != null ? bean.getIdleConnections() : 0)
+                .totalConnections(bean != null ? bean.getTotalConnections() : 0)
+                .threadsAwaitingConnection(bean != null ? bean.getThreadsAwaitingConnection() : 0)
+                .maximumPoolSize(pool.getMaximumPoolSize())
+                .connectionsServed(connectionsServed)
+                .build();
+    }
+}
@@ -0,0 +1,307 @@
+package com.quiz.application.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.quiz.application.dto.AnswerExportRow;
+import com.quiz.application.dto.ArchivedAnswersExportRow;
+import com.quiz.application.dto.AttemptExportRow;
+import com.quiz.application.exception.BadRequestException;
+import com.quiz.application.repository.ArchivedAttemptRepository;
+import com.quiz.application.repository.QuestionOptionRepository;
+import com.quiz.application.repository.QuizAttemptRepository;
+import com.quiz.application.repository.UserAnswerRepository;
+import com.quiz.application.storage.ArchivedAnswers;
+import com.quiz.application.storage.OptionBitmask;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+@Service
+public class ExportService {
+
+    private static final String ATTEMPT_HEADER = "attempt_id,user_id,username,quiz_id,status,start_time,end_time," +
+            "score_obtained,total_score,percentage_score,is_passed,time_taken_minutes";
+
+    private static final String ANSWER_HEADER = "answer_id,attempt_id,user_id,quiz_id,question_id,is_correct," +
+            "points_earned,answered_at,selected_option_ids";
+
+    private static final int MAX_CACHED_OPTION_QUIZZES = 64;
+
+    @Autowired
+    private QuizAttemptRepository quizAttemptRepository;
+
+    @Autowired
+    private UserAnswerRepository userAnswerRepository;
+
+    @Autowired
+    private QuestionOptionRepository questionOptionRepository;
+
+    @Autowired
+    private ArchivedAttemptRepository archivedAttemptRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public enum ExportFormat {
+        CSV("csv", new MediaType("text", "csv", StandardCharsets.UTF_8)),
+        NDJSON("ndjson", MediaType.parseMediaType("application/x-ndjson"));
+
+        private final String extension;
+        private final MediaType mediaType;
+
+        ExportFormat(String extension, MediaType mediaType) {
+            this.extension = extension;
+            this.mediaType = mediaType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        public static ExportFormat from(String value) {
+            for (ExportFormat format : values()) {
+                if (format.extension.equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new BadRequestException("Unsupported export format: " + value);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportAttempts(ExportFormat format, Long quizId, Long userId, LocalDateTime from, LocalDateTime to,
+                               OutputStream out) throws IOException {
+        // Archived attempts follow the hot ones
+        try (SequentialRows<AttemptExportRow> rows = new SequentialRows<>(
+                () -> quizAttemptRepository.streamForExport(quizId, userId, from, to),
+                () -> archivedAttemptRepository.streamForExport(quizId, userId, from, to))) {
+            if (format == ExportFormat.NDJSON) {
+                writeNdjson(rows, out);
+                return;
+            }
+            Writer writer = csvWriter(out);
+            writer.write(ATTEMPT_HEADER);
+            writer.write('\n');
+            rows.forEachRemaining(csvLine(writer, row -> new Object[]{
+                    row.getAttemptId(), row.getUserId(), row.getUsername(), row.getQuizId(), row.getStatus(),
+                    row.getStartTime(), row.getEndTime(), row.getScoreObtained(), row.getTotalScore(),
+                    row.getPercentageScore(), row.getIsPassed(), row.getTimeTakenMinutes()
+            }));
+            writer.flush();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportAnswers(ExportFormat format, Long quizId, Long userId, LocalDateTime from, LocalDateTime to,
+                              OutputStream out) throws IOException {
+        // Answers of archived attempts follow the hot ones
+        try (SequentialRows<AnswerExportRow> answers = new SequentialRows<>(
+                () -> {
+                    Stream<AnswerExportRow> rows = userAnswerRepository.streamForExport(quizId, userId, from, to);
+                    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+                            mergeSelectedOptions(rows.iterator()), Spliterator.ORDERED), false).onClose(rows::close);
+                },
+                () -> archivedAttemptRepository.streamAnswersForExport(quizId, userId, from, to)
+                        .flatMap(this::archivedAnswerRows))) {
+            if (format == ExportFormat.NDJSON) {
+                writeNdjson(answers, out);
+                return;
+            }
+            Writer writer = csvWriter(out);
+            writer.write(ANSWER_HEADER);
+            writer.write('\n');
+            Consumer<AnswerExportRow> line = csvLine(writer, row -> new Object[]{
+                    row.getAnswerId(), row.getAttemptId(), row.getUserId(), row.getQuizId(), row.getQuestionId(),
+                    row.getIsCorrect(), row.getPointsEarned(), row.getAnsweredAt(),
+                    row.getSelectedOptionIds().stream().map(String::valueOf).collect(Collectors.joining(";"))
+            });
+            answers.forEachRemaining(line);
+            writer.flush();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private Stream<AnswerExportRow> archivedAnswerRows(ArchivedAnswersExportRow attempt) {
+        return ArchivedAnswers.decode(attempt.getAnswers()).stream()
+                .map(answer -> {
+                    AnswerExportRow row = new AnswerExportRow(answer.getAnswerId(), attempt.getAttemptId(),
+                            attempt.getUserId(), attempt.getQuizId(), answer.getQuestionId(), answer.isCorrect(),
+                            answer.getPointsEarned(), answer.getAnsweredAt(), null, null);
+                    row.getSelectedOptionIds().addAll(answer.getOptionIds());
+                    return row;
+                });
+    }
+
+    // The answer query yields one row per selected option ordered by answer id, so
+    // consecutive rows for the same answer are folded together without buffering more than one answer.
+    // Selections stored as a mask come as a single row and are decoded against their question's options, which
+    // are loaded a whole quiz at a time and kept for the most recently used quizzes only.
+    private Iterator<AnswerExportRow> mergeSelectedOptions(Iterator<AnswerExportRow> rows) {
+        return new Iterator<>() {
+            private final Map<Long, Map<Long, List<Long>>> optionOrders =
+                    new LinkedHashMap<>(16, 0.75f, true) {
+                        @Override
+                        protected boolean removeEldestEntry(Map.Entry<Long, Map<Long, List<Long>>> eldest) {
+                            return size() > MAX_CACHED_OPTION_QUIZZES;
+                        }
+                    };
+            private AnswerExportRow pending = rows.hasNext() ? rows.next() : null;
+
+            @Override
+            public boolean hasNext() {
+                return pending != null;
+            }
+
+            @Override
+            public AnswerExportRow next() {
+                AnswerExportRow current = pending;
+                pending = null;
+                while (rows.hasNext()) {
+                    AnswerExportRow row = rows.next();
+                    if (!row.getAnswerId().equals(current.getAnswerId())) {
+                        pending = row;
+                        break;
+                    }
+                    current.getSelectedOptionIds().addAll(row.getSelectedOptionIds());
+                }
+                if (current.getSelectedOptionsMask() != null) {
+                    List<Long> optionOrder = optionOrders.computeIfAbsent(current.getQuizId(), quizId ->
+                            questionOptionRepository.findOrderedIdsByQuizId(quizId).stream()
+                                    .collect(Collectors.groupingBy(QuestionOptionRepository.OptionIdView::getQuestionId,
+                                            Collectors.mapping(QuestionOptionRepository.OptionIdView::getOptionId,
+                                                    Collectors.toList()))))
+                            .getOrDefault(current.getQuestionId(), List.of());
+                    current.getSelectedOptionIds().addAll(
+                            OptionBitmask.decode(optionOrder, current.getSelectedOptionsMask()));
+                }
+                return current;
+            }
+        };
+    }
+
+    /**
+     * Rows of several queries, one after the other. Each query runs only once the previous one is drained and its
+     * cursor closed, so an export never holds more than one open result set.
+     */
+    private static final class SequentialRows<T> implements Iterator<T>, AutoCloseable {
+        private final Iterator<Supplier<Stream<T>>> sources;
+        private Stream<T> current;
+        private Iterator<T> rows = Collections.emptyIterator();
+
+        @SafeVarargs
+        SequentialRows(Supplier<Stream<T>>... sources) {
+            this.sources = List.of(sources).iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!rows.hasNext()) {
+                close();
+                if (!sources.hasNext()) {
+                    return false;
+                }
+                current = sources.next().get();
+                rows = current.iterator();
+            }
+            return true;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return rows.next();
+        }
+
+        @Override
+        public void close() {
+            if (current != null) {
+                Stream<T> stream = current;
+                current = null;
+                rows = Collections.emptyIterator();
+                stream.close();
+            }
+        }
+    }
+
+    private void writeNdjson(Iterator<?> rows, OutputStream out) throws IOException {
+        try (SequenceWriter writer = objectMapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n")
+                .writeValues(out)) {
+            if (!rows.hasNext()) {
+                return;
+            }
+            while (rows.hasNext()) {
+                writer.write(rows.next());
+            }
+        }
+        out.write('\n');
+        out.flush();
+    }
+
+    private Writer csvWriter(OutputStream out) {
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+    }
+
+    private <T> Consumer<T> csvLine(Writer writer, Function<T, Object[]> columns) {
+        return row -> {
+            try {
+                Object[] values = columns.apply(row);
+                for (int i = 0; i < values.length; i++) {
+                    if (i > 0) {
+                        writer.write(',');
+                    }
+                    writer.write(csvValue(values[i]));
+                }
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    private String csvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
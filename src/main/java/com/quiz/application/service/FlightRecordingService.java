@@ -0,0 +1,155 @@
+package com.quiz.application.service;
+
+import com.quiz.application.dto.FlightRecordingDTO;
+import com.quiz.application.exception.BadRequestException;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Set;
+
+/**
+ * Starts, dumps and stops one Java Flight Recorder recording at a time, on demand. Recordings use one of the
+ * JDK's built-in configurations, which also enable the application's events in {@code com.quiz.application.jfr},
+ * and keep a bounded window of data on disk until dumped. Dumps are written to {@code quiz.jfr.directory} under
+ * generated file names.
+ */
+@Service
+public class FlightRecordingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlightRecordingService.class);
+
+    private static final Set<String> SETTINGS = Set.of("default", "profile");
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    @Value("${quiz.jfr.directory:${java.io.tmpdir}/quiz-recordings}")
+    private String directory;
+
+    @Value("${quiz.jfr.max-age-minutes:60}")
+    private long maxAgeMinutes;
+
+    @Value("${quiz.jfr.max-size-mb:250}")
+    private long maxSizeMb;
+
+    private Recording recording;
+
+    private String settings;
+
+    private Path lastDump;
+
+    public synchronized FlightRecordingDTO start(String settings) {
+        if (!SETTINGS.contains(settings)) {
+            throw new BadRequestException("Settings must be one of: default, profile");
+        }
+        if (recording != null) {
+            throw new BadRequestException("A flight recording is already running");
+        }
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settings);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ParseException e) {
+            throw new IllegalStateException("Could not read JFR configuration " + settings, e);
+        }
+        Recording started = new Recording(configuration);
+        started.setName("quiz-" + settings);
+        started.setToDisk(true);
+        started.setMaxAge(Duration.ofMinutes(maxAgeMinutes));
+        started.setMaxSize(maxSizeMb * 1024 * 1024);
+        started.start();
+        recording = started;
+        this.settings = settings;
+        lastDump = null;
+        logger.info("Started flight recording {} with {} settings", started.getId(), settings);
+        return toDTO();
+    }
+
+    // Writes what has been recorded so far to a new file; the recording keeps running
+    public synchronized FlightRecordingDTO dump() {
+        requireRunning();
+        lastDump = dumpTo(recording);
+        return toDTO();
+    }
+
+    // Dumps the recording, then stops and discards it
+    public synchronized FlightRecordingDTO stop() {
+        requireRunning();
+        lastDump = dumpTo(recording);
+        recording.stop();
+        FlightRecordingDTO stopped = toDTO();
+        recording.close();
+        recording = null;
+        logger.info("Stopped flight recording {}", stopped.getId());
+        return stopped;
+    }
+
+    public synchronized FlightRecordingDTO getStatus() {
+        return toDTO();
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    private void requireRunning() {
+        if (recording == null) {
+            throw new BadRequestException("No flight recording is running");
+        }
+    }
+
+    private Path dumpTo(Recording running) {
+        Path file = Paths.get(directory).resolve("quiz-" + running.getId() + "-"
+                + LocalDateTime.now().format(FILE_TIMESTAMP) + ".jfr");
+        try {
+            Files.createDirectories(file.getParent());
+            running.dump(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        logger.info("Dumped flight recording {} to {}", running.getId(), file);
+        return file;
+    }
+
+    private FlightRecordingDTO toDTO() {
+        FlightRecordingDTO.FlightRecordingDTOBuilder builder = FlightRecordingDTO.builder()
+                .state("NONE")
+                .maxAgeMinutes(maxAgeMinutes)
+                .maxSizeBytes(maxSizeMb * 1024 * 1024);
+        if (recording != null) {
+            builder.id(recording.getId())
+                    .state(recording.getState().name())
+                    .settings(settings)
+                    .startedAt(recording.getStartTime() != null
+                            ? LocalDateTime.ofInstant(recording.getStartTime(), ZoneId.systemDefault()) : null);
+        }
+        if (lastDump != null) {
+            builder.dumpFile(lastDump.toString());
+            try {
+                builder.dumpSizeBytes(Files.size(lastDump));
+            } catch (IOException e) {
+                // Removed since it was written; report the path alone
+            }
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,119 @@
+package com.quiz.application.service;
+
+import com.quiz.application.exception.BadRequestException;
+import com.quiz.application.exception.DuplicateResourceException;
+import com.quiz.application.security.UserPrincipal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the results of requests sent with an Idempotency-Key header so a client retry gets the original
+ * result back instead of running the operation again. Keys are scoped to the user and operation, kept for a
+ * fixed time and capped in number. A retry that arrives while the original is still running waits for it.
+ * Failed operations are not remembered, so they can be retried.
+ */
+@Service
+public class IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    @Value("${quiz.idempotency.ttl-minutes:30}")
+    private long ttlMinutes;
+
+    @Value("${quiz.idempotency.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${quiz.idempotency.wait-millis:10000}")
+    private long waitMillis;
+
+    // Every entry has the same time to live, so insertion order is also expiry order
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+    private static class Entry {
+        private final Object request;
+        private final long expiresAt;
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        Entry(Object request, long expiresAt) {
+            this.request = request;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String idempotencyKey, String operation, Object request, Supplier<T> action) {
+        if (idempotencyKey == null) {
+            return action.get();
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException("Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+
+        UserPrincipal principal = (UserPrincipal) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        String key = principal.getId() + ":" + operation + ":" + idempotencyKey;
+        long now = System.nanoTime();
+        Entry entry;
+        boolean owner = false;
+        synchronized (this) {
+            evict(now);
+            entry = entries.get(key);
+            if (entry == null) {
+                entry = new Entry(request, now + TimeUnit.MINUTES.toNanos(ttlMinutes));
+                entries.put(key, entry);
+                owner = true;
+            }
+        }
+
+        if (!owner) {
+            if (!entry.request.equals(request)) {
+                throw new BadRequestException("Idempotency-Key has already been used for a different request");
+            }
+            try {
+                return (T) entry.result.get(waitMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                throw new DuplicateResourceException("A request with this Idempotency-Key is still being processed");
+            } catch (ExecutionException e) {
+                // The original failed and was forgotten; run this one as a fresh request
+                return execute(idempotencyKey, operation, request, action);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new DuplicateResourceException("A request with this Idempotency-Key is still being processed");
+            }
+        }
+
+        T result;
+        try {
+            result = action.get();
+        } catch (Throwable e) {
+            // Errors too: an entry left in flight would turn every retry into a 409 until it expired
+            synchronized (this) {
+                entries.remove(key, entry);
+            }
+            entry.result.completeExceptionally(e);
+            throw e;
+        }
+        entry.result.complete(result);
+        return result;
+    }
+
+    private void evict(long now) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entries.size() <= maxEntries && entry.expiresAt - now > 0) {
+                break;
+            }
+            iterator.remove();
+        }
+    }
+}
@@ -0,0 +1,339 @@
+package com.quiz.application.service;
+
+import com.quiz.application.dto.OptionAnalyticsDTO;
+import com.quiz.application.dto.QuestionAnalyticsDTO;
+import com.quiz.application.entity.ArchivedAttempt;
+import com.quiz.application.entity.AttemptOutboxEvent;
+import com.quiz.application.entity.Question;
+import com.quiz.application.entity.QuestionOptionStats;
+import com.quiz.application.entity.QuestionStats;
+import com.quiz.application.event.AttemptFinishedEvent;
+import com.quiz.application.exception.ResourceNotFoundException;
+import com.quiz.application.pipeline.AttemptCompletedConsumer;
+import com.quiz.application.repository.ArchivedAttemptRepository;
+import com.quiz.application.repository.AttemptOutboxRepository;
+import com.quiz.application.repository.QuestionOptionRepository;
+import com.quiz.application.repository.QuestionOptionStatsRepository;
+import com.quiz.application.repository.QuestionRepository;
+import com.quiz.application.repository.QuestionStatsRepository;
+import com.quiz.application.repository.QuizAttemptRepository;
+import com.quiz.application.repository.QuizRepository;
+import com.quiz.application.repository.UserAnswerRepository;
+import com.quiz.application.storage.ArchivedAnswers;
+import com.quiz.application.storage.OptionBitmask;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Classical item analysis kept up to date as attempts are completed. Only final answers count, so an attempt is
+ * folded in once, after it completes: the attempt pipeline hands over completed attempts in batches, and their
+ * answers are read and added as per-question and per-option deltas to {@code question_stats} and
+ * {@code question_option_stats} in the transaction that takes them off the outbox. Unanswered questions count
+ * as incorrect. Reading the analytics of a quiz never touches {@code user_answers}.
+ */
+@Service
+public class ItemAnalysisService implements AttemptCompletedConsumer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ItemAnalysisService.class);
+
+    private static final int BATCH_SIZE = 200;
+
+    // Flags are only raised once a question has enough responses to be meaningful
+    private static final long MIN_RESPONSES_FOR_FLAGS = 20;
+    private static final double TOO_EASY_P_VALUE = 0.9;
+    private static final double TOO_HARD_P_VALUE = 0.2;
+    private static final double MIN_DISCRIMINATION = 0.2;
+
+    public static final String TOO_EASY = "TOO_EASY";
+    public static final String TOO_HARD = "TOO_HARD";
+    public static final String LOW_DISCRIMINATION = "LOW_DISCRIMINATION";
+    public static final String DISTRACTOR_PREFERRED = "DISTRACTOR_PREFERRED";
+
+    @Autowired
+    private QuestionStatsRepository questionStatsRepository;
+
+    @Autowired
+    private QuestionOptionStatsRepository questionOptionStatsRepository;
+
+    @Autowired
+    private UserAnswerRepository userAnswerRepository;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private QuestionOptionRepository questionOptionRepository;
+
+    @Autowired
+    private ArchivedAttemptRepository archivedAttemptRepository;
+
+    @Autowired
+    private QuizRepository quizRepository;
+
+    @Autowired
+    private QuizAttemptRepository quizAttemptRepository;
+
+    @Autowired
+    private AttemptOutboxRepository attemptOutboxRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Serializes rebuilds within this instance
+    private final Object maintenanceLock = new Object();
+
+    @lombok.Value
+    private static class CompletedAttempt {
+        Long attemptId;
+        Long quizId;
+        int score;
+    }
+
+    @Override
+    public void recordAttemptsCompleted(List<AttemptFinishedEvent> events) {
+        fold(events.stream()
+                .map(event -> new CompletedAttempt(event.getAttemptId(), event.getQuizId(),
+                        event.getScoreObtained() != null ? event.getScoreObtained() : 0))
+                .toList());
+    }
+
+    @Transactional(readOnly = true)
+    public List<QuestionAnalyticsDTO> getQuizAnalytics(Long quizId) {
+        if (!quizRepository.existsById(quizId)) {
+            throw new ResourceNotFoundException("Quiz not found with id: " + quizId);
+        }
+        List<Question> questions = questionRepository.findByQuizIdWithOptions(quizId);
+        Map<Long, QuestionStats> stats = questionStatsRepository.findByQuizId(quizId).stream()
+                .collect(Collectors.toMap(QuestionStats::getQuestionId, Function.identity()));
+        Map<Long, Long> selections = questionOptionStatsRepository
+                .findByQuestionIdIn(questions.stream().map(Question::getId).toList()).stream()
+                .collect(Collectors.toMap(QuestionOptionStats::getOptionId, QuestionOptionStats::getSelectedCount));
+
+        List<QuestionAnalyticsDTO> result = new ArrayList<>();
+        for (Question question : questions) {
+            QuestionStats sums = stats.getOrDefault(question.getId(), new QuestionStats());
+            long responses = sums.getResponses();
+            Double pValue = responses > 0 ? (double) sums.getCorrect() / responses : null;
+            Double discrimination = pointBiserial(sums);
+
+            List<OptionAnalyticsDTO> options = question.getOptions().stream()
+                    .map(option -> {
+                        long count = selections.getOrDefault(option.getId(), 0L);
+                        return OptionAnalyticsDTO.builder()
+                                .optionId(option.getId())
+                                .optionText(option.getOptionText())
+                                .isCorrect(option.getIsCorrect())
+                                .selectedCount(count)
+                                .selectionRate(responses > 0 ? (double) count / responses : null)
+                                .build();
+                    })
+                    .collect(Collectors.toList());
+
+            result.add(QuestionAnalyticsDTO.builder()
+                    .questionId(question.getId())
+                    .questionText(question.getQuestionText())
+                    .responses(responses)
+                    .correct(sums.getCorrect())
+                    .pValue(pValue)
+                    .discrimination(discrimination)
+                    .flags(flags(responses, pValue, discrimination, options))
+                    .options(options)
+                    .build());
+        }
+        return result;
+    }
+
+    /**
+     * Recomputes the analytics of one quiz from its completed attempts, archived ones included, for attempts
+     * completed before item analysis existed or after answers were changed outside the application. Attempts
+     * still in the outbox are left to the pipeline, which adds them to the rebuilt statistics once delivered.
+     */
+    public int rebuild(Long quizId) {
+        if (!quizRepository.existsById(quizId)) {
+            throw new ResourceNotFoundException("Quiz not found with id: " + quizId);
+        }
+        synchronized (maintenanceLock) {
+            int attempts = transactionTemplate.execute(status -> {
+                // Locked first: deliveries under way commit before anything is read, and pending ones wait for the rebuild
+                Set<Long> undelivered = attemptOutboxRepository.findByQuizIdForUpdate(quizId).stream()
+                        .filter(row -> !row.isDeadLettered())
+                        .map(AttemptOutboxEvent::getAttemptId)
+                        .collect(Collectors.toSet());
+                List<Long> questionIds = questionRepository.findIdsByQuizIds(List.of(quizId)).stream()
+                        .map(QuestionRepository.QuestionIdView::getQuestionId)
+                        .toList();
+                questionStatsRepository.deleteByQuizId(quizId);
+                if (!questionIds.isEmpty()) {
+                    questionOptionStatsRepository.deleteByQuestionIds(questionIds);
+                }
+                int count = 0;
+                long lastId = 0;
+                List<QuizAttemptRepository.CompletedScoreView> page;
+                while (!(page = quizAttemptRepository.findCompletedScores(quizId, lastId,
+                        PageRequest.of(0, BATCH_SIZE))).isEmpty()) {
+                    List<CompletedAttempt> delivered = page.stream()
+                            .filter(view -> !undelivered.contains(view.getAttemptId()))
+                            .map(view -> new CompletedAttempt(view.getAttemptId(), quizId,
+                                    view.getScoreObtained() != null ? view.getScoreObtained() : 0))
+                            .toList();
+                    if (!delivered.isEmpty()) {
+                        fold(delivered);
+                    }
+                    count += delivered.size();
+                    lastId = page.get(page.size() - 1).getAttemptId();
+                }
+                long lastArchivedId = 0;
+                List<ArchivedAttempt> archived;
+                while (!(archived = archivedAttemptRepository.findCompletedByQuizId(quizId, lastArchivedId,
+                        PageRequest.of(0, BATCH_SIZE))).isEmpty()) {
+                    foldArchived(archived);
+                    count += archived.size();
+                    lastArchivedId = archived.get(archived.size() - 1).getId();
+                }
+                return count;
+            });
+            logger.info("Item analysis of quiz {} rebuilt from {} attempts", quizId, attempts);
+            return attempts;
+        }
+    }
+
+    private void fold(List<CompletedAttempt> attempts) {
+        List<UserAnswerRepository.AnswerOptionView> rows = userAnswerRepository
+                .findAnswerOptionsByAttemptIds(attempts.stream().map(CompletedAttempt::getAttemptId).toList());
+        Set<Long> maskedQuestionIds = rows.stream()
+                .filter(row -> row.getSelectedOptionsMask() != null)
+                .map(UserAnswerRepository.AnswerOptionView::getQuestionId)
+                .collect(Collectors.toSet());
+        Map<Long, List<Long>> optionOrders = maskedQuestionIds.isEmpty() ? Map.of() : questionOptionRepository
+                .findOrderedIdsByQuestionIds(maskedQuestionIds).stream()
+                .collect(Collectors.groupingBy(QuestionOptionRepository.OptionIdView::getQuestionId,
+                        Collectors.mapping(QuestionOptionRepository.OptionIdView::getOptionId, Collectors.toList())));
+
+        Map<Long, Map<Long, FinalAnswer>> answersByAttempt = new HashMap<>();
+        for (UserAnswerRepository.AnswerOptionView row : rows) {
+            FinalAnswer answer = answersByAttempt
+                    .computeIfAbsent(row.getAttemptId(), id -> new HashMap<>())
+                    .computeIfAbsent(row.getQuestionId(), id -> new FinalAnswer(Boolean.TRUE.equals(row.getIsCorrect()),
+                            row.getPointsEarned() != null ? row.getPointsEarned() : 0));
+            if (row.getSelectedOptionsMask() != null) {
+                answer.optionIds.addAll(OptionBitmask.decode(
+                        optionOrders.getOrDefault(row.getQuestionId(), List.of()), row.getSelectedOptionsMask()));
+            } else if (row.getOptionId() != null) {
+                answer.optionIds.add(row.getOptionId());
+            }
+        }
+        fold(attempts, answersByAttempt);
+    }
+
+    private void foldArchived(List<ArchivedAttempt> archived) {
+        Map<Long, Map<Long, FinalAnswer>> answersByAttempt = new HashMap<>();
+        for (ArchivedAttempt attempt : archived) {
+            Map<Long, FinalAnswer> answers = answersByAttempt.computeIfAbsent(attempt.getId(), id -> new HashMap<>());
+            for (ArchivedAnswers.Answer archivedAnswer : ArchivedAnswers.decode(attempt.getAnswers())) {
+                FinalAnswer answer = new FinalAnswer(archivedAnswer.isCorrect(), archivedAnswer.getPointsEarned());
+                answer.optionIds.addAll(archivedAnswer.getOptionIds());
+                answers.put(archivedAnswer.getQuestionId(), answer);
+            }
+        }
+        fold(archived.stream()
+                .map(attempt -> new CompletedAttempt(attempt.getId(), attempt.getQuizId(),
+                        attempt.getScoreObtained() != null ? attempt.getScoreObtained() : 0))
+                .toList(), answersByAttempt);
+    }
+
+    // Adds one response per question of each attempt's quiz, plus the options chosen in its answers
+    private void fold(List<CompletedAttempt> attempts, Map<Long, Map<Long, FinalAnswer>> answersByAttempt) {
+        Map<Long, List<Long>> questionIdsByQuiz = questionRepository
+                .findIdsByQuizIds(attempts.stream().map(CompletedAttempt::getQuizId).collect(Collectors.toSet())).stream()
+                .collect(Collectors.groupingBy(QuestionRepository.QuestionIdView::getQuizId,
+                        Collectors.mapping(QuestionRepository.QuestionIdView::getQuestionId, Collectors.toList())));
+
+        Map<Long, QuestionStats> questionDeltas = new HashMap<>();
+        Map<Long, QuestionOptionStats> optionDeltas = new HashMap<>();
+        for (CompletedAttempt attempt : attempts) {
+            Map<Long, FinalAnswer> answers = answersByAttempt.getOrDefault(attempt.getAttemptId(), Map.of());
+            for (Long questionId : questionIdsByQuiz.getOrDefault(attempt.getQuizId(), List.of())) {
+                FinalAnswer answer = answers.get(questionId);
+                long restScore = attempt.getScore() - (answer != null ? answer.points : 0);
+                questionDeltas.computeIfAbsent(questionId, id -> QuestionStats.builder()
+                                .questionId(id)
+                                .quizId(attempt.getQuizId())
+                                .build())
+                        .addResponse(answer != null && answer.correct, restScore);
+                if (answer != null) {
+                    for (Long optionId : answer.optionIds) {
+                        QuestionOptionStats delta = optionDeltas.computeIfAbsent(optionId, id -> QuestionOptionStats.builder()
+                                .optionId(id)
+                                .questionId(questionId)
+                                .build());
+                        delta.setSelectedCount(delta.getSelectedCount() + 1);
+                    }
+                }
+            }
+        }
+        questionStatsRepository.incrementAll(questionDeltas.values(), optionDeltas.values());
+    }
+
+    private static class FinalAnswer {
+        private final boolean correct;
+        private final int points;
+        private final Set<Long> optionIds = new HashSet<>();
+
+        FinalAnswer(boolean correct, int points) {
+            this.correct = correct;
+            this.points = points;
+        }
+    }
+
+    // Corrected point-biserial correlation; null while either variable has no variance
+    private static Double pointBiserial(QuestionStats sums) {
+        double n = sums.getResponses();
+        double sx = sums.getCorrect();
+        double sy = sums.getRestScoreSum();
+        double numerator = n * sums.getCorrectRestScoreSum() - sx * sy;
+        double varianceX = n * sx - sx * sx;
+        double varianceY = n * sums.getRestScoreSquareSum() - sy * sy;
+        if (varianceX <= 0 || varianceY <= 0) {
+            return null;
+        }
+        return numerator / Math.sqrt(varianceX * varianceY);
+    }
+
+    private static List<String> flags(long responses, Double pValue, Double discrimination,
+                                      List<OptionAnalyticsDTO> options) {
+        List<String> flags = new ArrayList<>();
+        if (responses < MIN_RESPONSES_FOR_FLAGS) {
+            return flags;
+        }
+        if (pValue > TOO_EASY_P_VALUE) {
+            flags.add(TOO_EASY);
+        } else if (pValue < TOO_HARD_P_VALUE) {
+            flags.add(TOO_HARD);
+        }
+        if (discrimination == null || discrimination < MIN_DISCRIMINATION) {
+            flags.add(LOW_DISCRIMINATION);
+        }
+        long mostPickedCorrect = options.stream().filter(option -> Boolean.TRUE.equals(option.getIsCorrect()))
+                .mapToLong(OptionAnalyticsDTO::getSelectedCount).max().orElse(0);
+        boolean distractorPreferred = options.stream()
+                .anyMatch(option -> !Boolean.TRUE.equals(option.getIsCorrect()) && option.getSelectedCount() > mostPickedCorrect);
+        if (distractorPreferred) {
+            flags.add(DISTRACTOR_PREFERRED);
+        }
+        return flags;
+    }
+}
@@ -1,16 +1,27 @@
 package com.quiz.application.service;
 
 import com.quiz.application.dto.LeaderboardEntryDTO;
+import com.quiz.application.entity.ArchivedScoreTotals;
+import com.quiz.application.entity.Quiz;
 import com.quiz.application.entity.QuizAttempt;
+import com.quiz.application.entity.User;
+import com.quiz.application.jfr.LeaderboardComputationEvent;
+import com.quiz.application.repository.ArchivedScoreTotalsRepository;
 import com.quiz.application.repository.QuizAttemptRepository;
+import com.quiz.application.repository.QuizRepository;
+import com.quiz.application.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -19,41 +30,62 @@ public class LeaderboardService {
     @Autowired
     private QuizAttemptRepository quizAttemptRepository;
     
+    @Autowired
+    private ArchivedScoreTotalsRepository archivedScoreTotalsRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private QuizRepository quizRepository;
+    
     @Transactional(readOnly = true)
     public List<LeaderboardEntryDTO> getGlobalLeaderboard(int limit) {
+        LeaderboardComputationEvent event = new LeaderboardComputationEvent();
+        event.begin();
         List<QuizAttempt> allAttempts = quizAttemptRepository.findAllCompletedOrderedByScore();
         
         // Group by user and calculate total scores
         Map<Long, List<QuizAttempt>> attemptsByUser = allAttempts.stream()
                 .collect(Collectors.groupingBy(attempt -> attempt.getUser().getId()));
         
+        // Archived attempts only contribute per-user totals, summed when they were archived
+        Map<Long, ArchivedScoreTotalsRepository.UserTotalsView> archivedByUser = archivedScoreTotalsRepository
+                .sumByUser().stream()
+                .collect(Collectors.toMap(ArchivedScoreTotalsRepository.UserTotalsView::getUserId,
+                        Function.identity()));
+        Set<Long> archivedOnly = new HashSet<>(archivedByUser.keySet());
+        archivedOnly.removeAll(attemptsByUser.keySet());
+        
         List<LeaderboardEntryDTO> leaderboard = new ArrayList<>();
         
         for (Map.Entry<Long, List<QuizAttempt>> entry : attemptsByUser.entrySet()) {
             List<QuizAttempt> userAttempts = entry.getValue();
+            ArchivedScoreTotalsRepository.UserTotalsView archived = archivedByUser.get(entry.getKey());
             
             int totalScore = userAttempts.stream()
                     .mapToInt(QuizAttempt::getScoreObtained)
                     .sum();
             
-            double averageScore = userAttempts.stream()
+            double percentageSum = userAttempts.stream()
                     .mapToDouble(QuizAttempt::getPercentageScore)
-                    .average()
-                    .orElse(0.0);
-            
-            QuizAttempt firstAttempt = userAttempts.get(0);
+                    .sum();
             
-            LeaderboardEntryDTO dto = LeaderboardEntryDTO.builder()
-                    .userId(firstAttempt.getUser().getId())
-                    .username(firstAttempt.getUser().getUsername())
-                    .firstName(firstAttempt.getUser().getFirstName())
-                    .lastName(firstAttempt.getUser().getLastName())
-                    .totalScore(totalScore)
-                    .averageScore(averageScore)
-                    .attemptCount(userAttempts.size())
-                    .build();
+            int attemptCount = userAttempts.size();
+            if (archived != null) {
+                totalScore += archived.getScoreSum().intValue();
+                percentageSum += archived.getPercentageSum();
+                attemptCount += archived.getAttempts().intValue();
+            }
             
-            leaderboard.add(dto);
+            leaderboard.add(globalEntry(userAttempts.get(0).getUser(), totalScore, percentageSum / attemptCount,
+                    attemptCount));
+        }
+        
+        for (User user : userRepository.findAllById(archivedOnly)) {
+            ArchivedScoreTotalsRepository.UserTotalsView archived = archivedByUser.get(user.getId());
+            leaderboard.add(globalEntry(user, archived.getScoreSum().intValue(),
+                    archived.getPercentageSum() / archived.getAttempts(), archived.getAttempts().intValue()));
         }
         
         // Sort by total score descending
@@ -64,14 +96,30 @@ public class LeaderboardService {
             leaderboard.get(i).setRank(i + 1);
         }
         
+        commit(event, LeaderboardComputationEvent.GLOBAL, 0, allAttempts.size(), archivedByUser.size(),
+                leaderboard.size(), limit);
         // Return top N
         return leaderboard.stream()
                 .limit(limit)
                 .collect(Collectors.toList());
     }
     
+    private LeaderboardEntryDTO globalEntry(User user, int totalScore, double averageScore, int attemptCount) {
+        return LeaderboardEntryDTO.builder()
+                .userId(user.getId())
+                .username(user.getUsername())
+                .firstName(user.getFirstName())
+                .lastName(user.getLastName())
+                .totalScore(totalScore)
+                .averageScore(averageScore)
+                .attemptCount(attemptCount)
+                .build();
+    }
+    
     @Transactional(readOnly = true)
     public List<LeaderboardEntryDTO> getQuizLeaderboard(Long quizId, int limit) {
+        LeaderboardComputationEvent event = new LeaderboardComputationEvent();
+        event.begin();
         List<QuizAttempt> quizAttempts = quizAttemptRepository.findTopScoresByQuizId(quizId);
 
         // Group by user and get best score
@@ -82,6 +130,16 @@ public class LeaderboardService {
                         (a1, a2) -> a1.getScoreObtained() >= a2.getScoreObtained() ? a1 : a2
                 ));
 
+        // An archived best only replaces the user's hot best when it scored higher
+        List<ArchivedScoreTotals> archivedScores = archivedScoreTotalsRepository.findByQuizId(quizId);
+        Map<Long, ArchivedScoreTotals> archivedBestByUser = archivedScores.stream()
+                .collect(Collectors.toMap(ArchivedScoreTotals::getUserId, Function.identity()));
+        archivedBestByUser.values().removeIf(archived -> {
+            QuizAttempt hot = bestAttemptsByUser.get(archived.getUserId());
+            return hot != null && hot.getScoreObtained() >= archived.getBestScore();
+        });
+        bestAttemptsByUser.keySet().removeAll(archivedBestByUser.keySet());
+
         List<LeaderboardEntryDTO> leaderboard = bestAttemptsByUser.values().stream()
                 .map(attempt -> LeaderboardEntryDTO.builder()
                         .userId(attempt.getUser().getId())
@@ -95,17 +153,56 @@ public class LeaderboardService {
                         .quizTitle(attempt.getQuiz().getTitle())
                         .totalQuestions(attempt.getQuiz().getQuestions().size())
                         .build())
-                .sorted(Comparator.comparing(LeaderboardEntryDTO::getTotalScore).reversed())
                 .collect(Collectors.toList());
 
+        Quiz quiz = archivedBestByUser.isEmpty() ? null : quizRepository.findById(quizId).orElse(null);
+        if (quiz != null) {
+            Map<Long, User> users = new HashMap<>();
+            userRepository.findAllById(archivedBestByUser.keySet()).forEach(user -> users.put(user.getId(), user));
+            for (ArchivedScoreTotals archived : archivedBestByUser.values()) {
+                User user = users.get(archived.getUserId());
+                if (user == null) {
+                    continue;
+                }
+                leaderboard.add(LeaderboardEntryDTO.builder()
+                        .userId(user.getId())
+                        .username(user.getUsername())
+                        .firstName(user.getFirstName())
+                        .lastName(user.getLastName())
+                        .totalScore(archived.getBestScore())
+                        .averageScore(archived.getBestPercentage())
+                        .attemptCount(1)
+                        .quizId(quiz.getId())
+                        .quizTitle(quiz.getTitle())
+                        .totalQuestions(quiz.getQuestions().size())
+                        .build());
+            }
+        }
+        leaderboard.sort(Comparator.comparing(LeaderboardEntryDTO::getTotalScore).reversed());
+
         // Assign ranks
         for (int i = 0; i < leaderboard.size(); i++) {
             leaderboard.get(i).setRank(i + 1);
         }
 
+        commit(event, LeaderboardComputationEvent.QUIZ, quizId, quizAttempts.size(), archivedScores.size(),
+                leaderboard.size(), limit);
         // Return top N
         return leaderboard.stream()
                 .limit(limit)
                 .collect(Collectors.toList());
     }
+
+    private static void commit(LeaderboardComputationEvent event, String board, long quizId, int rowsLoaded,
+                               int archivedRowsLoaded, int entries, int limit) {
+        if (event.shouldCommit()) {
+            event.board = board;
+            event.quizId = quizId;
+            event.rowsLoaded = rowsLoaded;
+            event.archivedRowsLoaded = archivedRowsLoaded;
+            event.entries = entries;
+            event.limit = limit;
+            event.commit();
+        }
+    }
 }
@@ -0,0 +1,343 @@
+package com.quiz.application.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quiz.application.dto.LeaderboardEntryDTO;
+import com.quiz.application.dto.LeaderboardUpdateDTO;
+import com.quiz.application.event.AttemptFinishedEvent;
+import com.quiz.application.exception.ResourceNotFoundException;
+import com.quiz.application.pipeline.AttemptCompletedConsumer;
+import com.quiz.application.repository.QuizRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Pushes leaderboard changes to Server-Sent Event subscribers. Completed attempts only mark the affected
+ * boards dirty; a single broadcaster thread recomputes each dirty board at most once per coalescing interval,
+ * diffs it against the previous version and queues the same serialized delta for every subscriber, so the
+ * cost of an update does not grow with the number of listeners. Each subscriber's queue is written out in order
+ * by a small sender pool; a subscriber that falls too far behind, or whose write stalls, is dropped so that one
+ * slow client cannot hold up a board or the other listeners.
+ */
+@Service
+public class LeaderboardStreamService implements AttemptCompletedConsumer {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeaderboardStreamService.class);
+
+    private static final String GLOBAL = "global";
+    private static final int STREAM_DEPTH = 20;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private QuizRepository quizRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${quiz.leaderboard.stream.coalesce-millis:1000}")
+    private long coalesceMillis;
+
+    @Value("${quiz.leaderboard.stream.heartbeat-seconds:15}")
+    private long heartbeatSeconds;
+
+    @Value("${quiz.leaderboard.stream.timeout-millis:1800000}")
+    private long emitterTimeoutMillis;
+
+    @Value("${quiz.leaderboard.stream.send-threads:4}")
+    private int sendThreads;
+
+    @Value("${quiz.leaderboard.stream.max-pending-events:32}")
+    private int maxPendingEvents;
+
+    @Value("${quiz.leaderboard.stream.send-timeout-millis:10000}")
+    private long sendTimeoutMillis;
+
+    private final Map<String, Board> boards = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService broadcaster;
+
+    private ExecutorService sender;
+
+    private static class Board {
+        private final String name;
+        private final Function<Integer, List<LeaderboardEntryDTO>> loader;
+        private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+        private final AtomicBoolean dirty = new AtomicBoolean();
+        // Guarded by the board's monitor so a new subscriber never misses the delta following its snapshot
+        private List<LeaderboardEntryDTO> snapshot;
+        private long version;
+
+        Board(String name, Function<Integer, List<LeaderboardEntryDTO>> loader) {
+            this.name = name;
+            this.loader = loader;
+        }
+    }
+
+    private static class Subscriber {
+        private final Board board;
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        // Set while a drain task is queued or running, so events go out one at a time and in order
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean dropped = new AtomicBoolean();
+        // Start of the write in progress, 0 when idle
+        private volatile long sendStartedNanos;
+
+        Subscriber(Board board, SseEmitter emitter) {
+            this.board = board;
+            this.emitter = emitter;
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        broadcaster = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "leaderboard-broadcaster");
+            thread.setDaemon(true);
+            return thread;
+        });
+        broadcaster.scheduleWithFixedDelay(this::broadcastDirtyBoards, coalesceMillis, coalesceMillis, TimeUnit.MILLISECONDS);
+        broadcaster.scheduleWithFixedDelay(this::sendHeartbeats, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+        AtomicInteger threadCount = new AtomicInteger();
+        sender = Executors.newFixedThreadPool(sendThreads, runnable -> {
+            Thread thread = new Thread(runnable, "leaderboard-sender-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        broadcaster.shutdownNow();
+        sender.shutdownNow();
+        boards.values().forEach(board -> board.subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    public SseEmitter subscribeGlobal() {
+        return subscribe(GLOBAL, limit -> leaderboardService.getGlobalLeaderboard(limit));
+    }
+
+    public SseEmitter subscribeQuiz(Long quizId) {
+        if (!quizRepository.existsById(quizId)) {
+            throw new ResourceNotFoundException("Quiz not found with id: " + quizId);
+        }
+        return subscribe(quizBoardName(quizId), limit -> leaderboardService.getQuizLeaderboard(quizId, limit));
+    }
+
+    public int subscriberCount() {
+        return boards.values().stream().mapToInt(board -> board.subscribers.size()).sum();
+    }
+
+    @Override
+    public void onAttemptsCompleted(List<AttemptFinishedEvent> events) {
+        markDirty(GLOBAL);
+        events.stream().map(AttemptFinishedEvent::getQuizId).distinct()
+                .forEach(quizId -> markDirty(quizBoardName(quizId)));
+    }
+
+    private SseEmitter subscribe(String name, Function<Integer, List<LeaderboardEntryDTO>> loader) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        AtomicReference<Subscriber> joined = new AtomicReference<>();
+        Runnable leave = () -> {
+            Subscriber subscriber = joined.get();
+            if (subscriber != null) {
+                unsubscribe(subscriber);
+            }
+        };
+        emitter.onCompletion(leave);
+        emitter.onTimeout(leave);
+        emitter.onError(error -> leave.run());
+
+        while (true) {
+            Board board = boards.computeIfAbsent(name, key -> new Board(key, loader));
+            synchronized (board) {
+                // The board may have been dropped by its last subscriber leaving in the meantime
+                if (boards.get(name) != board) {
+                    continue;
+                }
+                if (board.snapshot == null) {
+                    board.snapshot = board.loader.apply(STREAM_DEPTH);
+                }
+                Subscriber subscriber = new Subscriber(board, emitter);
+                board.subscribers.add(subscriber);
+                joined.set(subscriber);
+                LeaderboardUpdateDTO snapshot = LeaderboardUpdateDTO.builder()
+                        .type("SNAPSHOT")
+                        .leaderboard(board.name)
+                        .version(board.version)
+                        .entries(board.snapshot)
+                        .removedUserIds(List.of())
+                        .build();
+                // Queued under the monitor, so it goes out before any delta that follows it
+                enqueue(subscriber, SseEmitter.event().name("snapshot").data(serialize(snapshot)));
+                return emitter;
+            }
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        Board board = subscriber.board;
+        // Lock order is always board monitor, then map; subscribe() re-checks membership under the monitor
+        synchronized (board) {
+            board.subscribers.remove(subscriber);
+            if (board.subscribers.isEmpty()) {
+                boards.remove(board.name, board);
+            }
+        }
+    }
+
+    private void markDirty(String name) {
+        Board board = boards.get(name);
+        if (board != null) {
+            board.dirty.set(true);
+        }
+    }
+
+    private void broadcastDirtyBoards() {
+        for (Board board : boards.values()) {
+            if (!board.dirty.getAndSet(false)) {
+                continue;
+            }
+            try {
+                broadcast(board);
+            } catch (RuntimeException e) {
+                logger.error("Failed to push leaderboard {}", board.name, e);
+            }
+        }
+    }
+
+    private void broadcast(Board board) {
+        String payload;
+        List<Subscriber> subscribers;
+        synchronized (board) {
+            List<LeaderboardEntryDTO> current = board.loader.apply(STREAM_DEPTH);
+            Map<Long, LeaderboardEntryDTO> previous = board.snapshot.stream()
+                    .collect(Collectors.toMap(LeaderboardEntryDTO::getUserId, Function.identity()));
+
+            List<LeaderboardEntryDTO> changed = new ArrayList<>();
+            for (LeaderboardEntryDTO entry : current) {
+                if (!entry.equals(previous.remove(entry.getUserId()))) {
+                    changed.add(entry);
+                }
+            }
+            List<Long> removed = new ArrayList<>(previous.keySet());
+            board.snapshot = current;
+            if (changed.isEmpty() && removed.isEmpty()) {
+                return;
+            }
+
+            board.version++;
+            payload = serialize(LeaderboardUpdateDTO.builder()
+                    .type("DELTA")
+                    .leaderboard(board.name)
+                    .version(board.version)
+                    .entries(changed)
+                    .removedUserIds(removed)
+                    .build());
+            // Everyone who joins after this copy gets a snapshot that already includes the delta
+            subscribers = List.copyOf(board.subscribers);
+        }
+        for (Subscriber subscriber : subscribers) {
+            enqueue(subscriber, SseEmitter.event().name("delta").data(payload));
+        }
+    }
+
+    private void sendHeartbeats() {
+        long stalledBefore = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis);
+        for (Board board : boards.values()) {
+            for (Subscriber subscriber : board.subscribers) {
+                long started = subscriber.sendStartedNanos;
+                if (started != 0 && started - stalledBefore < 0) {
+                    drop(subscriber, "a write stalled");
+                } else {
+                    enqueue(subscriber, SseEmitter.event().comment("heartbeat"));
+                }
+            }
+        }
+    }
+
+    private void enqueue(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (subscriber.pendingCount.incrementAndGet() > maxPendingEvents) {
+            drop(subscriber, "it fell behind");
+            return;
+        }
+        subscriber.pending.add(event);
+        if (subscriber.draining.compareAndSet(false, true)) {
+            sender.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        while (true) {
+            SseEmitter.SseEventBuilder event;
+            while ((event = subscriber.pending.poll()) != null) {
+                subscriber.pendingCount.decrementAndGet();
+                if (subscriber.dropped.get()) {
+                    continue;
+                }
+                subscriber.sendStartedNanos = System.nanoTime();
+                try {
+                    subscriber.emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    // The client went away; drop it instead of failing the whole fan-out
+                    subscriber.dropped.set(true);
+                    unsubscribe(subscriber);
+                } finally {
+                    subscriber.sendStartedNanos = 0;
+                }
+            }
+            subscriber.draining.set(false);
+            // An event queued after the last poll but before the flag was cleared found a drain still running
+            if (subscriber.pending.isEmpty() || !subscriber.draining.compareAndSet(false, true)) {
+                return;
+            }
+        }
+    }
+
+    private void drop(Subscriber subscriber, String reason) {
+        if (subscriber.dropped.compareAndSet(false, true)) {
+            logger.info("Dropping a {} leaderboard subscriber because {}", subscriber.board.name, reason);
+            unsubscribe(subscriber);
+            subscriber.emitter.complete();
+        }
+    }
+
+    private String serialize(LeaderboardUpdateDTO update) {
+        try {
+            return objectMapper.writeValueAsString(update);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize leaderboard update", e);
+        }
+    }
+
+    private static String quizBoardName(Long quizId) {
+        return "quiz:" + quizId;
+    }
+}
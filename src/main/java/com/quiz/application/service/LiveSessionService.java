@@ -0,0 +1,669 @@
+package com.quiz.application.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quiz.application.dto.LeaderboardEntryDTO;
+import com.quiz.application.dto.LiveAnswerRequest;
+import com.quiz.application.dto.LiveAnswerResult;
+import com.quiz.application.dto.LiveQuestionResultDTO;
+import com.quiz.application.dto.LiveSessionCreateRequest;
+import com.quiz.application.dto.LiveSessionDTO;
+import com.quiz.application.dto.QuestionDTO;
+import com.quiz.application.dto.QuestionOptionDTO;
+import com.quiz.application.entity.Question;
+import com.quiz.application.entity.QuestionOption;
+import com.quiz.application.entity.Quiz;
+import com.quiz.application.exception.BadRequestException;
+import com.quiz.application.exception.ResourceNotFoundException;
+import com.quiz.application.repository.QuestionRepository;
+import com.quiz.application.repository.QuizRepository;
+import com.quiz.application.security.UserPrincipal;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Host-paced live sessions over a quiz. The host opens questions one at a time and every participant receives
+ * them over Server-Sent Events. Answers are appended to a lock-free queue for the open question and graded
+ * together when it closes. When the session ends, all graded answers are stored as ordinary completed
+ * attempts in one transaction. Events are only queued while the session is locked; a small sender pool writes
+ * each client's queue out in order, and a client that falls too far behind, or whose write stalls, is dropped.
+ * Sessions live in memory only and are lost on restart.
+ */
+@Service
+public class LiveSessionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LiveSessionService.class);
+
+    private static final String CODE_ALPHABET = "ABCDEFGHJKLMNPQRSTUVWXYZ23456789";
+    private static final int CODE_LENGTH = 6;
+    private static final int STANDINGS_SIZE = 10;
+    private static final int MAX_QUESTION_SECONDS = 3600;
+
+    @Autowired
+    private QuizRepository quizRepository;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private QuestionService questionService;
+
+    @Autowired
+    private QuizAttemptService quizAttemptService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${quiz.live.max-session-minutes:240}")
+    private long maxSessionMinutes;
+
+    @Value("${quiz.live.send-threads:4}")
+    private int sendThreads;
+
+    @Value("${quiz.live.max-pending-events:32}")
+    private int maxPendingEvents;
+
+    @Value("${quiz.live.send-timeout-millis:10000}")
+    private long sendTimeoutMillis;
+
+    private final Map<String, LiveSession> sessions = new ConcurrentHashMap<>();
+
+    private final SecureRandom random = new SecureRandom();
+
+    private ScheduledExecutorService scheduler;
+
+    private ExecutorService sender;
+
+    private enum State {
+        WAITING, QUESTION_OPEN, QUESTION_CLOSED, ENDED
+    }
+
+    private static class LiveQuestion {
+        private final Long id;
+        private final int points;
+        private final String explanation;
+        private final Set<Long> optionIds;
+        private final Set<Long> correctOptionIds;
+        // What participants see: no correct-answer flags and no explanation
+        private final QuestionDTO publicView;
+
+        LiveQuestion(Question question, QuestionDTO publicView) {
+            this.id = question.getId();
+            this.points = question.getPoints();
+            this.explanation = question.getExplanation();
+            this.optionIds = question.getOptions().stream().map(QuestionOption::getId).collect(Collectors.toSet());
+            this.correctOptionIds = question.getOptions().stream()
+                    .filter(QuestionOption::getIsCorrect)
+                    .map(QuestionOption::getId)
+                    .collect(Collectors.toSet());
+            this.publicView = publicView;
+        }
+    }
+
+    private static class Participant {
+        private final Long userId;
+        private final String username;
+        private final List<Client> clients = new CopyOnWriteArrayList<>();
+        // Guarded by the session's monitor
+        private int score;
+        private int correctAnswers;
+
+        Participant(Long userId, String username) {
+            this.userId = userId;
+            this.username = username;
+        }
+    }
+
+    // One connected stream of a participant or of the host
+    private static class Client {
+        private final List<Client> owner;
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        // Set while a drain task is queued or running, so events go out one at a time and in order
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean dropped = new AtomicBoolean();
+        // Complete the emitter once everything queued has been written
+        private volatile boolean finishing;
+        // Start of the write in progress, 0 when idle
+        private volatile long sendStartedNanos;
+
+        Client(List<Client> owner, SseEmitter emitter) {
+            this.owner = owner;
+            this.emitter = emitter;
+        }
+    }
+
+    private static class Submission {
+        private final Long userId;
+        private final Set<Long> optionIds;
+
+        Submission(Long userId, Set<Long> optionIds) {
+            this.userId = userId;
+            this.optionIds = optionIds;
+        }
+    }
+
+    private static class OpenQuestion {
+        private final int index;
+        private final LiveQuestion question;
+        private final LocalDateTime closesAt;
+        private final ConcurrentLinkedQueue<Submission> submissions = new ConcurrentLinkedQueue<>();
+        // Answers between their closed check and their enqueue; closing waits for this to drain
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private volatile boolean closed;
+        private ScheduledFuture<?> autoClose;
+
+        OpenQuestion(int index, LiveQuestion question, LocalDateTime closesAt) {
+            this.index = index;
+            this.question = question;
+            this.closesAt = closesAt;
+        }
+    }
+
+    private static class LiveSession {
+        private final String code;
+        private final Long quizId;
+        private final String quizTitle;
+        private final Long hostId;
+        private final String hostUsername;
+        private final List<LiveQuestion> questions;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private final Map<Long, Participant> participants = new ConcurrentHashMap<>();
+        private final List<Client> observers = new CopyOnWriteArrayList<>();
+        private final AtomicReference<OpenQuestion> open = new AtomicReference<>();
+        // Guarded by the session's monitor
+        private State state = State.WAITING;
+        private int currentIndex = -1;
+        private LocalDateTime startedAt;
+        private final List<LiveAnswerResult> graded = new ArrayList<>();
+
+        LiveSession(String code, Quiz quiz, UserPrincipal host, List<LiveQuestion> questions) {
+            this.code = code;
+            this.quizId = quiz.getId();
+            this.quizTitle = quiz.getTitle();
+            this.hostId = host.getId();
+            this.hostUsername = host.getUsername();
+            this.questions = questions;
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "live-sessions");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::endStaleSessions, 1, 1, TimeUnit.MINUTES);
+        scheduler.scheduleWithFixedDelay(this::dropStalledClients, sendTimeoutMillis, sendTimeoutMillis, TimeUnit.MILLISECONDS);
+        AtomicInteger threadCount = new AtomicInteger();
+        sender = Executors.newFixedThreadPool(sendThreads, runnable -> {
+            Thread thread = new Thread(runnable, "live-sender-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        sender.shutdownNow();
+    }
+
+    @Transactional(readOnly = true)
+    public LiveSessionDTO createSession(LiveSessionCreateRequest request) {
+        Quiz quiz = quizRepository.findById(request.getQuizId())
+                .orElseThrow(() -> new ResourceNotFoundException("Quiz not found with id: " + request.getQuizId()));
+        List<LiveQuestion> questions = questionRepository.findByQuizIdWithOptions(quiz.getId()).stream()
+                .map(question -> new LiveQuestion(question, publicView(questionService.convertToDTO(question))))
+                .collect(Collectors.toList());
+        if (questions.isEmpty()) {
+            throw new BadRequestException("A live session needs a quiz with at least one question");
+        }
+
+        UserPrincipal host = currentPrincipal();
+        LiveSession session;
+        do {
+            session = new LiveSession(generateCode(), quiz, host, questions);
+        } while (sessions.putIfAbsent(session.code, session) != null);
+
+        logger.info("Live session {} created for quiz {} by {}", session.code, quiz.getId(), host.getUsername());
+        synchronized (session) {
+            return toDTO(session);
+        }
+    }
+
+    public LiveSessionDTO getSession(String code) {
+        LiveSession session = findSession(code);
+        synchronized (session) {
+            return toDTO(session);
+        }
+    }
+
+    // The host receives the same events as participants without being counted as one.
+    public SseEmitter join(String code) {
+        LiveSession session = findSession(code);
+        UserPrincipal principal = currentPrincipal();
+        SseEmitter emitter = new SseEmitter(TimeUnit.MINUTES.toMillis(maxSessionMinutes));
+
+        // Registered under the same lock as the ended check, so ending the session either records this
+        // participant or turns the join away, never both
+        synchronized (session) {
+            if (session.state == State.ENDED) {
+                throw new BadRequestException("This live session has ended");
+            }
+            List<Client> target = principal.getId().equals(session.hostId)
+                    ? session.observers
+                    : session.participants.computeIfAbsent(principal.getId(),
+                            userId -> new Participant(userId, principal.getUsername())).clients;
+            Client client = new Client(target, emitter);
+            emitter.onCompletion(() -> close(client));
+            emitter.onTimeout(() -> close(client));
+            emitter.onError(error -> close(client));
+            target.add(client);
+            enqueue(client, SseEmitter.event().name("session").data(serialize(toDTO(session))));
+        }
+        return emitter;
+    }
+
+    public LiveSessionDTO openNextQuestion(String code, Integer durationSeconds) {
+        if (durationSeconds != null && (durationSeconds < 1 || durationSeconds > MAX_QUESTION_SECONDS)) {
+            throw new BadRequestException("Duration must be between 1 and " + MAX_QUESTION_SECONDS + " seconds");
+        }
+        LiveSession session = findHostedSession(code);
+        synchronized (session) {
+            if (session.state == State.QUESTION_OPEN) {
+                closeOpenQuestion(session);
+            }
+            if (session.currentIndex + 1 >= session.questions.size()) {
+                throw new BadRequestException("There are no more questions; end the session to record the results");
+            }
+            if (session.startedAt == null) {
+                session.startedAt = LocalDateTime.now();
+            }
+
+            session.currentIndex++;
+            LocalDateTime closesAt = durationSeconds != null ? LocalDateTime.now().plusSeconds(durationSeconds) : null;
+            OpenQuestion question = new OpenQuestion(session.currentIndex, session.questions.get(session.currentIndex), closesAt);
+            if (durationSeconds != null) {
+                question.autoClose = scheduler.schedule(() -> autoClose(session, question), durationSeconds, TimeUnit.SECONDS);
+            }
+            session.open.set(question);
+            session.state = State.QUESTION_OPEN;
+
+            LiveSessionDTO dto = toDTO(session);
+            broadcast(session, "question", dto);
+            return dto;
+        }
+    }
+
+    public LiveQuestionResultDTO closeQuestion(String code) {
+        LiveSession session = findHostedSession(code);
+        synchronized (session) {
+            if (session.state != State.QUESTION_OPEN) {
+                throw new BadRequestException("No question is open");
+            }
+            return closeOpenQuestion(session);
+        }
+    }
+
+    public void submitAnswer(String code, LiveAnswerRequest request) {
+        LiveSession session = findSession(code);
+        Long userId = currentPrincipal().getId();
+        if (!session.participants.containsKey(userId)) {
+            throw new BadRequestException("Join the live session before answering");
+        }
+        OpenQuestion open = session.open.get();
+        if (open == null || !open.question.id.equals(request.getQuestionId())) {
+            throw new BadRequestException("This question is not open");
+        }
+        if (!open.question.optionIds.containsAll(request.getSelectedOptionIds())) {
+            throw new BadRequestException("Option does not belong to this question");
+        }
+
+        open.inFlight.incrementAndGet();
+        try {
+            if (open.closed) {
+                throw new BadRequestException("This question is closed");
+            }
+            open.submissions.add(new Submission(userId, Set.copyOf(request.getSelectedOptionIds())));
+        } finally {
+            open.inFlight.decrementAndGet();
+        }
+    }
+
+    public LiveSessionDTO endSession(String code) {
+        return endSession(findHostedSession(code));
+    }
+
+    private LiveSessionDTO endSession(LiveSession session) {
+        LiveSessionDTO dto;
+        Set<Long> participantIds;
+        List<LiveAnswerResult> graded;
+        synchronized (session) {
+            if (session.state == State.ENDED) {
+                throw new BadRequestException("This live session has ended");
+            }
+            if (session.state == State.QUESTION_OPEN) {
+                closeOpenQuestion(session);
+            }
+            session.state = State.ENDED;
+            sessions.remove(session.code);
+            // Nothing changes once the session has ended, so the copies can be stored without the lock
+            participantIds = Set.copyOf(session.participants.keySet());
+            graded = List.copyOf(session.graded);
+
+            dto = toDTO(session);
+            broadcast(session, "ended", dto);
+            session.participants.values().forEach(participant -> participant.clients.forEach(this::finish));
+            session.observers.forEach(this::finish);
+        }
+
+        if (session.startedAt != null) {
+            try {
+                int recorded = quizAttemptService.recordLiveSession(session.quizId, session.startedAt,
+                        LocalDateTime.now(), participantIds, graded);
+                logger.info("Live session {} ended, recorded {} attempts", session.code, recorded);
+            } catch (RuntimeException e) {
+                logger.error("Failed to record the attempts of live session {}", session.code, e);
+                throw e;
+            }
+        }
+        return dto;
+    }
+
+    private LiveQuestionResultDTO closeOpenQuestion(LiveSession session) {
+        OpenQuestion open = session.open.getAndSet(null);
+        open.closed = true;
+        while (open.inFlight.get() != 0) {
+            Thread.onSpinWait();
+        }
+        if (open.autoClose != null) {
+            open.autoClose.cancel(false);
+        }
+
+        // Last answer per participant wins
+        Map<Long, Submission> latest = new LinkedHashMap<>();
+        Submission submission;
+        while ((submission = open.submissions.poll()) != null) {
+            latest.put(submission.userId, submission);
+        }
+
+        LiveQuestion question = open.question;
+        Map<Long, Integer> optionCounts = new LinkedHashMap<>();
+        question.optionIds.forEach(optionId -> optionCounts.put(optionId, 0));
+        int correctCount = 0;
+        for (Submission answer : latest.values()) {
+            boolean correct = answer.optionIds.equals(question.correctOptionIds);
+            int points = correct ? question.points : 0;
+            Participant participant = session.participants.get(answer.userId);
+            participant.score += points;
+            if (correct) {
+                participant.correctAnswers++;
+                correctCount++;
+            }
+            answer.optionIds.forEach(optionId -> optionCounts.merge(optionId, 1, Integer::sum));
+            session.graded.add(LiveAnswerResult.builder()
+                    .userId(answer.userId)
+                    .questionId(question.id)
+                    .selectedOptionIds(answer.optionIds)
+                    .isCorrect(correct)
+                    .pointsEarned(points)
+                    .build());
+        }
+        session.state = State.QUESTION_CLOSED;
+
+        LiveQuestionResultDTO result = LiveQuestionResultDTO.builder()
+                .questionId(question.id)
+                .questionIndex(open.index)
+                .correctOptionIds(question.correctOptionIds)
+                .optionCounts(optionCounts)
+                .answeredCount(latest.size())
+                .correctCount(correctCount)
+                .explanation(question.explanation)
+                .standings(standings(session))
+                .build();
+        broadcast(session, "results", result);
+        return result;
+    }
+
+    private void autoClose(LiveSession session, OpenQuestion question) {
+        try {
+            synchronized (session) {
+                if (session.open.get() == question) {
+                    closeOpenQuestion(session);
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.error("Failed to close question {} of live session {}", question.index, session.code, e);
+        }
+    }
+
+    private void endStaleSessions() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(maxSessionMinutes);
+        for (LiveSession session : sessions.values()) {
+            if (session.createdAt.isBefore(cutoff)) {
+                try {
+                    endSession(session);
+                } catch (RuntimeException e) {
+                    logger.error("Failed to end stale live session {}", session.code, e);
+                }
+            }
+        }
+    }
+
+    // Serializes once and queues the same payload for every connected client; nothing is written here.
+    private void broadcast(LiveSession session, String eventName, Object payload) {
+        String data = serialize(payload);
+        for (Participant participant : session.participants.values()) {
+            for (Client client : participant.clients) {
+                enqueue(client, SseEmitter.event().name(eventName).data(data));
+            }
+        }
+        for (Client client : session.observers) {
+            enqueue(client, SseEmitter.event().name(eventName).data(data));
+        }
+    }
+
+    private void dropStalledClients() {
+        long stalledBefore = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis);
+        for (LiveSession session : sessions.values()) {
+            for (Participant participant : session.participants.values()) {
+                participant.clients.forEach(client -> dropIfStalled(client, stalledBefore));
+            }
+            session.observers.forEach(client -> dropIfStalled(client, stalledBefore));
+        }
+    }
+
+    private void dropIfStalled(Client client, long stalledBefore) {
+        long started = client.sendStartedNanos;
+        if (started != 0 && started - stalledBefore < 0) {
+            drop(client, "a write stalled");
+        }
+    }
+
+    private void enqueue(Client client, SseEmitter.SseEventBuilder event) {
+        if (client.pendingCount.incrementAndGet() > maxPendingEvents) {
+            drop(client, "it fell behind");
+            return;
+        }
+        client.pending.add(event);
+        schedule(client);
+    }
+
+    private void finish(Client client) {
+        client.finishing = true;
+        schedule(client);
+    }
+
+    private void schedule(Client client) {
+        if (client.draining.compareAndSet(false, true)) {
+            sender.execute(() -> drain(client));
+        }
+    }
+
+    private void drain(Client client) {
+        while (true) {
+            SseEmitter.SseEventBuilder event;
+            while ((event = client.pending.poll()) != null) {
+                client.pendingCount.decrementAndGet();
+                if (client.dropped.get()) {
+                    continue;
+                }
+                client.sendStartedNanos = System.nanoTime();
+                try {
+                    client.emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    // The client went away; the others still get their events
+                    close(client);
+                } finally {
+                    client.sendStartedNanos = 0;
+                }
+            }
+            if (client.finishing && client.pending.isEmpty() && client.dropped.compareAndSet(false, true)) {
+                client.owner.remove(client);
+                client.emitter.complete();
+            }
+            client.draining.set(false);
+            // Work that arrived after the last poll but before the flag was cleared found a drain still running
+            boolean work = !client.pending.isEmpty() || (client.finishing && !client.dropped.get());
+            if (!work || !client.draining.compareAndSet(false, true)) {
+                return;
+            }
+        }
+    }
+
+    private void drop(Client client, String reason) {
+        if (client.dropped.compareAndSet(false, true)) {
+            logger.info("Dropping a live session client because {}", reason);
+            client.owner.remove(client);
+            client.emitter.complete();
+        }
+    }
+
+    private void close(Client client) {
+        client.dropped.set(true);
+        client.owner.remove(client);
+    }
+
+    private List<LeaderboardEntryDTO> standings(LiveSession session) {
+        List<Participant> ranked = session.participants.values().stream()
+                .sorted(Comparator.comparingInt((Participant participant) -> participant.score).reversed()
+                        .thenComparing(Comparator.comparingInt((Participant participant) -> participant.correctAnswers).reversed())
+                        .thenComparing(participant -> participant.username))
+                .limit(STANDINGS_SIZE)
+                .toList();
+        List<LeaderboardEntryDTO> standings = new ArrayList<>(ranked.size());
+        for (int i = 0; i < ranked.size(); i++) {
+            Participant participant = ranked.get(i);
+            standings.add(LeaderboardEntryDTO.builder()
+                    .rank(i + 1)
+                    .userId(participant.userId)
+                    .username(participant.username)
+                    .totalScore(participant.score)
+                    .quizId(session.quizId)
+                    .quizTitle(session.quizTitle)
+                    .totalQuestions(session.questions.size())
+                    .build());
+        }
+        return standings;
+    }
+
+    private LiveSessionDTO toDTO(LiveSession session) {
+        OpenQuestion open = session.open.get();
+        return LiveSessionDTO.builder()
+                .code(session.code)
+                .quizId(session.quizId)
+                .quizTitle(session.quizTitle)
+                .hostUsername(session.hostUsername)
+                .state(session.state.name())
+                .participantCount(session.participants.size())
+                .currentQuestionIndex(session.currentIndex >= 0 ? session.currentIndex : null)
+                .totalQuestions(session.questions.size())
+                .createdAt(session.createdAt)
+                .currentQuestion(open != null ? open.question.publicView : null)
+                .questionClosesAt(open != null ? open.closesAt : null)
+                .standings(standings(session))
+                .build();
+    }
+
+    private QuestionDTO publicView(QuestionDTO question) {
+        question.setExplanation(null);
+        question.setOptions(question.getOptions().stream()
+                .map(option -> QuestionOptionDTO.builder()
+                        .id(option.getId())
+                        .optionText(option.getOptionText())
+                        .optionOrder(option.getOptionOrder())
+                        .build())
+                .collect(Collectors.toList()));
+        return question;
+    }
+
+    private LiveSession findSession(String code) {
+        LiveSession session = sessions.get(code.toUpperCase());
+        if (session == null) {
+            throw new ResourceNotFoundException("Live session not found with code: " + code);
+        }
+        return session;
+    }
+
+    private LiveSession findHostedSession(String code) {
+        LiveSession session = findSession(code);
+        if (!currentPrincipal().getId().equals(session.hostId)) {
+            throw new BadRequestException("Only the host can control this live session");
+        }
+        return session;
+    }
+
+    private String generateCode() {
+        StringBuilder code = new StringBuilder(CODE_LENGTH);
+        for (int i = 0; i < CODE_LENGTH; i++) {
+            code.append(CODE_ALPHABET.charAt(random.nextInt(CODE_ALPHABET.length())));
+        }
+        return code.toString();
+    }
+
+    private UserPrincipal currentPrincipal() {
+        return (UserPrincipal) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+    }
+
+    private String serialize(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize live session event", e);
+        }
+    }
+}
@@ -7,12 +7,14 @@ import com.quiz.application.entity.Question;
 import com.quiz.application.entity.QuestionOption;
 import com.quiz.application.entity.Quiz;
 import com.quiz.application.entity.User;
+import com.quiz.application.event.QuizChangedEvent;
 import com.quiz.application.exception.BadRequestException;
 import com.quiz.application.exception.ResourceNotFoundException;
 import com.quiz.application.exception.UnauthorizedException;
 import com.quiz.application.repository.QuestionRepository;
 import com.quiz.application.repository.QuizRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -30,6 +32,12 @@ public class QuestionService {
     
     @Autowired
     private UserService userService;
+
+    @Autowired
+    private QuizContentLogService quizContentLogService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
     
     @Transactional
     public QuestionDTO createQuestion(QuestionCreateRequest request) {
@@ -50,6 +58,7 @@ public class QuestionService {
             throw new BadRequestException("At least one option must be marked as correct");
         }
         
+        Long lockedVersion = quizContentLogService.lock(quiz);
         Question question = Question.builder()
                 .questionText(request.getQuestionText())
                 .questionType(Question.QuestionType.valueOf(request.getQuestionType()))
@@ -71,6 +80,8 @@ public class QuestionService {
         }
         
         question = questionRepository.save(question);
+        quizContentLogService.recordQuestionsChanged(quiz, lockedVersion, List.of(question.getId()));
+        eventPublisher.publishEvent(new QuizChangedEvent(quiz.getId(), QuizChangedEvent.ChangeType.UPDATED));
         return convertToDTO(question);
     }
     
@@ -88,7 +99,10 @@ public class QuestionService {
             throw new UnauthorizedException("You don't have permission to delete this question");
         }
         
+        Long lockedVersion = quizContentLogService.lock(quiz);
+        quizContentLogService.recordQuestionsRemoved(quiz, lockedVersion, List.of(question.getId()));
         questionRepository.delete(question);
+        eventPublisher.publishEvent(new QuizChangedEvent(quiz.getId(), QuizChangedEvent.ChangeType.UPDATED));
     }
     
     @Transactional(readOnly = true)
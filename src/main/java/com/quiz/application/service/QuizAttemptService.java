@@ -2,25 +2,43 @@ package com.quiz.application.service;
 
 import com.quiz.application.dto.*;
 import com.quiz.application.entity.*;
+import com.quiz.application.event.AttemptFinishedEvent;
+import com.quiz.application.event.AttemptStartedEvent;
 import com.quiz.application.exception.BadRequestException;
 import com.quiz.application.exception.ResourceNotFoundException;
+import com.quiz.application.jfr.AnswerGradingEvent;
+import com.quiz.application.jfr.AttemptCompletionEvent;
+import com.quiz.application.jfr.AttemptStartEvent;
 import com.quiz.application.repository.*;
+import com.quiz.application.storage.ArchivedAnswers;
+import com.quiz.application.storage.OptionBitmask;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class QuizAttemptService {
+
+    private static final int MAX_HISTORY_PAGE = 100;
+    private static final int OPTION_MIGRATION_BATCH_SIZE = 500;
     
     @Autowired
     private QuizAttemptRepository quizAttemptRepository;
@@ -37,14 +55,41 @@ public class QuizAttemptService {
     @Autowired
     private UserAnswerRepository userAnswerRepository;
     
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private ArchivedAttemptRepository archivedAttemptRepository;
+    
     @Autowired
     private UserService userService;
 
     @Autowired
     private QuestionService questionService;
+
+    @Autowired
+    private AttemptCompletionPipeline attemptCompletionPipeline;
+
+    @Autowired
+    private ScoreDistributionService scoreDistributionService;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Tolerance for answers that were sent before the deadline but arrive slightly after it
+    @Value("${quiz.attempts.expiry.grace-seconds:5}")
+    private long graceSeconds;
+    
+    @Value("${quiz.answers.option-storage:BITMASK}")
+    private UserAnswer.OptionStorage optionStorage;
     
     @Transactional
     public QuizAttemptDTO startQuiz(StartQuizRequest request) {
+        AttemptStartEvent startEvent = new AttemptStartEvent();
+        startEvent.begin();
         User currentUser = userService.getCurrentUser();
         
         Quiz quiz = quizRepository.findByIdWithQuestions(request.getQuizId())
@@ -56,22 +101,40 @@ public class QuizAttemptService {
                 .startTime(LocalDateTime.now())
                 .status(QuizAttempt.AttemptStatus.IN_PROGRESS)
                 .totalScore(quiz.getQuestions().stream().mapToInt(Question::getPoints).sum())
+                .scoreObtained(0)
+                .answeredCount(0)
                 .build();
         
         attempt = quizAttemptRepository.save(attempt);
+        eventPublisher.publishEvent(new AttemptStartedEvent(attempt.getId(), quiz.getId(), currentUser.getId(),
+                attempt.getStartTime(), deadlineOf(attempt.getStartTime(), quiz.getTimeLimitMinutes())));
         
-        List<QuestionDTO> questions = questionService.getQuestionsByQuizId(quiz.getId());
         QuizAttemptDTO attemptDTO = convertToDTO(attempt);
-        attemptDTO.setQuestions(questions);
+        long contentVersion = QuizContentLogService.versionOf(quiz);
+        attemptDTO.setContentVersion(contentVersion);
+        // Clients holding the current questions skip loading and downloading them again
+        if (!Objects.equals(request.getKnownContentVersion(), contentVersion)) {
+            attemptDTO.setQuestions(questionService.getQuestionsByQuizId(quiz.getId()));
+        }
         
+        if (startEvent.shouldCommit()) {
+            startEvent.quizId = quiz.getId();
+            startEvent.attemptId = attempt.getId();
+            startEvent.userId = currentUser.getId();
+            startEvent.questionCount = quiz.getQuestions().size();
+            startEvent.commit();
+        }
         return attemptDTO;
     }
     
     @Transactional
     public UserAnswerDTO submitAnswer(SubmitAnswerRequest request) {
+        AnswerGradingEvent gradingEvent = new AnswerGradingEvent();
+        gradingEvent.begin();
         User currentUser = userService.getCurrentUser();
         
-        QuizAttempt attempt = quizAttemptRepository.findById(request.getAttemptId())
+        // Locked so concurrent answers and completion apply their score changes one at a time
+        QuizAttempt attempt = quizAttemptRepository.findByIdForUpdate(request.getAttemptId())
                 .orElseThrow(() -> new ResourceNotFoundException("Quiz attempt not found"));
         
         if (!attempt.getUser().getId().equals(currentUser.getId())) {
@@ -82,6 +145,11 @@ public class QuizAttemptService {
             throw new BadRequestException("This quiz attempt is not in progress");
         }
         
+        LocalDateTime deadline = deadlineOf(attempt.getStartTime(), attempt.getQuiz().getTimeLimitMinutes());
+        if (deadline != null && LocalDateTime.now().isAfter(deadline.plusSeconds(graceSeconds))) {
+            throw new BadRequestException("The time limit for this quiz attempt has expired");
+        }
+        
         Question question = questionRepository.findByIdWithOptions(request.getQuestionId())
                 .orElseThrow(() -> new ResourceNotFoundException("Question not found"));
         
@@ -89,45 +157,73 @@ public class QuizAttemptService {
             throw new BadRequestException("This question does not belong to the quiz");
         }
         
-        // Get selected options
+        // Options were fetched with the question; only an unknown id needs a lookup to pick the right error
+        Map<Long, QuestionOption> questionOptions = question.getOptions().stream()
+                .collect(Collectors.toMap(QuestionOption::getId, option -> option));
         Set<QuestionOption> selectedOptions = new HashSet<>();
         for (Long optionId : request.getSelectedOptionIds()) {
-            QuestionOption option = questionOptionRepository.findById(optionId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Option not found with id: " + optionId));
-            
-            if (!option.getQuestion().getId().equals(question.getId())) {
+            QuestionOption option = questionOptions.get(optionId);
+            if (option == null) {
+                if (!questionOptionRepository.existsById(optionId)) {
+                    throw new ResourceNotFoundException("Option not found with id: " + optionId);
+                }
                 throw new BadRequestException("Option does not belong to this question");
             }
             selectedOptions.add(option);
         }
         
-        // Check if answer already exists
-        UserAnswer userAnswer = userAnswerRepository
-                .findByQuizAttemptIdAndQuestionId(attempt.getId(), question.getId())
-                .orElse(new UserAnswer());
-        
-        userAnswer.setQuizAttempt(attempt);
-        userAnswer.setQuestion(question);
-        userAnswer.setSelectedOptions(selectedOptions);
-        
         // Check if answer is correct
         Set<QuestionOption> correctOptions = question.getOptions().stream()
                 .filter(QuestionOption::getIsCorrect)
                 .collect(Collectors.toSet());
         
         boolean isCorrect = selectedOptions.equals(correctOptions);
-        userAnswer.setIsCorrect(isCorrect);
-        userAnswer.setPointsEarned(isCorrect ? question.getPoints() : 0);
+        int pointsEarned = isCorrect ? question.getPoints() : 0;
+        Set<Long> selectedOptionIds = selectedOptions.stream()
+                .map(QuestionOption::getId)
+                .collect(Collectors.toSet());
+        
+        // Upsert on (attempt, question), so retries cannot create duplicates. The replaced answer's points are
+        // read just before it, under the attempt lock, because an upsert cannot return the values it replaced
+        ensureRunningScore(attempt);
+        UserAnswerRepository.UpsertResult result = userAnswerRepository.upsertAnswer(attempt.getId(),
+                question.getId(), selectedOptionIds, optionMask(question, selectedOptionIds), isCorrect, pointsEarned);
+        
+        // Adjust the running score by the change, so a re-answer replaces its earlier points
+        if (result.getPreviousPoints() == null) {
+            attempt.setAnsweredCount(attempt.getAnsweredCount() + 1);
+            attempt.setScoreObtained(attempt.getScoreObtained() + pointsEarned);
+        } else {
+            attempt.setScoreObtained(attempt.getScoreObtained() - result.getPreviousPoints() + pointsEarned);
+        }
         
-        userAnswer = userAnswerRepository.save(userAnswer);
-        return convertAnswerToDTO(userAnswer);
+        if (gradingEvent.shouldCommit()) {
+            gradingEvent.attemptId = attempt.getId();
+            gradingEvent.questionId = question.getId();
+            gradingEvent.optionCount = question.getOptions().size();
+            gradingEvent.selectedCount = selectedOptionIds.size();
+            gradingEvent.correct = isCorrect;
+            gradingEvent.reanswer = result.getPreviousPoints() != null;
+            gradingEvent.commit();
+        }
+        return UserAnswerDTO.builder()
+                .id(result.getAnswerId())
+                .questionId(question.getId())
+                .questionText(question.getQuestionText())
+                .selectedOptionIds(selectedOptionIds)
+                .isCorrect(isCorrect)
+                .pointsEarned(pointsEarned)
+                .explanation(question.getExplanation())
+                .build();
     }
 
     @Transactional
     public QuizAttemptDTO completeQuiz(CompleteQuizRequest request) {
+        AttemptCompletionEvent completionEvent = new AttemptCompletionEvent();
+        completionEvent.begin();
         User currentUser = userService.getCurrentUser();
 
-        QuizAttempt attempt = quizAttemptRepository.findByIdWithAnswers(request.getAttemptId())
+        QuizAttempt attempt = quizAttemptRepository.findByIdForUpdate(request.getAttemptId())
                 .orElseThrow(() -> new ResourceNotFoundException("Quiz attempt not found"));
 
         if (!attempt.getUser().getId().equals(currentUser.getId())) {
@@ -141,11 +237,213 @@ public class QuizAttemptService {
         attempt.setEndTime(LocalDateTime.now());
         attempt.setStatus(QuizAttempt.AttemptStatus.COMPLETED);
 
-        // Calculate score
-        int scoreObtained = attempt.getAnswers().stream()
-                .mapToInt(UserAnswer::getPointsEarned)
-                .sum();
+        // The score has been kept up to date by submitAnswer
+        ensureRunningScore(attempt);
+        applyScore(attempt, attempt.getScoreObtained());
+
+        // Calculate time taken
+        long minutes = Duration.between(attempt.getStartTime(), attempt.getEndTime()).toMinutes();
+        attempt.setTimeTakenMinutes((int) minutes);
+
+        attempt = quizAttemptRepository.save(attempt);
+        publishFinished(attempt, false);
+        QuizAttemptDTO dto = Boolean.TRUE.equals(request.getIncludeAnswers())
+                ? convertToDTOWithAnswers(attempt) : convertToDTO(attempt);
+        
+        // Compared with the attempts recorded so far; this one is added when the pipeline delivers it
+        ScoreDistributionDTO distribution = scoreDistributionService.getDistribution(attempt.getQuiz().getId(),
+                attempt.getPercentageScore());
+        dto.setPercentile(distribution.getPercentile());
+        dto.setScoreDistribution(distribution);
+
+        if (completionEvent.shouldCommit()) {
+            completionEvent.quizId = attempt.getQuiz().getId();
+            completionEvent.attemptId = attempt.getId();
+            completionEvent.answeredCount = attempt.getAnsweredCount();
+            completionEvent.scoreObtained = attempt.getScoreObtained();
+            completionEvent.percentageScore = attempt.getPercentageScore() / 100;
+            completionEvent.withAnswers = Boolean.TRUE.equals(request.getIncludeAnswers());
+            completionEvent.commit();
+        }
+        return dto;
+    }
+
+    /**
+     * Closes attempts whose deadline has passed. Attempts with at least one answer are completed with the
+     * points earned so far, the rest are abandoned. Rows are locked and re-checked so an attempt the user
+     * completed concurrently is left alone; the updates are flushed as one JDBC batch.
+     */
+    @Transactional
+    public int expireAttempts(Collection<Long> attemptIds) {
+        List<QuizAttempt> attempts = quizAttemptRepository.findInProgressByIdsForUpdate(attemptIds);
+        if (attempts.isEmpty()) {
+            return 0;
+        }
+        List<QuizAttempt> unseeded = attempts.stream()
+                .filter(attempt -> attempt.getAnsweredCount() == null)
+                .toList();
+        if (!unseeded.isEmpty()) {
+            seedRunningScores(unseeded);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (QuizAttempt attempt : attempts) {
+            LocalDateTime deadline = deadlineOf(attempt.getStartTime(), attempt.getQuiz().getTimeLimitMinutes());
+            attempt.setEndTime(deadline != null && deadline.isBefore(now) ? deadline : now);
+            attempt.setTimeTakenMinutes((int) Duration.between(attempt.getStartTime(), attempt.getEndTime()).toMinutes());
+
+            if (attempt.getAnsweredCount() == 0) {
+                attempt.setStatus(QuizAttempt.AttemptStatus.ABANDONED);
+            } else {
+                attempt.setStatus(QuizAttempt.AttemptStatus.COMPLETED);
+                applyScore(attempt, attempt.getScoreObtained());
+            }
+            publishFinished(attempt, true);
+        }
+        quizAttemptRepository.saveAll(attempts);
+        return attempts.size();
+    }
+
+    /**
+     * Stores the graded answers of a finished live session as ordinary completed attempts, one per participant,
+     * in a single transaction. Answers to questions deleted while the session was running are dropped.
+     */
+    @Transactional
+    public int recordLiveSession(Long quizId, LocalDateTime startTime, LocalDateTime endTime,
+                                 Collection<Long> participantIds, List<LiveAnswerResult> results) {
+        Quiz quiz = quizRepository.findByIdWithQuestions(quizId)
+                .orElseThrow(() -> new ResourceNotFoundException("Quiz not found with id: " + quizId));
+        Map<Long, Question> questions = quiz.getQuestions().stream()
+                .collect(Collectors.toMap(Question::getId, question -> question));
+        Map<Long, QuestionOption> options = quiz.getQuestions().stream()
+                .flatMap(question -> question.getOptions().stream())
+                .collect(Collectors.toMap(QuestionOption::getId, option -> option));
+        int totalScore = quiz.getQuestions().stream().mapToInt(Question::getPoints).sum();
+
+        Map<Long, QuizAttempt> attempts = new LinkedHashMap<>();
+        for (Long userId : participantIds) {
+            attempts.put(userId, QuizAttempt.builder()
+                    .user(userRepository.getReferenceById(userId))
+                    .quiz(quiz)
+                    .startTime(startTime)
+                    .endTime(endTime)
+                    .status(QuizAttempt.AttemptStatus.COMPLETED)
+                    .totalScore(totalScore)
+                    .timeTakenMinutes((int) Duration.between(startTime, endTime).toMinutes())
+                    .answers(new ArrayList<>())
+                    .build());
+        }
+
+        for (LiveAnswerResult result : results) {
+            QuizAttempt attempt = attempts.get(result.getUserId());
+            Question question = questions.get(result.getQuestionId());
+            if (attempt == null || question == null) {
+                continue;
+            }
+            UserAnswer answer = new UserAnswer();
+            answer.setQuestion(question);
+            Set<QuestionOption> selectedOptions = result.getSelectedOptionIds().stream()
+                    .map(options::get)
+                    .filter(option -> option != null && option.getQuestion().getId().equals(question.getId()))
+                    .collect(Collectors.toSet());
+            Long optionMask = optionMask(question,
+                    selectedOptions.stream().map(QuestionOption::getId).collect(Collectors.toSet()));
+            if (optionMask != null) {
+                answer.setSelectedOptionsMask(optionMask);
+            } else {
+                answer.setSelectedOptions(selectedOptions);
+            }
+            answer.setIsCorrect(result.getIsCorrect());
+            answer.setPointsEarned(result.getPointsEarned());
+            attempt.addAnswer(answer);
+        }
+
+        for (QuizAttempt attempt : attempts.values()) {
+            attempt.setAnsweredCount(attempt.getAnswers().size());
+            applyScore(attempt, attempt.getAnswers().stream().mapToInt(UserAnswer::getPointsEarned).sum());
+        }
+        quizAttemptRepository.saveAll(attempts.values());
+        for (QuizAttempt attempt : attempts.values()) {
+            eventPublisher.publishEvent(new AttemptStartedEvent(attempt.getId(), quizId, attempt.getUser().getId(),
+                    startTime, deadlineOf(startTime, quiz.getTimeLimitMinutes())));
+            publishFinished(attempt, false);
+        }
+        return attempts.size();
+    }
 
+    /**
+     * Moves selections still kept in {@code user_answer_options} onto option masks, in batches of their own
+     * transaction so it can run on a live system and be resumed. Answers to questions with more options than a
+     * mask holds stay where they are. Returns the number of answers moved.
+     */
+    public int migrateOptionStorage() {
+        if (optionStorage != UserAnswer.OptionStorage.BITMASK) {
+            throw new BadRequestException("Option storage must be set to BITMASK before migrating answers");
+        }
+        long lastId = 0;
+        int moved = 0;
+        while (true) {
+            long afterId = lastId;
+            List<UserAnswerRepository.UnmaskedAnswerView> batch = userAnswerRepository
+                    .findUnmaskedAfter(afterId, PageRequest.of(0, OPTION_MIGRATION_BATCH_SIZE));
+            if (batch.isEmpty()) {
+                return moved;
+            }
+            moved += transactionTemplate.execute(status -> storeOptionMasks(batch));
+            lastId = batch.get(batch.size() - 1).getAnswerId();
+        }
+    }
+    
+    private int storeOptionMasks(List<UserAnswerRepository.UnmaskedAnswerView> answers) {
+        Map<Long, List<Long>> optionOrders = questionOptionRepository.findOrderedIdsByQuestionIds(answers.stream()
+                        .map(UserAnswerRepository.UnmaskedAnswerView::getQuestionId)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.groupingBy(QuestionOptionRepository.OptionIdView::getQuestionId,
+                        Collectors.mapping(QuestionOptionRepository.OptionIdView::getOptionId, Collectors.toList())));
+        Map<Long, List<Long>> selections = userAnswerRepository.findSelectedOptionIds(answers.stream()
+                        .map(UserAnswerRepository.UnmaskedAnswerView::getAnswerId)
+                        .toList()).stream()
+                .collect(Collectors.groupingBy(UserAnswerRepository.SelectedOptionView::getAnswerId,
+                        Collectors.mapping(UserAnswerRepository.SelectedOptionView::getOptionId, Collectors.toList())));
+        
+        Map<Long, Long> masks = new HashMap<>();
+        for (UserAnswerRepository.UnmaskedAnswerView answer : answers) {
+            Long mask = OptionBitmask.encode(optionOrders.getOrDefault(answer.getQuestionId(), List.of()),
+                    selections.getOrDefault(answer.getAnswerId(), List.of()));
+            if (mask != null) {
+                masks.put(answer.getAnswerId(), mask);
+            }
+        }
+        return masks.isEmpty() ? 0 : userAnswerRepository.storeOptionMasks(masks);
+    }
+    
+    // Null when the quiz has no time limit
+    public LocalDateTime deadlineOf(LocalDateTime startTime, Integer timeLimitMinutes) {
+        if (timeLimitMinutes == null || timeLimitMinutes <= 0) {
+            return null;
+        }
+        return startTime.plusMinutes(timeLimitMinutes);
+    }
+
+    // Attempts started before the running score existed have no counters yet; they are seeded once from their answers
+    private void ensureRunningScore(QuizAttempt attempt) {
+        if (attempt.getAnsweredCount() == null) {
+            seedRunningScores(List.of(attempt));
+        }
+    }
+
+    private void seedRunningScores(List<QuizAttempt> attempts) {
+        Map<Long, UserAnswerRepository.AttemptScoreView> scores = userAnswerRepository
+                .sumPointsByAttemptIds(attempts.stream().map(QuizAttempt::getId).toList()).stream()
+                .collect(Collectors.toMap(UserAnswerRepository.AttemptScoreView::getAttemptId, view -> view));
+        for (QuizAttempt attempt : attempts) {
+            UserAnswerRepository.AttemptScoreView score = scores.get(attempt.getId());
+            attempt.setScoreObtained(score != null ? score.getPointsEarned().intValue() : 0);
+            attempt.setAnsweredCount(score != null ? score.getAnswerCount().intValue() : 0);
+        }
+    }
+
+    private void applyScore(QuizAttempt attempt, int scoreObtained) {
         attempt.setScoreObtained(scoreObtained);
 
         // Calculate percentage
@@ -159,68 +457,101 @@ public class QuizAttemptService {
             attempt.setPercentageScore(0.0);
             attempt.setIsPassed(false);
         }
+    }
 
-
-        // Calculate time taken
-        long minutes = Duration.between(attempt.getStartTime(), attempt.getEndTime()).toMinutes();
-        attempt.setTimeTakenMinutes((int) minutes);
-
-        attempt = quizAttemptRepository.save(attempt);
-        return convertToDTOWithAnswers(attempt);
+    private void publishFinished(QuizAttempt attempt, boolean expired) {
+        AttemptFinishedEvent event = new AttemptFinishedEvent(attempt.getId(), attempt.getQuiz().getId(),
+                attempt.getUser().getId(), attempt.getStatus(), attempt.getScoreObtained(),
+                attempt.getPercentageScore(), attempt.getIsPassed(), attempt.getEndTime(), expired);
+        eventPublisher.publishEvent(event);
+        if (attempt.getStatus() == QuizAttempt.AttemptStatus.COMPLETED) {
+            attemptCompletionPipeline.append(event);
+        }
     }
     
     @Transactional(readOnly = true)
     public QuizAttemptDTO getAttemptById(Long id) {
-        QuizAttempt attempt = quizAttemptRepository.findByIdWithAnswers(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Quiz attempt not found"));
+        QuizAttempt attempt = quizAttemptRepository.findByIdWithAnswers(id).orElse(null);
+        if (attempt == null) {
+            // Attempts past the archive horizon are only kept in the archive
+            ArchivedAttempt archived = archivedAttemptRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Quiz attempt not found"));
+            checkCanView(archived.getUserId());
+            return convertArchivedToDTO(archived, true);
+        }
         
+        checkCanView(attempt.getUser().getId());
+        return convertToDTOWithAnswers(attempt);
+    }
+    
+    private void checkCanView(Long ownerId) {
         User currentUser = userService.getCurrentUser();
-        if (!attempt.getUser().getId().equals(currentUser.getId()) && currentUser.getRole() != User.Role.ADMIN) {
+        if (!ownerId.equals(currentUser.getId()) && currentUser.getRole() != User.Role.ADMIN) {
             throw new BadRequestException("You don't have permission to view this attempt");
         }
-        
-        return convertToDTOWithAnswers(attempt);
     }
     
+    /**
+     * One page of the current user's completed attempts, newest first. Pages are chained by passing the end time
+     * and id of the last attempt of the previous page; attempt numbers count the user's completed attempts per quiz.
+     */
     @Transactional(readOnly = true)
-    public List<QuizAttemptDTO> getMyAttempts() {
+    public List<QuizAttemptDTO> getMyAttempts(int limit, LocalDateTime beforeEndTime, Long beforeId) {
+        if (limit < 1 || limit > MAX_HISTORY_PAGE) {
+            throw new BadRequestException("Limit must be between 1 and " + MAX_HISTORY_PAGE);
+        }
+        if ((beforeEndTime == null) != (beforeId == null)) {
+            throw new BadRequestException("beforeEndTime and beforeId must be given together");
+        }
         User currentUser = userService.getCurrentUser();
-        Long userId = currentUser.getId();
-
-        List<QuizAttempt> allUserAttempts = quizAttemptRepository.findByUserId(userId);
-
-        // Filter for completed attempts first
-        List<QuizAttempt> completedAttempts = allUserAttempts.stream()
-                .filter(att -> att.getStatus() == QuizAttempt.AttemptStatus.COMPLETED)
-                .collect(Collectors.toList());
-
-        Map<Long, List<QuizAttempt>> completedAttemptsByQuiz = completedAttempts.stream()
-                .collect(Collectors.groupingBy(att -> att.getQuiz().getId()));
 
-        Map<Long, Integer> attemptNumberMap = new HashMap<>();
-        for (List<QuizAttempt> quizAttempts : completedAttemptsByQuiz.values()) {
-            quizAttempts.sort(Comparator.comparing(QuizAttempt::getCreatedAt).thenComparing(QuizAttempt::getId));
-            for (int i = 0; i < quizAttempts.size(); i++) {
-                attemptNumberMap.put(quizAttempts.get(i).getId(), i + 1);
-            }
-        }
+        // Archived attempts are older than nearly all hot ones, but attempts waiting to be archived overlap them,
+        // so both pages are merged rather than reading the archive only once the hot rows run out
+        List<QuizAttemptRepository.AttemptHistoryView> page = new ArrayList<>(beforeId == null
+                ? quizAttemptRepository.findHistory(currentUser.getId(), limit)
+                : quizAttemptRepository.findHistoryBefore(currentUser.getId(), beforeEndTime, beforeId, limit));
+        page.addAll(beforeId == null
+                ? archivedAttemptRepository.findHistory(currentUser.getId(), limit)
+                : archivedAttemptRepository.findHistoryBefore(currentUser.getId(), beforeEndTime, beforeId, limit));
 
-        return completedAttempts.stream()
-                .sorted(Comparator.comparing(QuizAttempt::getEndTime).reversed())
-                .map(attempt -> {
-                    QuizAttemptDTO dto = convertToDTO(attempt);
-                    dto.setAttemptCount(attemptNumberMap.get(attempt.getId()));
-                    return dto;
-                })
+        return page.stream()
+                .sorted(Comparator.comparing(QuizAttemptRepository.AttemptHistoryView::getEndTime)
+                        .thenComparing(QuizAttemptRepository.AttemptHistoryView::getId)
+                        .reversed())
+                .limit(limit)
+                .map(row -> QuizAttemptDTO.builder()
+                        .id(row.getId())
+                        .userId(currentUser.getId())
+                        .username(currentUser.getUsername())
+                        .quizId(row.getQuizId())
+                        .quizTitle(row.getQuizTitle())
+                        .timeLimitMinutes(row.getTimeLimitMinutes())
+                        .startTime(row.getStartTime())
+                        .deadline(deadlineOf(row.getStartTime(), row.getTimeLimitMinutes()))
+                        .endTime(row.getEndTime())
+                        .scoreObtained(row.getScoreObtained())
+                        .totalScore(row.getTotalScore())
+                        .percentageScore(row.getPercentageScore())
+                        .isPassed(row.getIsPassed())
+                        .status(QuizAttempt.AttemptStatus.COMPLETED.name())
+                        .timeTakenMinutes(row.getTimeTakenMinutes())
+                        .totalQuestions(row.getTotalQuestions())
+                        .attemptCount(row.getAttemptNumber())
+                        .build())
                 .collect(Collectors.toList());
     }
     
     @Transactional(readOnly = true)
     public List<QuizAttemptDTO> getAttemptsByQuizId(Long quizId) {
         User currentUser = userService.getCurrentUser();
-        return quizAttemptRepository.findByUserIdAndQuizId(currentUser.getId(), quizId).stream()
-                .map(this::convertToDTO)
+        List<QuizAttemptDTO> attempts = archivedAttemptRepository
+                .findByUserIdAndQuizIdOrderById(currentUser.getId(), quizId).stream()
+                .map(archived -> convertArchivedToDTO(archived, false))
                 .collect(Collectors.toList());
+        quizAttemptRepository.findByUserIdAndQuizId(currentUser.getId(), quizId).stream()
+                .map(this::convertToDTO)
+                .forEach(attempts::add);
+        return attempts;
     }
     
     public QuizAttemptDTO convertToDTO(QuizAttempt attempt) {
@@ -232,6 +563,7 @@ public class QuizAttemptService {
                 .quizTitle(attempt.getQuiz().getTitle())
                 .timeLimitMinutes(attempt.getQuiz().getTimeLimitMinutes())
                 .startTime(attempt.getStartTime())
+                .deadline(deadlineOf(attempt.getStartTime(), attempt.getQuiz().getTimeLimitMinutes()))
                 .endTime(attempt.getEndTime())
                 .scoreObtained(attempt.getScoreObtained())
                 .totalScore(attempt.getTotalScore())
@@ -243,6 +575,52 @@ public class QuizAttemptService {
                 .build();
     }
     
+    private QuizAttemptDTO convertArchivedToDTO(ArchivedAttempt attempt, boolean withAnswers) {
+        // The quiz and its questions may have changed or gone since the attempt was archived
+        Quiz quiz = quizRepository.findById(attempt.getQuizId()).orElse(null);
+        Integer timeLimitMinutes = quiz != null ? quiz.getTimeLimitMinutes() : null;
+        QuizAttemptDTO dto = QuizAttemptDTO.builder()
+                .id(attempt.getId())
+                .userId(attempt.getUserId())
+                .username(userRepository.findById(attempt.getUserId()).map(User::getUsername).orElse(null))
+                .quizId(attempt.getQuizId())
+                .quizTitle(quiz != null ? quiz.getTitle() : null)
+                .timeLimitMinutes(timeLimitMinutes)
+                .startTime(attempt.getStartTime())
+                .deadline(deadlineOf(attempt.getStartTime(), timeLimitMinutes))
+                .endTime(attempt.getEndTime())
+                .scoreObtained(attempt.getScoreObtained())
+                .totalScore(attempt.getTotalScore())
+                .percentageScore(attempt.getPercentageScore())
+                .isPassed(attempt.getIsPassed())
+                .status(attempt.getStatus().name())
+                .timeTakenMinutes(attempt.getTimeTakenMinutes())
+                .totalQuestions(quiz != null ? quiz.getQuestions().size() : null)
+                .build();
+        if (withAnswers) {
+            List<ArchivedAnswers.Answer> answers = ArchivedAnswers.decode(attempt.getAnswers());
+            Map<Long, Question> questions = questionRepository.findAllById(answers.stream()
+                            .map(ArchivedAnswers.Answer::getQuestionId)
+                            .toList()).stream()
+                    .collect(Collectors.toMap(Question::getId, question -> question));
+            dto.setAnswers(answers.stream()
+                    .map(answer -> {
+                        Question question = questions.get(answer.getQuestionId());
+                        return UserAnswerDTO.builder()
+                                .id(answer.getAnswerId())
+                                .questionId(answer.getQuestionId())
+                                .questionText(question != null ? question.getQuestionText() : null)
+                                .selectedOptionIds(new HashSet<>(answer.getOptionIds()))
+                                .isCorrect(answer.isCorrect())
+                                .pointsEarned(answer.getPointsEarned())
+                                .explanation(question != null ? question.getExplanation() : null)
+                                .build();
+                    })
+                    .collect(Collectors.toList()));
+        }
+        return dto;
+    }
+    
     private QuizAttemptDTO convertToDTOWithAnswers(QuizAttempt attempt) {
         QuizAttemptDTO dto = convertToDTO(attempt);
         dto.setAnswers(attempt.getAnswers().stream()
@@ -256,12 +634,28 @@ public class QuizAttemptService {
                 .id(answer.getId())
                 .questionId(answer.getQuestion().getId())
                 .questionText(answer.getQuestion().getQuestionText())
-                .selectedOptionIds(answer.getSelectedOptions().stream()
-                        .map(QuestionOption::getId)
-                        .collect(Collectors.toSet()))
+                .selectedOptionIds(selectedOptionIds(answer))
                 .isCorrect(answer.getIsCorrect())
                 .pointsEarned(answer.getPointsEarned())
                 .explanation(answer.getQuestion().getExplanation())
                 .build();
     }
+    
+    // Null when the selection goes to user_answer_options
+    private Long optionMask(Question question, Collection<Long> selectedOptionIds) {
+        if (optionStorage != UserAnswer.OptionStorage.BITMASK) {
+            return null;
+        }
+        return OptionBitmask.encode(OptionBitmask.orderedIds(question.getOptions()), selectedOptionIds);
+    }
+    
+    private Set<Long> selectedOptionIds(UserAnswer answer) {
+        if (answer.getSelectedOptionsMask() != null) {
+            return new HashSet<>(OptionBitmask.decode(
+                    OptionBitmask.orderedIds(answer.getQuestion().getOptions()), answer.getSelectedOptionsMask()));
+        }
+        return answer.getSelectedOptions().stream()
+                .map(QuestionOption::getId)
+                .collect(Collectors.toSet());
+    }
 }
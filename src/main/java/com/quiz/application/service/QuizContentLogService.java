@@ -0,0 +1,101 @@
+package com.quiz.application.service;
+
+import com.quiz.application.entity.Quiz;
+import com.quiz.application.entity.QuizContentChange;
+import com.quiz.application.repository.QuestionRepository;
+import com.quiz.application.repository.QuizContentChangeRepository;
+import com.quiz.application.repository.QuizRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Content versions of quizzes and their change log. Every change to a quiz's content bumps its version while
+ * holding the quiz row, so concurrent changes get consecutive versions. Callers {@link #lock} the quiz before
+ * writing any of its questions and pass the locked version to the record method: a question insert first
+ * takes a shared lock on the quiz row for its foreign key check, and two transactions upgrading that to the
+ * exclusive lock afterwards deadlock. The log keeps one row per question with
+ * the version of its latest change, so a client holding version N catches up from the rows above N however
+ * many times a question changed. The first change to a quiz that has no version yet also logs the questions
+ * already in it, which makes the log complete from version 0.
+ */
+@Service
+public class QuizContentLogService {
+
+    @Autowired
+    private QuizRepository quizRepository;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private QuizContentChangeRepository quizContentChangeRepository;
+
+    // Locks the quiz row for the rest of the transaction; null until the quiz's first recorded change
+    @Transactional
+    public Long lock(Quiz quiz) {
+        return quizRepository.lockContentVersion(quiz.getId());
+    }
+
+    // A change to the quiz itself rather than to its questions
+    @Transactional
+    public long recordQuizChange(Quiz quiz, Long lockedVersion) {
+        return record(quiz, lockedVersion, List.of(), false);
+    }
+
+    // Questions created or changed; call after they are saved so that they have ids
+    @Transactional
+    public long recordQuestionsChanged(Quiz quiz, Long lockedVersion, Collection<Long> questionIds) {
+        return record(quiz, lockedVersion, questionIds, false);
+    }
+
+    // Questions about to be deleted from the quiz
+    @Transactional
+    public long recordQuestionsRemoved(Quiz quiz, Long lockedVersion, Collection<Long> questionIds) {
+        return record(quiz, lockedVersion, questionIds, true);
+    }
+
+    public static long versionOf(Quiz quiz) {
+        return quiz.getContentVersion() != null ? quiz.getContentVersion() : 0;
+    }
+
+    private long record(Quiz quiz, Long current, Collection<Long> questionIds, boolean removed) {
+        long version = (current != null ? current : 0) + 1;
+
+        Map<Long, QuizContentChange> changes = new LinkedHashMap<>();
+        if (current == null) {
+            for (QuestionRepository.QuestionIdView question : questionRepository.findIdsByQuizIds(List.of(quiz.getId()))) {
+                changes.put(question.getQuestionId(), newChange(quiz.getId(), question.getQuestionId(), version));
+            }
+        } else if (!questionIds.isEmpty()) {
+            for (QuizContentChange change : quizContentChangeRepository.findByQuizIdAndQuestionIdIn(quiz.getId(), questionIds)) {
+                changes.put(change.getQuestionId(), change);
+            }
+        }
+        for (Long questionId : questionIds) {
+            QuizContentChange change = changes.computeIfAbsent(questionId,
+                    id -> newChange(quiz.getId(), id, version));
+            change.setVersion(version);
+            change.setRemoved(removed);
+        }
+        quizContentChangeRepository.saveAll(changes.values());
+
+        quizRepository.updateContentVersion(quiz.getId(), version);
+        quiz.setContentVersion(version);
+        return version;
+    }
+
+    private static QuizContentChange newChange(Long quizId, Long questionId, long version) {
+        return QuizContentChange.builder()
+                .quizId(quizId)
+                .questionId(questionId)
+                .version(version)
+                .addedVersion(version)
+                .build();
+    }
+}
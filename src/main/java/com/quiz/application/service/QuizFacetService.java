@@ -0,0 +1,167 @@
+package com.quiz.application.service;
+
+import com.quiz.application.dto.QuizFacetResultDTO;
+import com.quiz.application.dto.QuizSummaryDTO;
+import com.quiz.application.entity.Quiz;
+import com.quiz.application.event.QuizChangedEvent;
+import com.quiz.application.exception.BadRequestException;
+import com.quiz.application.index.FacetIndex;
+import com.quiz.application.repository.QuestionRepository;
+import com.quiz.application.repository.QuizRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+@Service
+public class QuizFacetService {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuizFacetService.class);
+
+    public static final String TOPIC = "topic";
+    public static final String DIFFICULTY = "difficulty";
+    public static final String ACTIVE = "active";
+    public static final String TIME_LIMIT = "timeLimit";
+    public static final String QUESTION_COUNT = "questionCount";
+
+    private static final List<String> FACETS = List.of(TOPIC, DIFFICULTY, ACTIVE, TIME_LIMIT, QUESTION_COUNT);
+    private static final int MAX_PAGE_SIZE = 100;
+
+    @Autowired
+    private QuizRepository quizRepository;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    private volatile FacetIndex<QuizSummaryDTO> index = new FacetIndex<>(FACETS);
+
+    private volatile Set<Long> changedDuringRebuild;
+
+    public QuizFacetResultDTO browse(Map<String, Set<String>> filters, int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+        }
+        for (String facet : filters.keySet()) {
+            if (!FACETS.contains(facet)) {
+                throw new BadRequestException("Unknown filter: " + facet + ". Supported filters: " + FACETS);
+            }
+        }
+
+        FacetIndex.Result<QuizSummaryDTO> result = index.query(filters, (long) page * size, size);
+        return QuizFacetResultDTO.builder()
+                .page(page)
+                .size(size)
+                .totalHits(result.getTotalHits())
+                .quizzes(result.getItems())
+                .facets(result.getFacetCounts())
+                .build();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuild();
+    }
+
+    public synchronized int rebuild() {
+        changedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+        FacetIndex<QuizSummaryDTO> rebuilt = new FacetIndex<>(FACETS);
+        long lastId = 0;
+        List<Quiz> batch;
+        while (!(batch = quizRepository.findTop500ByIdGreaterThanOrderByIdAsc(lastId)).isEmpty()) {
+            Map<Long, Long> questionCounts = questionRepository
+                    .countByQuizIds(batch.stream().map(Quiz::getId).toList()).stream()
+                    .collect(Collectors.toMap(QuestionRepository.QuestionCountView::getQuizId,
+                            QuestionRepository.QuestionCountView::getQuestionCount));
+            for (Quiz quiz : batch) {
+                addToIndex(rebuilt, quiz, questionCounts.getOrDefault(quiz.getId(), 0L).intValue());
+            }
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+
+        index = rebuilt;
+        Set<Long> changed = changedDuringRebuild;
+        changedDuringRebuild = null;
+        changed.forEach(this::reindexQuiz);
+
+        logger.info("Facet index rebuilt with {} quizzes", rebuilt.size());
+        return rebuilt.size();
+    }
+
+    @TransactionalEventListener
+    public void onQuizChanged(QuizChangedEvent event) {
+        Set<Long> pending = changedDuringRebuild;
+        if (pending != null) {
+            pending.add(event.getQuizId());
+        }
+        reindexQuiz(event.getQuizId());
+    }
+
+    private void reindexQuiz(Long quizId) {
+        quizRepository.findById(quizId).ifPresentOrElse(
+                quiz -> addToIndex(index, quiz, questionRepository.countByQuizId(quizId).intValue()),
+                () -> index.remove(Math.toIntExact(quizId)));
+    }
+
+    private void addToIndex(FacetIndex<QuizSummaryDTO> target, Quiz quiz, int questionCount) {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put(TOPIC, quiz.getTopic());
+        values.put(DIFFICULTY, quiz.getDifficultyLevel().name());
+        values.put(ACTIVE, String.valueOf(Boolean.TRUE.equals(quiz.getActive())));
+        values.put(TIME_LIMIT, timeLimitBucket(quiz.getTimeLimitMinutes()));
+        values.put(QUESTION_COUNT, questionCountBucket(questionCount));
+
+        QuizSummaryDTO summary = QuizSummaryDTO.builder()
+                .id(quiz.getId())
+                .title(quiz.getTitle())
+                .topic(quiz.getTopic())
+                .difficultyLevel(quiz.getDifficultyLevel().name())
+                .timeLimitMinutes(quiz.getTimeLimitMinutes())
+                .active(quiz.getActive())
+                .totalQuestions(questionCount)
+                .build();
+        target.put(Math.toIntExact(quiz.getId()), summary, values);
+    }
+
+    private static String timeLimitBucket(Integer minutes) {
+        if (minutes == null || minutes <= 0) {
+            return "none";
+        }
+        if (minutes <= 10) {
+            return "1-10";
+        }
+        if (minutes <= 30) {
+            return "11-30";
+        }
+        if (minutes <= 60) {
+            return "31-60";
+        }
+        return "60+";
+    }
+
+    private static String questionCountBucket(int count) {
+        if (count == 0) {
+            return "0";
+        }
+        if (count <= 10) {
+            return "1-10";
+        }
+        if (count <= 25) {
+            return "11-25";
+        }
+        if (count <= 50) {
+            return "26-50";
+        }
+        return "50+";
+    }
+}
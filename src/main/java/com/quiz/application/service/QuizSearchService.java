@@ -0,0 +1,140 @@
+package com.quiz.application.service;
+
+import com.quiz.application.dto.QuizSearchHitDTO;
+import com.quiz.application.dto.QuizSearchResultDTO;
+import com.quiz.application.entity.Quiz;
+import com.quiz.application.event.QuizChangedEvent;
+import com.quiz.application.exception.BadRequestException;
+import com.quiz.application.index.InvertedIndex;
+import com.quiz.application.repository.QuestionRepository;
+import com.quiz.application.repository.QuizRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+@Service
+public class QuizSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuizSearchService.class);
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    @Autowired
+    private QuizRepository quizRepository;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    private volatile InvertedIndex<QuizSearchHitDTO> index = new InvertedIndex<>();
+
+    // Quizzes changed while a rebuild is scanning the database; re-applied once the new index is swapped in
+    private volatile Set<Long> changedDuringRebuild;
+
+    public QuizSearchResultDTO search(String query, int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        InvertedIndex.Result<QuizSearchHitDTO> result = index.search(query, (long) page * size, size);
+        List<QuizSearchHitDTO> hits = result.getHits().stream()
+                .map(hit -> hit.getPayload().toBuilder().score(hit.getScore()).build())
+                .collect(Collectors.toList());
+
+        return QuizSearchResultDTO.builder()
+                .query(query)
+                .page(page)
+                .size(size)
+                .totalHits(result.getTotalHits())
+                .hits(hits)
+                .build();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuild();
+    }
+
+    public synchronized int rebuild() {
+        long started = System.currentTimeMillis();
+        changedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+        InvertedIndex<QuizSearchHitDTO> rebuilt = new InvertedIndex<>();
+        long lastId = 0;
+        List<Quiz> batch;
+        while (!(batch = quizRepository.findTop500ByIdGreaterThanOrderByIdAsc(lastId)).isEmpty()) {
+            Map<Long, List<String>> questionTexts = loadQuestionTexts(batch.stream().map(Quiz::getId).toList());
+            for (Quiz quiz : batch) {
+                if (Boolean.TRUE.equals(quiz.getActive())) {
+                    addToIndex(rebuilt, quiz, questionTexts.getOrDefault(quiz.getId(), List.of()));
+                }
+            }
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+
+        index = rebuilt;
+        Set<Long> changed = changedDuringRebuild;
+        changedDuringRebuild = null;
+        changed.forEach(this::reindexQuiz);
+
+        logger.info("Search index rebuilt with {} quizzes in {} ms", rebuilt.size(), System.currentTimeMillis() - started);
+        return rebuilt.size();
+    }
+
+    @TransactionalEventListener
+    public void onQuizChanged(QuizChangedEvent event) {
+        Set<Long> pending = changedDuringRebuild;
+        if (pending != null) {
+            pending.add(event.getQuizId());
+        }
+        reindexQuiz(event.getQuizId());
+    }
+
+    // Like the rest of the catalog, search only lists active quizzes
+    private void reindexQuiz(Long quizId) {
+        quizRepository.findById(quizId)
+                .filter(quiz -> Boolean.TRUE.equals(quiz.getActive()))
+                .ifPresentOrElse(quiz -> addToIndex(index, quiz,
+                                loadQuestionTexts(List.of(quizId)).getOrDefault(quizId, List.of())),
+                        () -> index.remove(quizId));
+    }
+
+    private Map<Long, List<String>> loadQuestionTexts(List<Long> quizIds) {
+        Map<Long, List<String>> texts = new HashMap<>();
+        for (QuestionRepository.QuestionTextView view : questionRepository.findQuestionTextsByQuizIds(quizIds)) {
+            texts.computeIfAbsent(view.getQuizId(), id -> new ArrayList<>()).add(view.getQuestionText());
+        }
+        return texts;
+    }
+
+    private void addToIndex(InvertedIndex<QuizSearchHitDTO> target, Quiz quiz, List<String> questionTexts) {
+        List<InvertedIndex.Field> fields = new ArrayList<>();
+        fields.add(new InvertedIndex.Field(quiz.getTitle(), 3f));
+        fields.add(new InvertedIndex.Field(quiz.getTopic(), 2f));
+        fields.add(new InvertedIndex.Field(quiz.getDescription(), 1f));
+        for (String questionText : questionTexts) {
+            fields.add(new InvertedIndex.Field(questionText, 1f));
+        }
+
+        QuizSearchHitDTO summary = QuizSearchHitDTO.builder()
+                .quizId(quiz.getId())
+                .title(quiz.getTitle())
+                .topic(quiz.getTopic())
+                .difficultyLevel(quiz.getDifficultyLevel().name())
+                .active(quiz.getActive())
+                .totalQuestions(questionTexts.size())
+                .build();
+        target.put(quiz.getId(), summary, fields);
+    }
+}
@@ -1,20 +1,33 @@
 package com.quiz.application.service;
 
+import com.quiz.application.dto.QuestionDTO;
+import com.quiz.application.dto.QuizChangesDTO;
 import com.quiz.application.dto.QuizCreateRequest;
 import com.quiz.application.dto.QuizDTO;
 import com.quiz.application.entity.Question;
 import com.quiz.application.entity.QuestionOption;
 import com.quiz.application.entity.Quiz;
+import com.quiz.application.entity.QuizContentChange;
 import com.quiz.application.entity.User;
+import com.quiz.application.event.QuizChangedEvent;
+import com.quiz.application.exception.BadRequestException;
 import com.quiz.application.exception.ResourceNotFoundException;
 import com.quiz.application.exception.UnauthorizedException;
+import com.quiz.application.repository.ArchivedAttemptRepository;
+import com.quiz.application.repository.ArchivedScoreTotalsRepository;
 import com.quiz.application.repository.QuestionRepository;
+import com.quiz.application.repository.QuizContentChangeRepository;
 import com.quiz.application.repository.QuizRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,11 +39,26 @@ public class QuizService {
     @Autowired
     private QuestionRepository questionRepository;
     
+    @Autowired
+    private ArchivedAttemptRepository archivedAttemptRepository;
+
+    @Autowired
+    private ArchivedScoreTotalsRepository archivedScoreTotalsRepository;
+
     @Autowired
     private UserService userService;
     
     @Autowired
     private QuestionService questionService;
+
+    @Autowired
+    private QuizContentLogService quizContentLogService;
+
+    @Autowired
+    private QuizContentChangeRepository quizContentChangeRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
     
     @Transactional
     public QuizDTO createQuiz(QuizCreateRequest request) {
@@ -52,6 +80,7 @@ public class QuizService {
                 .createdBy(currentUser)
                 .build();
         quiz = quizRepository.save(quiz);
+        Long lockedVersion = quizContentLogService.lock(quiz);
 
         if (request.getQuestions() != null && !request.getQuestions().isEmpty()) {
             for (var questionRequest : request.getQuestions()) {
@@ -77,6 +106,9 @@ public class QuizService {
             }
         }
 
+        // Logs the questions created above as added
+        quizContentLogService.recordQuizChange(quiz, lockedVersion);
+        eventPublisher.publishEvent(new QuizChangedEvent(quiz.getId(), QuizChangedEvent.ChangeType.CREATED));
         return convertToDTO(quiz);
     }
     
@@ -92,6 +124,7 @@ public class QuizService {
             throw new UnauthorizedException("You don't have permission to update this quiz");
         }
         
+        Long lockedVersion = quizContentLogService.lock(quiz);
         quiz.setTitle(request.getTitle());
         quiz.setDescription(request.getDescription());
         quiz.setTopic(request.getTopic());
@@ -101,6 +134,8 @@ public class QuizService {
         quiz.setActive(request.getActive());
         
         quiz = quizRepository.save(quiz);
+        quizContentLogService.recordQuizChange(quiz, lockedVersion);
+        eventPublisher.publishEvent(new QuizChangedEvent(quiz.getId(), QuizChangedEvent.ChangeType.UPDATED));
         return convertToDTO(quiz);
     }
     
@@ -116,7 +151,12 @@ public class QuizService {
             throw new UnauthorizedException("You don't have permission to delete this quiz");
         }
         
+        // Archived attempts carry no foreign key to the quiz
+        archivedAttemptRepository.deleteByQuizId(id);
+        archivedScoreTotalsRepository.deleteByQuizId(id);
+        quizContentChangeRepository.deleteByQuizId(id);
         quizRepository.delete(quiz);
+        eventPublisher.publishEvent(new QuizChangedEvent(id, QuizChangedEvent.ChangeType.DELETED));
     }
     
     @Transactional(readOnly = true)
@@ -126,6 +166,63 @@ public class QuizService {
         return convertToDTOWithQuestions(quiz);
     }
     
+    /**
+     * Questions added, changed and removed since the client's content version, from the change log. A client
+     * without a version (0), or with one the server does not know, gets every question as added and should
+     * replace its cache.
+     */
+    @Transactional(readOnly = true)
+    public QuizChangesDTO getQuizChanges(Long id, long sinceVersion) {
+        if (sinceVersion < 0) {
+            throw new BadRequestException("Version must not be negative");
+        }
+        Quiz quiz = quizRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Quiz not found with id: " + id));
+        long version = QuizContentLogService.versionOf(quiz);
+        boolean full = sinceVersion == 0 || sinceVersion > version;
+        long fromVersion = full ? 0 : sinceVersion;
+
+        List<Long> addedIds = new ArrayList<>();
+        Set<Long> changedIds = new HashSet<>();
+        List<Long> removedIds = new ArrayList<>();
+        List<Question> questions;
+        if (version == 0) {
+            // Unchanged since versioning began, so nothing is logged yet
+            questions = questionRepository.findByQuizIdWithOptions(id);
+        } else {
+            for (QuizContentChange change : quizContentChangeRepository.findByQuizIdAndVersionGreaterThan(id, fromVersion)) {
+                boolean known = change.getAddedVersion() <= fromVersion;
+                if (change.isRemoved()) {
+                    // Questions added and removed since the client's version never reach it
+                    if (known) {
+                        removedIds.add(change.getQuestionId());
+                    }
+                } else if (known) {
+                    changedIds.add(change.getQuestionId());
+                } else {
+                    addedIds.add(change.getQuestionId());
+                }
+            }
+            List<Long> questionIds = new ArrayList<>(addedIds);
+            questionIds.addAll(changedIds);
+            questions = questionIds.isEmpty() ? List.of() : questionRepository.findByIdsWithOptions(questionIds);
+        }
+
+        Map<Boolean, List<QuestionDTO>> byChanged = questions.stream()
+                .collect(Collectors.partitioningBy(question -> changedIds.contains(question.getId()),
+                        Collectors.mapping(questionService::convertToDTO, Collectors.toList())));
+        return QuizChangesDTO.builder()
+                .quizId(quiz.getId())
+                .fromVersion(fromVersion)
+                .version(version)
+                .full(full)
+                .quiz(convertToDTO(quiz))
+                .added(byChanged.get(false))
+                .changed(byChanged.get(true))
+                .removedQuestionIds(removedIds)
+                .build();
+    }
+    
     @Transactional(readOnly = true)
     public List<QuizDTO> getAllQuizzes() {
         return quizRepository.findAll().stream()
@@ -167,6 +264,7 @@ public class QuizService {
                 .createdByUsername(quiz.getCreatedBy().getUsername())
                 .totalQuestions(quiz.getQuestions().size())
                 .totalPoints(quiz.getQuestions().stream().mapToInt(q -> q.getPoints()).sum())
+                .contentVersion(QuizContentLogService.versionOf(quiz))
                 .createdAt(quiz.getCreatedAt())
                 .updatedAt(quiz.getUpdatedAt())
                 .build();
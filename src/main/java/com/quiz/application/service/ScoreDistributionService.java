@@ -0,0 +1,219 @@
+package com.quiz.application.service;
+
+import com.quiz.application.dto.ScoreDistributionDTO;
+import com.quiz.application.entity.QuizScoreSketch;
+import com.quiz.application.event.AttemptFinishedEvent;
+import com.quiz.application.exception.ResourceNotFoundException;
+import com.quiz.application.pipeline.AttemptCompletedConsumer;
+import com.quiz.application.repository.ArchivedAttemptRepository;
+import com.quiz.application.repository.QuizAttemptRepository;
+import com.quiz.application.repository.QuizRepository;
+import com.quiz.application.repository.QuizScoreSketchRepository;
+import com.quiz.application.stats.ScoreHistogram;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Per-quiz distribution of percentage scores, answered from a {@link ScoreHistogram} held in memory so that
+ * percentiles cost the same however many attempts a quiz has. Completed attempts are merged into
+ * {@code quiz_score_sketches} under a row lock in the transaction that takes them off the attempt outbox, so each
+ * is counted once and several instances can add to the same quiz; the cached histograms are replaced when that
+ * transaction commits. Every refresh interval, sketches read since the last refresh are re-read with what other
+ * instances stored and the rest are evicted, so the cache holds only quizzes in use and is never older than one
+ * interval. A quiz without a stored sketch is seeded from its completed attempts that have already been delivered.
+ */
+@Service
+public class ScoreDistributionService implements AttemptCompletedConsumer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScoreDistributionService.class);
+
+    private static final int HISTOGRAM_BANDS = 10;
+
+    @Autowired
+    private QuizScoreSketchRepository quizScoreSketchRepository;
+
+    @Autowired
+    private QuizAttemptRepository quizAttemptRepository;
+
+    @Autowired
+    private ArchivedAttemptRepository archivedAttemptRepository;
+
+    @Autowired
+    private QuizRepository quizRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${quiz.score-distribution.refresh-seconds:30}")
+    private long refreshSeconds;
+
+    private final Map<Long, CachedSketch> sketches = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService scheduler;
+
+    // Loads run outside the caller's transaction so that an attempt being completed there is not seeded
+    // and then recorded again when it is delivered
+    private TransactionTemplate loadTemplate;
+
+    private static class CachedSketch {
+        // Replaced, never modified
+        private volatile ScoreHistogram histogram;
+        private volatile boolean read = true;
+
+        CachedSketch(ScoreHistogram histogram) {
+            this.histogram = histogram;
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        loadTemplate = new TransactionTemplate(transactionManager);
+        loadTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        loadTemplate.setReadOnly(true);
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "score-sketches");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::refresh, refreshSeconds, refreshSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    @Override
+    public void recordAttemptsCompleted(List<AttemptFinishedEvent> events) {
+        Map<Long, List<Double>> percentagesByQuiz = events.stream()
+                .filter(event -> event.getPercentageScore() != null)
+                .collect(Collectors.groupingBy(AttemptFinishedEvent::getQuizId,
+                        Collectors.mapping(AttemptFinishedEvent::getPercentageScore, Collectors.toList())));
+        Map<Long, ScoreHistogram> stored = new HashMap<>();
+        percentagesByQuiz.forEach((quizId, percentages) -> {
+            Optional<QuizScoreSketch> row = quizScoreSketchRepository.findByIdForUpdate(quizId);
+            // The attempts being recorded are still in the outbox, so seeding leaves them out
+            ScoreHistogram histogram = row
+                    .map(sketch -> ScoreHistogram.decode(sketch.getHistogram()))
+                    .orElseGet(() -> seed(quizId));
+            percentages.forEach(histogram::record);
+            QuizScoreSketch sketch = row.orElseGet(() -> QuizScoreSketch.builder().quizId(quizId).build());
+            sketch.setHistogram(histogram.encode());
+            sketch.setTotalCount(histogram.getTotal());
+            quizScoreSketchRepository.save(sketch);
+            stored.put(quizId, histogram);
+        });
+        if (!stored.isEmpty()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    stored.forEach(ScoreDistributionService.this::replace);
+                }
+            });
+        }
+    }
+
+    /**
+     * Summary of a quiz's completed attempts. When a percentage is given, the result also carries the share of
+     * recorded attempts that scored below it (ties counted half).
+     */
+    public ScoreDistributionDTO getDistribution(Long quizId, Double percentage) {
+        if (!sketches.containsKey(quizId) && !quizRepository.existsById(quizId)) {
+            throw new ResourceNotFoundException("Quiz not found with id: " + quizId);
+        }
+        CachedSketch sketch = sketches.computeIfAbsent(quizId, id -> new CachedSketch(load(id)));
+        sketch.read = true;
+        ScoreHistogram histogram = sketch.histogram;
+        boolean empty = histogram.isEmpty();
+
+        List<Long> bands = new ArrayList<>(HISTOGRAM_BANDS);
+        double width = 100.0 / HISTOGRAM_BANDS;
+        for (int band = 0; band < HISTOGRAM_BANDS; band++) {
+            bands.add(histogram.countBetween(band * width, (band + 1) * width));
+        }
+        return ScoreDistributionDTO.builder()
+                .quizId(quizId)
+                .completedAttempts(histogram.getTotal())
+                .averagePercentage(empty ? null : histogram.mean())
+                .p25(empty ? null : histogram.quantile(0.25))
+                .median(empty ? null : histogram.quantile(0.5))
+                .p75(empty ? null : histogram.quantile(0.75))
+                .p90(empty ? null : histogram.quantile(0.9))
+                .histogram(bands)
+                .percentile(percentage == null || empty ? null : histogram.percentileRank(percentage))
+                .build();
+    }
+
+    private ScoreHistogram load(Long quizId) {
+        return loadTemplate.execute(status -> quizScoreSketchRepository.findById(quizId)
+                .map(sketch -> ScoreHistogram.decode(sketch.getHistogram()))
+                // Not stored here; the first delivery to the quiz stores its own seed
+                .orElseGet(() -> seed(quizId)));
+    }
+
+    private ScoreHistogram seed(Long quizId) {
+        ScoreHistogram seeded = new ScoreHistogram();
+        try (Stream<Double> percentages = quizAttemptRepository.streamDeliveredPercentages(quizId)) {
+            percentages.forEach(seeded::record);
+        }
+        try (Stream<Double> percentages = archivedAttemptRepository.streamCompletedPercentages(quizId)) {
+            percentages.forEach(seeded::record);
+        }
+        return seeded;
+    }
+
+    // Only quizzes already cached; counts only grow, so a histogram holding fewer attempts is older and ignored
+    private void replace(Long quizId, ScoreHistogram histogram) {
+        sketches.computeIfPresent(quizId, (id, cached) -> {
+            if (histogram.getTotal() >= cached.histogram.getTotal()) {
+                cached.histogram = histogram;
+            }
+            return cached;
+        });
+    }
+
+    // Evicts the sketches nobody read since the last refresh and picks up what other instances stored for the rest
+    private void refresh() {
+        try {
+            List<Long> read = new ArrayList<>();
+            sketches.forEach((quizId, sketch) -> {
+                if (sketch.read) {
+                    sketch.read = false;
+                    read.add(quizId);
+                } else {
+                    sketches.remove(quizId, sketch);
+                }
+            });
+            if (read.isEmpty()) {
+                return;
+            }
+            for (QuizScoreSketch stored : quizScoreSketchRepository.findAllById(read)) {
+                replace(stored.getQuizId(), ScoreHistogram.decode(stored.getHistogram()));
+            }
+        } catch (RuntimeException e) {
+            logger.error("Score distribution refresh failed", e);
+        }
+    }
+}
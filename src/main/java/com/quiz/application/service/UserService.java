@@ -5,9 +5,12 @@ import com.quiz.application.dto.UserStatsDTO;
 import com.quiz.application.entity.QuizAttempt;
 import com.quiz.application.entity.User;
 import com.quiz.application.exception.ResourceNotFoundException;
+import com.quiz.application.repository.ArchivedAttemptRepository;
 import com.quiz.application.repository.QuizAttemptRepository;
 import com.quiz.application.repository.UserRepository;
 import com.quiz.application.security.UserPrincipal;
+import com.quiz.application.tracing.RequestTrace;
+import com.quiz.application.tracing.Span;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -26,14 +29,22 @@ public class UserService {
     @Autowired
     private QuizAttemptRepository quizAttemptRepository;
 
+    @Autowired
+    private ArchivedAttemptRepository archivedAttemptRepository;
+
 
     
     public User getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        
-        return userRepository.findById(userPrincipal.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+
+        Span span = RequestTrace.startSpan("UserService.getCurrentUser", RequestTrace.CATEGORY_USER);
+        try {
+            return userRepository.findById(userPrincipal.getId())
+                    .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        } finally {
+            RequestTrace.endSpan(span);
+        }
     }
     
     public UserDTO getUserById(Long id) {
@@ -68,8 +79,12 @@ public class UserService {
     public UserStatsDTO getUserStats() {
         User currentUser = getCurrentUser();
         List<QuizAttempt> completedAttempts = quizAttemptRepository.findCompletedAttemptsByUserId(currentUser.getId());
+        // Archived attempts only contribute their totals
+        ArchivedAttemptRepository.CompletedTotalsView archived =
+                archivedAttemptRepository.findCompletedTotalsByUserId(currentUser.getId());
+        long archivedCount = archived.getAttempts() != null ? archived.getAttempts() : 0;
 
-        if (completedAttempts.isEmpty()) {
+        if (completedAttempts.isEmpty() && archivedCount == 0) {
             return UserStatsDTO.builder()
                     .totalQuizzesTaken(0)
                     .averageScore(0)
@@ -78,21 +93,22 @@ public class UserService {
                     .build();
         }
 
-        long totalQuizzesTaken = completedAttempts.size();
+        long totalQuizzesTaken = completedAttempts.size() + archivedCount;
 
-        double averageScore = completedAttempts.stream()
+        double percentageSum = completedAttempts.stream()
                 .mapToDouble(QuizAttempt::getPercentageScore)
-                .average()
-                .orElse(0.0);
+                .sum();
+        double averageScore = (percentageSum + (archivedCount > 0 ? archived.getPercentageSum() : 0))
+                / totalQuizzesTaken;
 
-        double bestScore = completedAttempts.stream()
+        double bestScore = Math.max(completedAttempts.stream()
                 .mapToDouble(QuizAttempt::getPercentageScore)
                 .max()
-                .orElse(0.0);
+                .orElse(0.0), archivedCount > 0 ? archived.getBestPercentage() : 0.0);
 
         int totalPoints = completedAttempts.stream()
                 .mapToInt(QuizAttempt::getScoreObtained)
-                .sum();
+                .sum() + (archivedCount > 0 ? archived.getScoreSum().intValue() : 0);
 
         return UserStatsDTO.builder()
                 .totalQuizzesTaken(totalQuizzesTaken)
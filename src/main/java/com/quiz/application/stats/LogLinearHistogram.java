@@ -0,0 +1,86 @@
+package com.quiz.application.stats;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of non-negative long values (nanoseconds, bytes) with log-linear bins: every power of two is
+ * split into {@value #SUB_BINS} equal bins, so quantiles are within 12.5% of the true value across the whole
+ * long range in under 4 KB. Recording is lock-free and safe from any thread; reads are not an atomic snapshot
+ * while values are being recorded.
+ */
+public class LogLinearHistogram {
+
+    private static final int SUB_BIN_BITS = 3;
+    private static final int SUB_BINS = 1 << SUB_BIN_BITS;
+    private static final int BIN_COUNT = (64 - SUB_BIN_BITS) * SUB_BINS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BIN_COUNT);
+    private final LongAdder total = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long value) {
+        long clamped = Math.max(0, value);
+        counts.incrementAndGet(bin(clamped));
+        total.increment();
+        sum.add(clamped);
+        if (clamped > max.get()) {
+            max.accumulateAndGet(clamped, Math::max);
+        }
+    }
+
+    public long getCount() {
+        return total.sum();
+    }
+
+    public long getSum() {
+        return sum.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    public double mean() {
+        long count = total.sum();
+        return count > 0 ? (double) sum.sum() / count : 0;
+    }
+
+    // Upper bound of the bin holding the q-th quantile, capped at the largest recorded value
+    public long quantile(double q) {
+        long count = total.sum();
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(q * count));
+        long seen = 0;
+        for (int bin = 0; bin < BIN_COUNT; bin++) {
+            seen += counts.get(bin);
+            if (seen >= rank) {
+                return Math.min(upperBound(bin), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    private static int bin(long value) {
+        if (value < SUB_BINS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBin = (int) ((value >>> (exponent - SUB_BIN_BITS)) & (SUB_BINS - 1));
+        return (exponent - SUB_BIN_BITS + 1) * SUB_BINS + subBin;
+    }
+
+    private static long upperBound(int bin) {
+        if (bin < SUB_BINS) {
+            return bin;
+        }
+        int exponent = bin / SUB_BINS + SUB_BIN_BITS - 1;
+        long width = 1L << (exponent - SUB_BIN_BITS);
+        long lower = (SUB_BINS + bin % SUB_BINS) * width;
+        return lower + width - 1;
+    }
+}
@@ -0,0 +1,132 @@
+package com.quiz.application.stats;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Fixed-resolution histogram of percentage scores in [0, 100], one bin per 0.1 point. Percentage scores are
+ * bounded, so this acts as an exact quantile sketch at that resolution: memory and query cost are constant,
+ * and two histograms merge by adding their bins. Not thread-safe.
+ */
+public class ScoreHistogram {
+
+    public static final int BINS_PER_POINT = 10;
+    private static final int BIN_COUNT = 100 * BINS_PER_POINT + 1;
+    private static final byte FORMAT_VERSION = 1;
+
+    private final long[] counts = new long[BIN_COUNT];
+    private long total;
+    private double sum;
+
+    public void record(double percentage) {
+        int bin = bin(percentage);
+        counts[bin]++;
+        total++;
+        sum += (double) bin / BINS_PER_POINT;
+    }
+
+    public void merge(ScoreHistogram other) {
+        for (int bin = 0; bin < BIN_COUNT; bin++) {
+            counts[bin] += other.counts[bin];
+        }
+        total += other.total;
+        sum += other.sum;
+    }
+
+    public ScoreHistogram copy() {
+        ScoreHistogram copy = new ScoreHistogram();
+        copy.merge(this);
+        return copy;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public boolean isEmpty() {
+        return total == 0;
+    }
+
+    public double mean() {
+        return total > 0 ? sum / total : 0;
+    }
+
+    // Share of recorded scores below the given one, counting equal scores half, as a percentage
+    public double percentileRank(double percentage) {
+        if (total == 0) {
+            return 0;
+        }
+        int target = bin(percentage);
+        long below = 0;
+        for (int bin = 0; bin < target; bin++) {
+            below += counts[bin];
+        }
+        return (below + counts[target] / 2.0) / total * 100;
+    }
+
+    // Smallest score such that at least the given fraction (0..1) of recorded scores is at or below it
+    public double quantile(double fraction) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(fraction * total));
+        long seen = 0;
+        for (int bin = 0; bin < BIN_COUNT; bin++) {
+            seen += counts[bin];
+            if (seen >= rank) {
+                return (double) bin / BINS_PER_POINT;
+            }
+        }
+        return 100;
+    }
+
+    // Recorded scores in [from, to); a bound of 100 includes perfect scores
+    public long countBetween(double from, double to) {
+        int end = to >= 100 ? BIN_COUNT : bin(to);
+        long count = 0;
+        for (int bin = bin(from); bin < end; bin++) {
+            count += counts[bin];
+        }
+        return count;
+    }
+
+    // Sparse encoding: version, sum, then (bin, count) for every non-empty bin
+    public byte[] encode() {
+        int nonEmpty = 0;
+        for (long count : counts) {
+            if (count > 0) {
+                nonEmpty++;
+            }
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(1 + Double.BYTES + Integer.BYTES
+                + nonEmpty * (Short.BYTES + Long.BYTES));
+        buffer.put(FORMAT_VERSION).putDouble(sum).putInt(nonEmpty);
+        for (int bin = 0; bin < BIN_COUNT; bin++) {
+            if (counts[bin] > 0) {
+                buffer.putShort((short) bin).putLong(counts[bin]);
+            }
+        }
+        return buffer.array();
+    }
+
+    public static ScoreHistogram decode(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if (buffer.get() != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported score histogram format");
+        }
+        ScoreHistogram histogram = new ScoreHistogram();
+        histogram.sum = buffer.getDouble();
+        int nonEmpty = buffer.getInt();
+        for (int i = 0; i < nonEmpty; i++) {
+            int bin = buffer.getShort();
+            long count = buffer.getLong();
+            histogram.counts[bin] = count;
+            histogram.total += count;
+        }
+        return histogram;
+    }
+
+    private static int bin(double percentage) {
+        double clamped = Math.max(0, Math.min(100, percentage));
+        return (int) Math.round(clamped * BINS_PER_POINT);
+    }
+}
@@ -0,0 +1,91 @@
+package com.quiz.application.storage;
+
+import lombok.Value;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Packs the answers of an archived attempt into one blob: a version byte and the answer count, then per answer its
+ * id, question id, correctness, points, answer time and selected option ids. Options are stored as ids rather than
+ * an {@link OptionBitmask} so the blob can be read without the question.
+ */
+public final class ArchivedAnswers {
+
+    private static final byte VERSION = 1;
+    private static final long NO_TIME = Long.MIN_VALUE;
+
+    private ArchivedAnswers() {
+    }
+
+    @Value
+    public static class Answer {
+        Long answerId;
+        Long questionId;
+        boolean correct;
+        int pointsEarned;
+        LocalDateTime answeredAt;
+        List<Long> optionIds;
+    }
+
+    public static byte[] encode(List<Answer> answers) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(5 + answers.size() * 40);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeInt(answers.size());
+            for (Answer answer : answers) {
+                out.writeLong(answer.getAnswerId());
+                out.writeLong(answer.getQuestionId());
+                out.writeBoolean(answer.isCorrect());
+                out.writeInt(answer.getPointsEarned());
+                out.writeLong(answer.getAnsweredAt() != null
+                        ? answer.getAnsweredAt().toInstant(ZoneOffset.UTC).toEpochMilli() : NO_TIME);
+                out.writeShort(answer.getOptionIds().size());
+                for (Long optionId : answer.getOptionIds()) {
+                    out.writeLong(optionId);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static List<Answer> decode(byte[] data) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            byte version = in.readByte();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported archived answers version " + version);
+            }
+            int count = in.readInt();
+            List<Answer> answers = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                long answerId = in.readLong();
+                long questionId = in.readLong();
+                boolean correct = in.readBoolean();
+                int pointsEarned = in.readInt();
+                long answeredAt = in.readLong();
+                int optionCount = in.readUnsignedShort();
+                List<Long> optionIds = new ArrayList<>(optionCount);
+                for (int j = 0; j < optionCount; j++) {
+                    optionIds.add(in.readLong());
+                }
+                answers.add(new Answer(answerId, questionId, correct, pointsEarned,
+                        answeredAt != NO_TIME ? LocalDateTime.ofEpochSecond(Math.floorDiv(answeredAt, 1000),
+                                Math.floorMod(answeredAt, 1000) * 1_000_000, ZoneOffset.UTC) : null,
+                        optionIds));
+            }
+            return answers;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.quiz.application.storage;
+
+import com.quiz.application.entity.QuestionOption;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Encodes the options selected in an answer as a bitmask over the question's options: bit i is set when the
+ * i-th option, ordered by option order and then id, was selected. Options cannot be edited once a question is
+ * created, so positions stay stable for the lifetime of the answers that refer to them.
+ */
+public final class OptionBitmask {
+
+    public static final int MAX_OPTIONS = Long.SIZE;
+
+    // Nulls first, matching how both MySQL and H2 sort a null option_order ascending
+    private static final Comparator<QuestionOption> BIT_ORDER = Comparator
+            .comparing(QuestionOption::getOptionOrder, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(QuestionOption::getId);
+
+    private OptionBitmask() {
+    }
+
+    public static List<Long> orderedIds(Collection<QuestionOption> options) {
+        return options.stream()
+                .sorted(BIT_ORDER)
+                .map(QuestionOption::getId)
+                .toList();
+    }
+
+    // Null when the question has too many options or a selected id is not one of them
+    public static Long encode(List<Long> orderedOptionIds, Collection<Long> selectedOptionIds) {
+        if (orderedOptionIds.size() > MAX_OPTIONS) {
+            return null;
+        }
+        long mask = 0;
+        for (Long optionId : selectedOptionIds) {
+            int bit = orderedOptionIds.indexOf(optionId);
+            if (bit < 0) {
+                return null;
+            }
+            mask |= 1L << bit;
+        }
+        return mask;
+    }
+
+    public static List<Long> decode(List<Long> orderedOptionIds, long mask) {
+        List<Long> selected = new ArrayList<>(Long.bitCount(mask));
+        for (int bit = 0; bit < orderedOptionIds.size() && bit < MAX_OPTIONS; bit++) {
+            if ((mask & (1L << bit)) != 0) {
+                selected.add(orderedOptionIds.get(bit));
+            }
+        }
+        return selected;
+    }
+}
@@ -0,0 +1,35 @@
+package com.quiz.application.tracing;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Adds a "db" span for every call on one repository proxy made while a request is traced
+public class RepositoryTracingInterceptor implements MethodInterceptor {
+
+    private final Class<?> repositoryInterface;
+
+    private final Map<Method, String> spanNames = new ConcurrentHashMap<>();
+
+    public RepositoryTracingInterceptor(Class<?> repositoryInterface) {
+        this.repositoryInterface = repositoryInterface;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (RequestTrace.current() == null) {
+            return invocation.proceed();
+        }
+        String name = spanNames.computeIfAbsent(invocation.getMethod(),
+                method -> repositoryInterface.getSimpleName() + "." + method.getName());
+        Span span = RequestTrace.startSpan(name, RequestTrace.CATEGORY_DB);
+        try {
+            return invocation.proceed();
+        } finally {
+            RequestTrace.endSpan(span);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.quiz.application.tracing;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Span tree of one sampled request, bound to the thread handling it. Instrumented code calls
+ * {@link #startSpan} and {@link #endSpan}, which do nothing when the current request is not traced. Each span's
+ * time minus that of its children is charged to its category, so the categories add up to the request total.
+ * A trace keeps at most {@value #MAX_SPANS} spans; the time of spans beyond that goes to their parent.
+ */
+public class RequestTrace {
+
+    public static final String CATEGORY_APP = "app";
+    public static final String CATEGORY_AUTH = "auth";
+    public static final String CATEGORY_USER = "user";
+    public static final String CATEGORY_DB = "db";
+    public static final String CATEGORY_JSON = "json";
+
+    private static final String[] CATEGORIES = {CATEGORY_AUTH, CATEGORY_USER, CATEGORY_APP, CATEGORY_DB, CATEGORY_JSON};
+
+    private static final int MAX_SPANS = 256;
+
+    private static final ThreadLocal<RequestTrace> CURRENT = new ThreadLocal<>();
+
+    private final long id;
+    private final String method;
+    private final String path;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private final long originNanos = System.nanoTime();
+    private final Span root;
+    private final Deque<Span> open = new ArrayDeque<>();
+    private int spanCount = 1;
+    private int droppedSpans;
+    private int status;
+    private boolean timingHeaderWritten;
+
+    private RequestTrace(long id, String method, String path) {
+        this.id = id;
+        this.method = method;
+        this.path = path;
+        this.root = new Span(method + " " + path, CATEGORY_APP, 0);
+        open.push(root);
+    }
+
+    public static RequestTrace begin(long id, String method, String path) {
+        RequestTrace trace = new RequestTrace(id, method, path);
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    public static RequestTrace current() {
+        return CURRENT.get();
+    }
+
+    public static Span startSpan(String name, String category) {
+        RequestTrace trace = CURRENT.get();
+        return trace != null ? trace.start(name, category) : null;
+    }
+
+    public static void endSpan(Span span) {
+        RequestTrace trace = CURRENT.get();
+        if (span != null && trace != null) {
+            trace.end(span);
+        }
+    }
+
+    // Closes the root span and unbinds the trace from the thread
+    public void finish(int status) {
+        this.status = status;
+        long now = now();
+        while (!open.isEmpty()) {
+            open.pop().end(now);
+        }
+        CURRENT.remove();
+    }
+
+    // Time per category so far, in milliseconds, followed by the total
+    public String serverTiming() {
+        long now = now();
+        Map<String, Long> phases = phaseNanos(now);
+        String timing = phases.entrySet().stream()
+                .map(phase -> phase.getKey() + ";dur=" + millis(phase.getValue()))
+                .collect(Collectors.joining(", "));
+        return timing + ", total;dur=" + millis(root.durationAt(now));
+    }
+
+    public Map<String, Long> phaseNanos() {
+        return phaseNanos(now());
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public Span getRoot() {
+        return root;
+    }
+
+    public long getDurationNanos() {
+        return root.durationAt(now());
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public int getDroppedSpans() {
+        return droppedSpans;
+    }
+
+    public boolean isTimingHeaderWritten() {
+        return timingHeaderWritten;
+    }
+
+    public void markTimingHeaderWritten() {
+        timingHeaderWritten = true;
+    }
+
+    private Span start(String name, String category) {
+        if (spanCount >= MAX_SPANS) {
+            droppedSpans++;
+            return null;
+        }
+        Span span = new Span(name, category, now());
+        open.peek().getChildren().add(span);
+        open.push(span);
+        spanCount++;
+        return span;
+    }
+
+    private void end(Span span) {
+        span.end(now());
+        // Also closes children left open by an exception that skipped their endSpan
+        while (open.size() > 1) {
+            Span closed = open.pop();
+            if (closed == span) {
+                break;
+            }
+            closed.end(span.getStartNanos() + span.getDurationNanos());
+        }
+    }
+
+    private Map<String, Long> phaseNanos(long now) {
+        Map<String, Long> phases = new LinkedHashMap<>();
+        for (String category : CATEGORIES) {
+            phases.put(category, 0L);
+        }
+        addSelfTime(root, now, phases);
+        return phases;
+    }
+
+    private static void addSelfTime(Span span, long now, Map<String, Long> phases) {
+        long self = span.durationAt(now);
+        for (Span child : span.getChildren()) {
+            self -= child.durationAt(now);
+            addSelfTime(child, now, phases);
+        }
+        phases.merge(span.getCategory(), Math.max(0, self), Long::sum);
+    }
+
+    private long now() {
+        return System.nanoTime() - originNanos;
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+}
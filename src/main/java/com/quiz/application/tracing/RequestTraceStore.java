@@ -0,0 +1,122 @@
+package com.quiz.application.tracing;
+
+import com.quiz.application.dto.RequestTraceDTO;
+import com.quiz.application.dto.TraceSpanDTO;
+import com.quiz.application.exception.BadRequestException;
+import com.quiz.application.exception.ResourceNotFoundException;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Decides which requests are traced and keeps the most recent slow traces in a fixed ring that overwrites
+ * the oldest entry, so memory use stays bounded however many requests are slow.
+ */
+@Component
+public class RequestTraceStore {
+
+    @Value("${quiz.tracing.enabled:true}")
+    private boolean enabled;
+
+    @Value("${quiz.tracing.sample-rate:0.1}")
+    private double sampleRate;
+
+    @Value("${quiz.tracing.slow-threshold-millis:500}")
+    private long slowThresholdMillis;
+
+    @Value("${quiz.tracing.buffer-size:200}")
+    private int bufferSize;
+
+    private AtomicReferenceArray<RequestTrace> slowTraces;
+
+    private final AtomicLong traceIds = new AtomicLong();
+
+    // Number of slow traces ever stored; the next one goes to slot stored % bufferSize
+    private final AtomicLong stored = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        slowTraces = new AtomicReferenceArray<>(Math.max(1, bufferSize));
+    }
+
+    // Starts a trace for this request on the calling thread, or returns null if it is not sampled
+    public RequestTrace begin(String method, String path) {
+        if (!enabled || sampleRate <= 0 || (sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            return null;
+        }
+        return RequestTrace.begin(traceIds.incrementAndGet(), method, path);
+    }
+
+    // Called with finished traces; keeps those at or above the slow threshold
+    public void offer(RequestTrace trace) {
+        if (trace.getDurationNanos() >= TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis)) {
+            long slot = stored.getAndIncrement();
+            slowTraces.set((int) (slot % slowTraces.length()), trace);
+        }
+    }
+
+    // Most recent slow traces first, without their span trees
+    public List<RequestTraceDTO> getSlowTraces(int limit) {
+        if (limit < 1) {
+            throw new BadRequestException("Limit must be positive");
+        }
+        List<RequestTraceDTO> traces = new ArrayList<>();
+        long newest = stored.get() - 1;
+        for (long slot = newest; slot >= 0 && slot > newest - slowTraces.length() && traces.size() < limit; slot--) {
+            RequestTrace trace = slowTraces.get((int) (slot % slowTraces.length()));
+            if (trace != null) {
+                traces.add(toDTO(trace, false));
+            }
+        }
+        return traces;
+    }
+
+    public RequestTraceDTO getSlowTrace(long id) {
+        for (int slot = 0; slot < slowTraces.length(); slot++) {
+            RequestTrace trace = slowTraces.get(slot);
+            if (trace != null && trace.getId() == id) {
+                return toDTO(trace, true);
+            }
+        }
+        throw new ResourceNotFoundException("Trace not found with id: " + id);
+    }
+
+    private RequestTraceDTO toDTO(RequestTrace trace, boolean withSpans) {
+        Map<String, Double> phaseMillis = new LinkedHashMap<>();
+        trace.phaseNanos().forEach((category, nanos) -> phaseMillis.put(category, millis(nanos)));
+        return RequestTraceDTO.builder()
+                .id(trace.getId())
+                .method(trace.getMethod())
+                .path(trace.getPath())
+                .status(trace.getStatus())
+                .startedAt(trace.getStartedAt())
+                .durationMillis(millis(trace.getDurationNanos()))
+                .phaseMillis(phaseMillis)
+                .droppedSpans(trace.getDroppedSpans())
+                .root(withSpans ? toDTO(trace.getRoot()) : null)
+                .build();
+    }
+
+    private TraceSpanDTO toDTO(Span span) {
+        return TraceSpanDTO.builder()
+                .name(span.getName())
+                .category(span.getCategory())
+                .startNanos(span.getStartNanos())
+                .durationNanos(span.getDurationNanos())
+                .children(span.getChildren().stream().map(this::toDTO).toList())
+                .build();
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+}
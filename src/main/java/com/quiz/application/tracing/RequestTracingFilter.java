@@ -0,0 +1,49 @@
+package com.quiz.application.tracing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Outermost filter: traces sampled requests from before security to after the response is written, and
+ * adds a Server-Timing header with the time per category. JSON responses get the header from
+ * {@link TracingJacksonHttpMessageConverter} just before their body is written; other responses get it here
+ * unless they are already committed. Only the request thread is traced, so asynchronous and streamed
+ * responses show the time to hand off, not the time to finish.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestTracingFilter extends OncePerRequestFilter {
+
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    @Autowired
+    private RequestTraceStore requestTraceStore;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestTrace trace = requestTraceStore.begin(request.getMethod(), request.getRequestURI());
+        if (trace == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (!trace.isTimingHeaderWritten() && !response.isCommitted()) {
+                response.addHeader(SERVER_TIMING_HEADER, trace.serverTiming());
+            }
+            trace.finish(response.getStatus());
+            requestTraceStore.offer(trace);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.quiz.application.tracing;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// One timed section of a request; times are nanoseconds from the start of the request
+public class Span {
+
+    private final String name;
+    private final String category;
+    private final long startNanos;
+    private long durationNanos = -1;
+    private final List<Span> children = new ArrayList<>(2);
+
+    Span(String name, String category, long startNanos) {
+        this.name = name;
+        this.category = category;
+        this.startNanos = startNanos;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    // -1 while the span is still open
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public List<Span> getChildren() {
+        return children;
+    }
+
+    void end(long nowNanos) {
+        durationNanos = nowNanos - startNanos;
+    }
+
+    long durationAt(long nowNanos) {
+        return durationNanos >= 0 ? durationNanos : nowNanos - startNanos;
+    }
+}
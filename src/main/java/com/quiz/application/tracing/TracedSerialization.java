@@ -0,0 +1,53 @@
+package com.quiz.application.tracing;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Body writing shared by the tracing Jackson converters. When the request is traced, the body is serialized
+ * into memory as a "json" span (whatever the format) so that the Server-Timing header, which must precede it,
+ * can include the serialization time. Untraced requests are written straight to the response.
+ */
+final class TracedSerialization {
+
+    interface BodyWriter {
+        void write(HttpOutputMessage outputMessage) throws IOException;
+    }
+
+    private TracedSerialization() {
+    }
+
+    static void write(Object object, String format, HttpOutputMessage outputMessage, BodyWriter writer)
+            throws IOException {
+        RequestTrace trace = RequestTrace.current();
+        if (trace == null || trace.isTimingHeaderWritten()) {
+            writer.write(outputMessage);
+            return;
+        }
+        ByteArrayOutputStream body = new ByteArrayOutputStream(1024);
+        Span span = RequestTrace.startSpan("serialize " + (object != null ? object.getClass().getSimpleName() : "null")
+                + " as " + format, RequestTrace.CATEGORY_JSON);
+        try {
+            writer.write(new HttpOutputMessage() {
+                @Override
+                public OutputStream getBody() {
+                    return body;
+                }
+
+                @Override
+                public HttpHeaders getHeaders() {
+                    return outputMessage.getHeaders();
+                }
+            });
+        } finally {
+            RequestTrace.endSpan(span);
+        }
+        outputMessage.getHeaders().add(RequestTracingFilter.SERVER_TIMING_HEADER, trace.serverTiming());
+        trace.markTimingHeaderWritten();
+        body.writeTo(outputMessage.getBody());
+    }
+}
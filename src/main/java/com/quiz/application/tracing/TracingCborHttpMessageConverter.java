@@ -0,0 +1,22 @@
+package com.quiz.application.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+// CBOR converter that times serialization when the request is traced, see TracedSerialization
+public class TracingCborHttpMessageConverter extends MappingJackson2CborHttpMessageConverter {
+
+    public TracingCborHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+        TracedSerialization.write(object, "cbor", outputMessage,
+                message -> super.writeInternal(object, type, message));
+    }
+}
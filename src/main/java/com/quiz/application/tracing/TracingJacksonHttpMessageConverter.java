@@ -0,0 +1,22 @@
+package com.quiz.application.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+// JSON converter that times serialization when the request is traced, see TracedSerialization
+public class TracingJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    public TracingJacksonHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+        TracedSerialization.write(object, "json", outputMessage,
+                message -> super.writeInternal(object, type, message));
+    }
+}
@@ -0,0 +1,22 @@
+package com.quiz.application.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+// Smile converter that times serialization when the request is traced, see TracedSerialization
+public class TracingSmileHttpMessageConverter extends MappingJackson2SmileHttpMessageConverter {
+
+    public TracingSmileHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+        TracedSerialization.write(object, "smile", outputMessage,
+                message -> super.writeInternal(object, type, message));
+    }
+}
@@ -0,0 +1,150 @@
+package com.quiz.application.config;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.quiz.application.dto.ApiResponse;
+import com.quiz.application.dto.QuestionDTO;
+import com.quiz.application.dto.QuestionOptionDTO;
+import com.quiz.application.dto.QuizDTO;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Payload size and serialization CPU of a 200-question quiz in each negotiated encoding, with and without
+ * gzip. The sizes are always checked; the timings are only measured, and logged as a table, when this class logs
+ * at debug level. Run with -Dbenchmark.iterations=5000 for steadier timings than the default.
+ */
+class QuizPayloadEncodingBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuizPayloadEncodingBenchmarkTest.class);
+
+    private static final int QUESTIONS = 200;
+    private static final int OPTIONS_PER_QUESTION = 4;
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 200);
+
+    private final MessageConverterConfig config = new MessageConverterConfig();
+
+    @Test
+    void binaryEncodingsRoundTripInFewerBytesThanJson() throws IOException {
+        QuizDTO quiz = quizWithQuestions(QUESTIONS);
+        ApiResponse<QuizDTO> response = ApiResponse.success(quiz, "Quiz retrieved successfully");
+
+        ObjectMapper json = config.mappingJackson2HttpMessageConverter(builder().build()).getObjectMapper();
+        ObjectMapper cbor = config.mappingJackson2CborHttpMessageConverter(builder()).getObjectMapper();
+        ObjectMapper smile = config.mappingJackson2SmileHttpMessageConverter(builder()).getObjectMapper();
+
+        byte[] jsonBytes = json.writeValueAsBytes(response);
+        byte[] cborBytes = cbor.writeValueAsBytes(response);
+        byte[] smileBytes = smile.writeValueAsBytes(response);
+
+        if (logger.isDebugEnabled()) {
+            logger.debug(String.format(Locale.ROOT, "%-6s %10s %10s %14s %14s", "format", "bytes", "gzipped",
+                    "cpu us/write", "wall us/write"));
+            Object[][] rows = {{"json", json, jsonBytes}, {"cbor", cbor, cborBytes}, {"smile", smile, smileBytes}};
+            for (Object[] row : rows) {
+                ObjectMapper mapper = (ObjectMapper) row[1];
+                long[] nanos = timeWrites(mapper, response);
+                logger.debug(String.format(Locale.ROOT, "%-6s %10d %10d %14.1f %14.1f", row[0],
+                        ((byte[]) row[2]).length, gzip((byte[]) row[2]).length, nanos[0] / 1_000.0,
+                        nanos[1] / 1_000.0));
+            }
+        }
+
+        assertThat(cborBytes.length).isLessThan(jsonBytes.length);
+        assertThat(smileBytes.length).isLessThan(cborBytes.length);
+        TypeReference<ApiResponse<QuizDTO>> responseType = new TypeReference<>() {
+        };
+        assertThat(cbor.readValue(cborBytes, responseType).getData()).isEqualTo(quiz);
+        assertThat(smile.readValue(smileBytes, responseType).getData()).isEqualTo(quiz);
+        assertThat(json.readValue(jsonBytes, responseType).getData()).isEqualTo(quiz);
+    }
+
+    // Mirrors the application's spring.jackson settings
+    private static Jackson2ObjectMapperBuilder builder() {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .timeZone("UTC");
+    }
+
+    // Mean CPU and wall nanoseconds per serialization, after as many warm-up writes
+    private static long[] timeWrites(ObjectMapper mapper, Object value) throws IOException {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < ITERATIONS; i++) {
+            mapper.writeValueAsBytes(value);
+        }
+        long cpuStart = threads.getCurrentThreadCpuTime();
+        long wallStart = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            mapper.writeValueAsBytes(value);
+        }
+        return new long[]{(threads.getCurrentThreadCpuTime() - cpuStart) / ITERATIONS,
+                (System.nanoTime() - wallStart) / ITERATIONS};
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(bytes);
+        }
+        return compressed.toByteArray();
+    }
+
+    private static QuizDTO quizWithQuestions(int count) {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 9, 30);
+        List<QuestionDTO> questions = new ArrayList<>();
+        long optionId = 1;
+        for (int q = 1; q <= count; q++) {
+            List<QuestionOptionDTO> options = new ArrayList<>();
+            for (int o = 1; o <= OPTIONS_PER_QUESTION; o++) {
+                options.add(QuestionOptionDTO.builder()
+                        .id(optionId++)
+                        .optionText("Option " + o + " for question " + q + ": a plausible answer")
+                        .isCorrect(o == 1)
+                        .optionOrder(o)
+                        .build());
+            }
+            questions.add(QuestionDTO.builder()
+                    .id((long) q)
+                    .questionText("Question " + q + ": which statement about Java collections and generics is true?")
+                    .questionType("MULTIPLE_CHOICE")
+                    .points(5)
+                    .questionOrder(q)
+                    .explanation("Explanation " + q + ": the first option is correct because of type erasure rules.")
+                    .quizId(1L)
+                    .options(options)
+                    .build());
+        }
+        return QuizDTO.builder()
+                .id(1L)
+                .title("Java Fundamentals")
+                .description("Two hundred questions on the core language")
+                .topic("Java")
+                .difficultyLevel("MEDIUM")
+                .timeLimitMinutes(120)
+                .passingScore(60)
+                .active(true)
+                .createdById(1L)
+                .createdByUsername("admin")
+                .totalQuestions(count)
+                .totalPoints(count * 5)
+                .createdAt(createdAt)
+                .updatedAt(createdAt)
+                .questions(questions)
+                .build();
+    }
+}
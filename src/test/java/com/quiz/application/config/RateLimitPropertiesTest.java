@@ -0,0 +1,41 @@
+package com.quiz.application.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.context.ConfigurationPropertiesAutoConfiguration;
+import org.springframework.boot.context.properties.bind.validation.BindValidationException;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitPropertiesTest {
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(ConfigurationPropertiesAutoConfiguration.class))
+            .withUserConfiguration(RateLimitProperties.class)
+            .withPropertyValues(
+                    "quiz.rate-limit.policies[0].name=default",
+                    "quiz.rate-limit.policies[0].patterns=/**",
+                    "quiz.rate-limit.policies[0].capacity=10",
+                    "quiz.rate-limit.policies[0].refill-per-minute=60");
+
+    @Test
+    void bindsPositiveLimits() {
+        runner.run(context -> {
+            assertThat(context).hasNotFailed();
+            RateLimitProperties.Policy policy = context.getBean(RateLimitProperties.class).getPolicies().get(0);
+            assertThat(policy.getCapacity()).isEqualTo(10);
+            assertThat(policy.getRefillPerMinute()).isEqualTo(60);
+        });
+    }
+
+    @Test
+    void rejectsPoliciesThatCouldNeverAdmitOrRefill() {
+        runner.withPropertyValues("quiz.rate-limit.policies[0].refill-per-minute=0").run(context ->
+                assertThat(context).getFailure().hasRootCauseInstanceOf(BindValidationException.class)
+                        .rootCause().hasMessageContaining("policies[0].refillPerMinute"));
+        runner.withPropertyValues("quiz.rate-limit.policies[0].capacity=-1").run(context ->
+                assertThat(context).getFailure().hasRootCauseInstanceOf(BindValidationException.class)
+                        .rootCause().hasMessageContaining("policies[0].capacity"));
+    }
+}
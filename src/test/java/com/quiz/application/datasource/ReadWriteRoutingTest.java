@@ -0,0 +1,97 @@
+package com.quiz.application.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The replica is a second, independent in-memory database whose heartbeat row the tests write by hand
+@SpringBootTest(properties = {
+        "quiz.datasource.replica.enabled=true",
+        "quiz.datasource.replica.url=jdbc:h2:mem:replicadb;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "quiz.datasource.replica.username=sa",
+        "quiz.datasource.replica.password=",
+        "quiz.datasource.replica.max-lag=5s",
+        "quiz.datasource.replica.heartbeat-interval=1h"
+})
+@ActiveProfiles("test")
+class ReadWriteRoutingTest {
+
+    @Autowired
+    private ReadWriteRoutingDataSource routingDataSource;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void createReplicaHeartbeat() {
+        replica = new JdbcTemplate(routingDataSource.getPool(ReadWriteRoutingDataSource.Route.REPLICA));
+        replica.execute("CREATE TABLE IF NOT EXISTS replica_heartbeat (id INT PRIMARY KEY, beat_millis BIGINT NOT NULL)");
+    }
+
+    @AfterEach
+    void disableReplica() {
+        // Leave the shared context reading from the primary, which has the schema
+        replica.execute("DROP TABLE IF EXISTS replica_heartbeat");
+        replicaLagMonitor.check();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToReplicaWhileItKeepsUp() {
+        replicate(System.currentTimeMillis());
+        replicaLagMonitor.check();
+        assertThat(routingDataSource.isReplicaAvailable()).isTrue();
+
+        long served = routingDataSource.getConnectionsServed(ReadWriteRoutingDataSource.Route.REPLICA);
+        assertThat(databaseUsed(true)).isEqualToIgnoringCase("replicadb");
+        assertThat(databaseUsed(false)).isEqualToIgnoringCase("testdb");
+        assertThat(routingDataSource.getConnectionsServed(ReadWriteRoutingDataSource.Route.REPLICA)).isEqualTo(served + 1);
+    }
+
+    @Test
+    void readOnlyTransactionsFallBackToPrimaryWhenReplicaLags() {
+        replicate(System.currentTimeMillis() - 60_000);
+        replicaLagMonitor.check();
+
+        assertThat(routingDataSource.isReplicaAvailable()).isFalse();
+        assertThat(replicaLagMonitor.getLagMillis()).isGreaterThanOrEqualTo(60_000);
+        assertThat(databaseUsed(true)).isEqualToIgnoringCase("testdb");
+    }
+
+    @Test
+    void unreadableReplicaIsNotUsed() {
+        replica.execute("DROP TABLE replica_heartbeat");
+        replicaLagMonitor.check();
+
+        assertThat(routingDataSource.isReplicaAvailable()).isFalse();
+        assertThat(replicaLagMonitor.getLagMillis()).isEqualTo(-1);
+        assertThat(databaseUsed(true)).isEqualToIgnoringCase("testdb");
+    }
+
+    // Stands in for replication of the primary's heartbeat row
+    private void replicate(long beatMillis) {
+        replica.update("DELETE FROM replica_heartbeat");
+        replica.update("INSERT INTO replica_heartbeat (id, beat_millis) VALUES (1, ?)", beatMillis);
+    }
+
+    private String databaseUsed(boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status -> jdbcTemplate.queryForObject("SELECT DATABASE()", String.class));
+    }
+}
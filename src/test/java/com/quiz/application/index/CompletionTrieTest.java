@@ -0,0 +1,105 @@
+package com.quiz.application.index;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompletionTrieTest {
+
+    @Test
+    void completesByDescendingWeightAcrossSplitEdges() {
+        CompletionTrie<String> trie = new CompletionTrie<>();
+        trie.put("java", "java", 5);
+        trie.put("javascript", "javascript", 9);
+        // Splits the "java" edge into "jav" and "a"
+        trie.put("jvm", "jvm", 1);
+        trie.put("jav", "jav", 3);
+        trie.put("kotlin", "kotlin", 7);
+
+        assertThat(payloads(trie.complete("j", 10))).containsExactly("javascript", "java", "jav", "jvm");
+        assertThat(payloads(trie.complete("ja", 2))).containsExactly("javascript", "java");
+        // A prefix ending inside an edge still reaches everything below it
+        assertThat(payloads(trie.complete("javas", 10))).containsExactly("javascript");
+        assertThat(payloads(trie.complete("", 2))).containsExactly("javascript", "kotlin");
+        assertThat(trie.complete("jx", 10)).isEmpty();
+        assertThat(trie.complete("javascripts", 10)).isEmpty();
+        assertThat(trie.complete("j", 0)).isEmpty();
+    }
+
+    @Test
+    void putReplacesTheWeightOfAnEqualPayload() {
+        CompletionTrie<String> trie = new CompletionTrie<>();
+        trie.put("algebra", "algebra", 2);
+        trie.put("algebra", "linear", 4);
+        trie.put("algorithms", "algorithms", 3);
+
+        assertThat(payloads(trie.complete("alg", 10))).containsExactly("linear", "algorithms", "algebra");
+
+        trie.put("algebra", "algebra", 10);
+        List<CompletionTrie.Completion<String>> completions = trie.complete("alg", 10);
+        assertThat(payloads(completions)).containsExactly("algebra", "linear", "algorithms");
+        assertThat(completions.get(0).getWeight()).isEqualTo(10);
+    }
+
+    @Test
+    void removeDropsEmptyNodesAndMergesSplitEdgesBack() {
+        CompletionTrie<String> trie = new CompletionTrie<>();
+        trie.put("quiz", "quiz", 1);
+        trie.put("quill", "quill", 2);
+        trie.put("quilt", "quilt", 3);
+        assertThat(rootLabels(trie)).containsExactly("qui");
+
+        // Unknown keys and payloads are ignored
+        trie.remove("quilts", "quilt");
+        trie.remove("quilt", "quill");
+        assertThat(payloads(trie.complete("q", 10))).containsExactly("quilt", "quill", "quiz");
+
+        trie.remove("quilt", "quilt");
+        assertThat(payloads(trie.complete("quil", 10))).containsExactly("quill");
+
+        // "qui" is left with the single child "z" once "ll" is gone, so the two fold into one edge
+        trie.remove("quill", "quill");
+        assertThat(rootLabels(trie)).containsExactly("quiz");
+        assertThat(payloads(trie.complete("qu", 10))).containsExactly("quiz");
+        assertThat(trie.complete("quil", 10)).isEmpty();
+
+        trie.put("quip", "quip", 4);
+        assertThat(payloads(trie.complete("qui", 10))).containsExactly("quip", "quiz");
+
+        trie.remove("quiz", "quiz");
+        trie.remove("quip", "quip");
+        assertThat(rootLabels(trie)).isEmpty();
+        assertThat(trie.complete("", 10)).isEmpty();
+    }
+
+    @Test
+    void removingAHeavyEntryLowersTheWeightItsAncestorsAdvertise() {
+        CompletionTrie<String> trie = new CompletionTrie<>();
+        trie.put("sql", "sql", 100);
+        trie.put("sqlite", "sqlite", 1);
+        trie.put("spark", "spark", 50);
+
+        trie.remove("sql", "sql");
+        trie.put("sqlserver", "sqlserver", 2);
+
+        assertThat(payloads(trie.complete("s", 2))).containsExactly("spark", "sqlserver");
+        assertThat(payloads(trie.complete("sql", 10))).containsExactly("sqlserver", "sqlite");
+    }
+
+    private static List<String> payloads(List<CompletionTrie.Completion<String>> completions) {
+        return completions.stream().map(CompletionTrie.Completion::getPayload).toList();
+    }
+
+    private static List<String> rootLabels(CompletionTrie<String> trie) {
+        Object root = ReflectionTestUtils.getField(trie, "root");
+        List<String> labels = new ArrayList<>();
+        for (Object child : (Object[]) ReflectionTestUtils.getField(root, "children")) {
+            labels.add((String) ReflectionTestUtils.getField(child, "label"));
+        }
+        return labels;
+    }
+}
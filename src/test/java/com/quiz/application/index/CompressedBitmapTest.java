@@ -0,0 +1,112 @@
+package com.quiz.application.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompressedBitmapTest {
+
+    // Values per container before it switches from a sorted array to a bitset
+    private static final int ARRAY_MAX = 4096;
+
+    @Test
+    void addAndRemoveAcrossTheArrayThreshold() {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        // Every other value, so the dense container is not simply a prefix
+        for (int i = 0; i <= ARRAY_MAX; i++) {
+            bitmap.add(i * 2);
+        }
+        bitmap.add(8);
+        assertThat(bitmap.cardinality()).isEqualTo(ARRAY_MAX + 1);
+        assertThat(bitmap.contains(ARRAY_MAX * 2)).isTrue();
+        assertThat(bitmap.contains(7)).isFalse();
+
+        // Back to the threshold turns the container into an array again, still holding the same values
+        bitmap.remove(0);
+        bitmap.remove(1);
+        assertThat(bitmap.cardinality()).isEqualTo(ARRAY_MAX);
+        assertThat(bitmap.toArray()).containsExactly(IntStream.rangeClosed(1, ARRAY_MAX).map(i -> i * 2).toArray());
+
+        bitmap.add(0);
+        assertThat(bitmap.cardinality()).isEqualTo(ARRAY_MAX + 1);
+        assertThat(bitmap.toArray()[0]).isZero();
+
+        for (int i = 0; i <= ARRAY_MAX; i++) {
+            bitmap.remove(i * 2);
+        }
+        assertThat(bitmap.isEmpty()).isTrue();
+        assertThat(bitmap.toArray()).isEmpty();
+    }
+
+    @Test
+    void valuesSpanningSeveralContainersComeBackSorted() {
+        CompressedBitmap bitmap = CompressedBitmap.of(200_000, 5, 65_536, 65_535, 5);
+        assertThat(bitmap.toArray()).containsExactly(5, 65_535, 65_536, 200_000);
+
+        bitmap.remove(65_536);
+        assertThat(bitmap.contains(65_536)).isFalse();
+        assertThat(bitmap.toArray()).containsExactly(5, 65_535, 200_000);
+    }
+
+    @Test
+    void setOperationsMatchBitSetForEveryContainerPairing() {
+        // Container 0 is dense in a and sparse in b, container 1 the reverse, container 2 dense in both
+        // and container 3 sparse in both
+        BitSet expectedA = new BitSet();
+        BitSet expectedB = new BitSet();
+        CompressedBitmap a = new CompressedBitmap();
+        CompressedBitmap b = new CompressedBitmap();
+        fill(a, expectedA, 0, 3, 6_000);
+        fill(b, expectedB, 0, 7, 500);
+        fill(a, expectedA, 1, 11, 300);
+        fill(b, expectedB, 1, 2, 9_000);
+        fill(a, expectedA, 2, 2, 10_000);
+        fill(b, expectedB, 2, 3, 10_000);
+        fill(a, expectedA, 3, 5, 100);
+        fill(b, expectedB, 3, 4, 100);
+
+        BitSet and = (BitSet) expectedA.clone();
+        and.and(expectedB);
+        BitSet or = (BitSet) expectedA.clone();
+        or.or(expectedB);
+
+        assertThat(a.and(b).toArray()).containsExactly(and.stream().toArray());
+        assertThat(b.and(a).toArray()).containsExactly(and.stream().toArray());
+        assertThat(a.andCardinality(b)).isEqualTo(and.cardinality());
+        assertThat(b.andCardinality(a)).isEqualTo(and.cardinality());
+        assertThat(a.or(b).toArray()).containsExactly(or.stream().toArray());
+        assertThat(b.or(a).toArray()).containsExactly(or.stream().toArray());
+        assertThat(a.or(b).cardinality()).isEqualTo(or.cardinality());
+
+        // The operands are left untouched
+        assertThat(a.toArray()).containsExactly(expectedA.stream().toArray());
+        assertThat(b.toArray()).containsExactly(expectedB.stream().toArray());
+    }
+
+    @Test
+    void twoSparseArraysCanUnionIntoADenseContainer() {
+        CompressedBitmap evens = new CompressedBitmap();
+        CompressedBitmap odds = new CompressedBitmap();
+        for (int i = 0; i < 3_000; i++) {
+            evens.add(i * 2);
+            odds.add(i * 2 + 1);
+        }
+
+        CompressedBitmap union = evens.or(odds);
+        assertThat(union.cardinality()).isEqualTo(6_000);
+        assertThat(union.toArray()).containsExactly(IntStream.range(0, 6_000).toArray());
+        assertThat(union.and(evens).toArray()).containsExactly(evens.toArray());
+        assertThat(evens.andCardinality(odds)).isZero();
+    }
+
+    private static void fill(CompressedBitmap bitmap, BitSet expected, int container, int step, int count) {
+        for (int i = 0; i < count; i++) {
+            int value = (container << 16) | (i * step);
+            bitmap.add(value);
+            expected.set(value);
+        }
+    }
+}
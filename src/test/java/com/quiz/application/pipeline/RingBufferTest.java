@@ -0,0 +1,84 @@
+package com.quiz.application.pipeline;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RingBufferTest {
+
+    private static final int PRODUCERS = 4;
+    private static final int ITEMS_PER_PRODUCER = 5_000;
+
+    @Test
+    void rejectsOffersWhenFullAndAcceptsAgainAfterDrain() {
+        RingBuffer<Integer> ring = new RingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(ring.offer(i)).isTrue();
+        }
+        assertThat(ring.offer(4)).isFalse();
+
+        List<Integer> drained = new ArrayList<>();
+        assertThat(ring.drainTo(drained, 3)).isEqualTo(3);
+        assertThat(drained).containsExactly(0, 1, 2);
+        assertThat(ring.offer(5)).isTrue();
+
+        drained.clear();
+        ring.drainTo(drained, 10);
+        assertThat(drained).containsExactly(3, 5);
+        assertThat(ring.size()).isZero();
+    }
+
+    @Test
+    void concurrentProducersLoseNothingAndKeepTheirOwnOrder() throws Exception {
+        RingBuffer<long[]> ring = new RingBuffer<>(256);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(PRODUCERS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int p = 0; p < PRODUCERS; p++) {
+            long producer = p;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (long i = 0; i < ITEMS_PER_PRODUCER; i++) {
+                    while (!ring.offer(new long[]{producer, i})) {
+                        Thread.onSpinWait();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+
+        long[] nextExpected = new long[PRODUCERS];
+        Set<Long> producersDone = new HashSet<>();
+        List<long[]> batch = new ArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (producersDone.size() < PRODUCERS && System.nanoTime() < deadline) {
+            batch.clear();
+            ring.drainTo(batch, 64);
+            for (long[] item : batch) {
+                int producer = (int) item[0];
+                assertThat(item[1]).isEqualTo(nextExpected[producer]);
+                if (++nextExpected[producer] == ITEMS_PER_PRODUCER) {
+                    producersDone.add(item[0]);
+                }
+            }
+        }
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertThat(producersDone).hasSize(PRODUCERS);
+        assertThat(ring.size()).isZero();
+    }
+}
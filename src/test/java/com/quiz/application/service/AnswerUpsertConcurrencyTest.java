@@ -0,0 +1,185 @@
+package com.quiz.application.service;
+
+import com.quiz.application.dto.SubmitAnswerRequest;
+import com.quiz.application.entity.*;
+import com.quiz.application.repository.*;
+import com.quiz.application.security.UserPrincipal;
+import com.quiz.application.storage.OptionBitmask;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AnswerUpsertConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int SUBMISSIONS_PER_THREAD = 25;
+
+    @Autowired
+    private QuizAttemptService quizAttemptService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private QuizRepository quizRepository;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private QuestionOptionRepository questionOptionRepository;
+
+    @Autowired
+    private QuizAttemptRepository quizAttemptRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void restoreOptionStorage() {
+        ReflectionTestUtils.setField(quizAttemptService, "optionStorage", UserAnswer.OptionStorage.BITMASK);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void concurrentSubmissionsForSameQuestionKeepSingleAnswer() throws Exception {
+        Long answerId = submitConcurrently("upsert-user");
+
+        Long mask = jdbcTemplate.queryForObject(
+                "SELECT selected_options_mask FROM user_answers WHERE id = ?", Long.class, answerId);
+        assertThat(mask).isNotNull();
+        assertThat(Long.bitCount(mask)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM user_answer_options WHERE user_answer_id = ?", Long.class, answerId)).isZero();
+    }
+
+    @Test
+    void concurrentSubmissionsWithJoinTableStorageKeepSingleSelection() throws Exception {
+        ReflectionTestUtils.setField(quizAttemptService, "optionStorage", UserAnswer.OptionStorage.JOIN_TABLE);
+        Long answerId = submitConcurrently("upsert-join-user");
+
+        Set<Long> selected = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT option_id FROM user_answer_options WHERE user_answer_id = ?", Long.class, answerId));
+        assertThat(selected).hasSize(1);
+
+        // Migrating moves the same selection onto the mask and clears the join rows
+        ReflectionTestUtils.setField(quizAttemptService, "optionStorage", UserAnswer.OptionStorage.BITMASK);
+        assertThat(quizAttemptService.migrateOptionStorage()).isEqualTo(1);
+        Long mask = jdbcTemplate.queryForObject(
+                "SELECT selected_options_mask FROM user_answers WHERE id = ?", Long.class, answerId);
+        Long questionId = jdbcTemplate.queryForObject(
+                "SELECT question_id FROM user_answers WHERE id = ?", Long.class, answerId);
+        List<Long> optionOrder = questionOptionRepository.findOrderedIdsByQuestionIds(List.of(questionId)).stream()
+                .map(QuestionOptionRepository.OptionIdView::getOptionId)
+                .toList();
+        assertThat(OptionBitmask.decode(optionOrder, mask)).containsExactlyElementsOf(selected);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM user_answer_options WHERE user_answer_id = ?", Long.class, answerId)).isZero();
+    }
+
+    // Races re-answers of one question and checks the surviving answer and running score; returns the answer id
+    private Long submitConcurrently(String username) throws Exception {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("not-used");
+        user = userRepository.save(user);
+
+        Quiz quiz = new Quiz();
+        quiz.setTitle("Upsert quiz");
+        quiz.setTopic("Concurrency");
+        quiz.setCreatedBy(user);
+        quiz = quizRepository.save(quiz);
+
+        Question question = new Question();
+        question.setQuestionText("Pick the right one");
+        question.setQuiz(quiz);
+        question = questionRepository.save(question);
+
+        List<Long> optionIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            QuestionOption option = new QuestionOption();
+            option.setOptionText("Option " + i);
+            option.setIsCorrect(i == 0);
+            option.setQuestion(question);
+            optionIds.add(questionOptionRepository.save(option).getId());
+        }
+
+        QuizAttempt attempt = new QuizAttempt();
+        attempt.setUser(user);
+        attempt.setQuiz(quiz);
+        attempt.setStartTime(LocalDateTime.now());
+        attempt = quizAttemptRepository.save(attempt);
+
+        UserPrincipal principal = UserPrincipal.create(user);
+        Long attemptId = attempt.getId();
+        Long questionId = question.getId();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                SecurityContextHolder.getContext().setAuthentication(
+                        new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+                start.await();
+                for (int i = 0; i < SUBMISSIONS_PER_THREAD; i++) {
+                    SubmitAnswerRequest request = new SubmitAnswerRequest();
+                    request.setAttemptId(attemptId);
+                    request.setQuestionId(questionId);
+                    request.setSelectedOptionIds(Set.of(optionIds.get((thread + i) % optionIds.size())));
+                    quizAttemptService.submitAnswer(request);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        List<Long> answerIds = jdbcTemplate.queryForList(
+                "SELECT id FROM user_answers WHERE quiz_attempt_id = ? AND question_id = ?",
+                Long.class, attemptId, questionId);
+        assertThat(answerIds).hasSize(1);
+
+        // Read back through the service so both storage modes are decoded the way clients see them
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        Set<Long> selected = quizAttemptService.getAttemptById(attemptId).getAnswers().get(0).getSelectedOptionIds();
+        assertThat(selected).hasSize(1);
+        assertThat(optionIds).containsAll(selected);
+
+        Boolean isCorrect = jdbcTemplate.queryForObject(
+                "SELECT is_correct FROM user_answers WHERE id = ?", Boolean.class, answerIds.get(0));
+        assertThat(isCorrect).isEqualTo(selected.contains(optionIds.get(0)));
+
+        // The running score must match the single surviving answer after all the re-answers
+        QuizAttempt reloaded = quizAttemptRepository.findById(attemptId).orElseThrow();
+        assertThat(reloaded.getAnsweredCount()).isEqualTo(1);
+        assertThat(reloaded.getScoreObtained()).isEqualTo(Boolean.TRUE.equals(isCorrect) ? question.getPoints() : 0);
+        return answerIds.get(0);
+    }
+}
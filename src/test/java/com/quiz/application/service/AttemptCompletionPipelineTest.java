@@ -0,0 +1,144 @@
+package com.quiz.application.service;
+
+import com.quiz.application.entity.*;
+import com.quiz.application.event.AttemptFinishedEvent;
+import com.quiz.application.repository.*;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AttemptCompletionPipelineTest {
+
+    private static final int DISPATCHERS = 4;
+
+    @Autowired
+    private AttemptCompletionPipeline attemptCompletionPipeline;
+
+    @Autowired
+    private ScoreDistributionService scoreDistributionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private QuizRepository quizRepository;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private QuizAttemptRepository quizAttemptRepository;
+
+    @Autowired
+    private AttemptOutboxRepository attemptOutboxRepository;
+
+    @Autowired
+    private QuestionStatsRepository questionStatsRepository;
+
+    // Stands in for the ring and a replay, or two instances, delivering the same outbox row at once
+    @Test
+    void concurrentDeliveriesOfOneAttemptRecordItOnce() throws Exception {
+        User user = new User();
+        user.setUsername("pipeline-user");
+        user.setEmail("pipeline-user@example.com");
+        user.setPassword("not-used");
+        user = userRepository.save(user);
+
+        Quiz quiz = new Quiz();
+        quiz.setTitle("Pipeline quiz");
+        quiz.setTopic("Delivery");
+        quiz.setCreatedBy(user);
+        quiz = quizRepository.save(quiz);
+
+        Question question = new Question();
+        question.setQuestionText("Left unanswered");
+        question.setQuiz(quiz);
+        question = questionRepository.save(question);
+
+        QuizAttempt attempt = new QuizAttempt();
+        attempt.setUser(user);
+        attempt.setQuiz(quiz);
+        attempt.setStartTime(LocalDateTime.now());
+        attempt.setEndTime(LocalDateTime.now());
+        attempt.setStatus(QuizAttempt.AttemptStatus.COMPLETED);
+        attempt.setScoreObtained(0);
+        attempt.setPercentageScore(40.0);
+        attempt = quizAttemptRepository.save(attempt);
+
+        AttemptOutboxEvent row = attemptOutboxRepository.save(AttemptOutboxEvent.of(new AttemptFinishedEvent(
+                attempt.getId(), quiz.getId(), user.getId(), QuizAttempt.AttemptStatus.COMPLETED, 0, 40.0, false,
+                attempt.getEndTime(), false)));
+
+        // Cached before delivery; the attempt is still in the outbox, so it is not part of the seed
+        Long quizId = quiz.getId();
+        assertThat(scoreDistributionService.getDistribution(quizId, null).getCompletedAttempts()).isZero();
+
+        long dispatched = attemptCompletionPipeline.dispatchedEvents();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(DISPATCHERS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < DISPATCHERS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                ReflectionTestUtils.invokeMethod(attemptCompletionPipeline, "dispatch", List.of(row));
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertThat(attemptOutboxRepository.findById(row.getId())).isEmpty();
+        assertThat(attemptCompletionPipeline.dispatchedEvents()).isEqualTo(dispatched + 1);
+        assertThat(scoreDistributionService.getDistribution(quizId, null).getCompletedAttempts()).isEqualTo(1);
+        List<QuestionStats> stats = questionStatsRepository.findByQuizId(quizId);
+        assertThat(stats).hasSize(1);
+        assertThat(stats.get(0).getQuestionId()).isEqualTo(question.getId());
+        assertThat(stats.get(0).getResponses()).isEqualTo(1);
+    }
+
+    @Test
+    void rowThatKeepsFailingIsDeadLetteredAndNoLongerReplayed() {
+        AttemptOutboxEvent row = attemptOutboxRepository.save(AttemptOutboxEvent.of(new AttemptFinishedEvent(
+                -1L, -1L, -1L, QuizAttempt.AttemptStatus.COMPLETED, 0, 0.0, false, LocalDateTime.now(), false)));
+        int maxAttempts = (int) ReflectionTestUtils.getField(attemptCompletionPipeline, "maxDeliveryAttempts");
+        LocalDateTime cutoff = LocalDateTime.now().plusMinutes(1);
+
+        for (int i = 1; i < maxAttempts; i++) {
+            ReflectionTestUtils.invokeMethod(attemptCompletionPipeline, "recordFailure", row,
+                    new IllegalStateException("failure " + i));
+        }
+        assertThat(attemptOutboxRepository.findById(row.getId())).get()
+                .returns(maxAttempts - 1, AttemptOutboxEvent::getDeliveryAttempts)
+                .returns(false, AttemptOutboxEvent::isDeadLettered);
+        assertThat(attemptOutboxRepository.findUndispatched(cutoff, row.getId() - 1, PageRequest.of(0, 1)))
+                .extracting(AttemptOutboxEvent::getId).containsExactly(row.getId());
+
+        ReflectionTestUtils.invokeMethod(attemptCompletionPipeline, "recordFailure", row,
+                new IllegalStateException("failure " + maxAttempts));
+        AttemptOutboxEvent deadLetter = attemptOutboxRepository.findById(row.getId()).orElseThrow();
+        assertThat(deadLetter.isDeadLettered()).isTrue();
+        assertThat(deadLetter.getLastError()).isEqualTo("java.lang.IllegalStateException: failure " + maxAttempts);
+        assertThat(attemptOutboxRepository.findUndispatched(cutoff, row.getId() - 1, PageRequest.of(0, 1))).isEmpty();
+
+        attemptOutboxRepository.delete(deadLetter);
+    }
+}
@@ -0,0 +1,121 @@
+package com.quiz.application.service;
+
+import com.quiz.application.dto.QuestionCreateRequest;
+import com.quiz.application.dto.QuestionDTO;
+import com.quiz.application.dto.QuestionOptionCreateRequest;
+import com.quiz.application.dto.QuizChangesDTO;
+import com.quiz.application.entity.Question;
+import com.quiz.application.entity.Quiz;
+import com.quiz.application.entity.User;
+import com.quiz.application.repository.QuestionRepository;
+import com.quiz.application.repository.QuizRepository;
+import com.quiz.application.repository.UserRepository;
+import com.quiz.application.security.UserPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class QuizContentChangesTest {
+
+    @Autowired
+    private QuizService quizService;
+
+    @Autowired
+    private QuestionService questionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private QuizRepository quizRepository;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void deltasCarryOnlyWhatChangedSinceTheClientsVersion() {
+        User admin = new User();
+        admin.setUsername("content-admin");
+        admin.setEmail("content-admin@example.com");
+        admin.setPassword("not-used");
+        admin.setRole(User.Role.ADMIN);
+        admin = userRepository.save(admin);
+        UserPrincipal principal = UserPrincipal.create(admin);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+        // A quiz from before versioning: no version and nothing in the change log
+        Quiz quiz = new Quiz();
+        quiz.setTitle("Versioned quiz");
+        quiz.setTopic("Sync");
+        quiz.setCreatedBy(admin);
+        quiz = quizRepository.save(quiz);
+        Question legacy = new Question();
+        legacy.setQuestionText("Legacy question");
+        legacy.setQuiz(quiz);
+        legacy = questionRepository.save(legacy);
+        Long quizId = quiz.getId();
+
+        QuizChangesDTO unversioned = quizService.getQuizChanges(quizId, 0);
+        assertThat(unversioned.getVersion()).isZero();
+        assertThat(ids(unversioned.getAdded())).containsExactly(legacy.getId());
+
+        // The first change also logs the legacy question, so a full sync still returns it
+        Long first = questionService.createQuestion(question(quizId, "First")).getId();
+        QuizChangesDTO full = quizService.getQuizChanges(quizId, 0);
+        assertThat(full.getVersion()).isEqualTo(1);
+        assertThat(full.isFull()).isTrue();
+        assertThat(ids(full.getAdded())).containsExactlyInAnyOrder(legacy.getId(), first);
+
+        Long second = questionService.createQuestion(question(quizId, "Second")).getId();
+        Long discarded = questionService.createQuestion(question(quizId, "Transient")).getId();
+        questionService.deleteQuestion(discarded);
+        questionService.deleteQuestion(legacy.getId());
+
+        QuizChangesDTO delta = quizService.getQuizChanges(quizId, 1);
+        assertThat(delta.getVersion()).isEqualTo(5);
+        assertThat(delta.isFull()).isFalse();
+        assertThat(ids(delta.getAdded())).containsExactly(second);
+        assertThat(delta.getChanged()).isEmpty();
+        // Added and removed since version 1, so a client at version 1 never saw it
+        assertThat(delta.getRemovedQuestionIds()).containsExactly(legacy.getId());
+
+        QuizChangesDTO current = quizService.getQuizChanges(quizId, 5);
+        assertThat(current.getAdded()).isEmpty();
+        assertThat(current.getRemovedQuestionIds()).isEmpty();
+
+        // A version the server never issued gets everything again
+        QuizChangesDTO ahead = quizService.getQuizChanges(quizId, 99);
+        assertThat(ahead.isFull()).isTrue();
+        assertThat(ids(ahead.getAdded())).containsExactlyInAnyOrder(first, second);
+    }
+
+    private static QuestionCreateRequest question(Long quizId, String text) {
+        QuestionCreateRequest request = new QuestionCreateRequest();
+        request.setQuizId(quizId);
+        request.setQuestionText(text);
+        request.setQuestionType(Question.QuestionType.SINGLE_CHOICE.name());
+        request.setOptions(List.of(new QuestionOptionCreateRequest("Right", true, 1),
+                new QuestionOptionCreateRequest("Wrong", false, 2)));
+        return request;
+    }
+
+    private static List<Long> ids(List<QuestionDTO> questions) {
+        return questions.stream().map(QuestionDTO::getId).toList();
+    }
+}
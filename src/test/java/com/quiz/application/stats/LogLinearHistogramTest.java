@@ -0,0 +1,40 @@
+package com.quiz.application.stats;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogLinearHistogramTest {
+
+    @Test
+    void quantilesStayWithinBinResolution() {
+        LogLinearHistogram histogram = new LogLinearHistogram();
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.record(value);
+        }
+
+        assertThat(histogram.getCount()).isEqualTo(100_000);
+        assertThat(histogram.getMax()).isEqualTo(100_000);
+        assertThat(histogram.mean()).isEqualTo(50_000.5);
+        for (double q : new double[]{0.5, 0.9, 0.99}) {
+            long exact = (long) (q * 100_000);
+            assertThat(histogram.quantile(q)).isBetween(exact, (long) (exact * 1.125) + 1);
+        }
+        assertThat(histogram.quantile(1.0)).isEqualTo(100_000);
+    }
+
+    @Test
+    void smallAndExtremeValuesAreExactOrCapped() {
+        LogLinearHistogram histogram = new LogLinearHistogram();
+        assertThat(histogram.quantile(0.5)).isZero();
+
+        histogram.record(0);
+        histogram.record(7);
+        histogram.record(-5);
+        assertThat(histogram.quantile(0.5)).isZero();
+        assertThat(histogram.quantile(1.0)).isEqualTo(7);
+
+        histogram.record(Long.MAX_VALUE);
+        assertThat(histogram.quantile(1.0)).isEqualTo(Long.MAX_VALUE);
+    }
+}
@@ -0,0 +1,63 @@
+package com.quiz.application.tracing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestTraceTest {
+
+    @AfterEach
+    void unbind() {
+        RequestTrace trace = RequestTrace.current();
+        if (trace != null) {
+            trace.finish(0);
+        }
+    }
+
+    @Test
+    void nestedSpansChargeOnlyTheirOwnTimeToTheirCategory() throws InterruptedException {
+        RequestTrace trace = RequestTrace.begin(1, "GET", "/quizzes/1");
+        Span auth = RequestTrace.startSpan("JwtAuthenticationFilter", RequestTrace.CATEGORY_AUTH);
+        Span user = RequestTrace.startSpan("loadUserById", RequestTrace.CATEGORY_USER);
+        Span db = RequestTrace.startSpan("UserRepository.findById", RequestTrace.CATEGORY_DB);
+        Thread.sleep(5);
+        RequestTrace.endSpan(db);
+        RequestTrace.endSpan(user);
+        RequestTrace.endSpan(auth);
+        trace.finish(200);
+
+        assertThat(RequestTrace.current()).isNull();
+        assertThat(trace.getRoot().getChildren()).extracting(Span::getName).containsExactly("JwtAuthenticationFilter");
+        assertThat(auth.getChildren()).containsExactly(user);
+        assertThat(user.getChildren()).containsExactly(db);
+
+        Map<String, Long> phases = trace.phaseNanos();
+        assertThat(phases).containsOnlyKeys("auth", "user", "app", "db", "json");
+        assertThat(phases.get("db")).isGreaterThanOrEqualTo(5_000_000L);
+        assertThat(phases.get("user")).isLessThan(phases.get("db"));
+        assertThat(phases.values().stream().mapToLong(Long::longValue).sum()).isEqualTo(trace.getDurationNanos());
+        assertThat(trace.serverTiming()).startsWith("auth;dur=").contains(", db;dur=").endsWith("total;dur="
+                + String.format(java.util.Locale.ROOT, "%.3f", trace.getDurationNanos() / 1_000_000.0));
+    }
+
+    @Test
+    void spansAreNoOpsOutsideATraceAndUnclosedChildrenAreClosedWithTheirParent() {
+        assertThat(RequestTrace.startSpan("ignored", RequestTrace.CATEGORY_DB)).isNull();
+        RequestTrace.endSpan(null);
+
+        RequestTrace trace = RequestTrace.begin(2, "POST", "/attempts");
+        Span handler = RequestTrace.startSpan("QuizAttemptController.start", RequestTrace.CATEGORY_APP);
+        Span leaked = RequestTrace.startSpan("QuizRepository.findById", RequestTrace.CATEGORY_DB);
+        RequestTrace.endSpan(handler);
+        Span json = RequestTrace.startSpan("serialize ApiResponse", RequestTrace.CATEGORY_JSON);
+        RequestTrace.endSpan(json);
+        trace.finish(201);
+
+        assertThat(leaked.getDurationNanos()).isBetween(0L, handler.getDurationNanos());
+        assertThat(trace.getRoot().getChildren()).containsExactly(handler, json);
+        assertThat(trace.getStatus()).isEqualTo(201);
+    }
+}